@@ -0,0 +1,141 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.xml.sax.SAXException;
+
+/**
+ * Reads the parts of a BOM (Maven POM) relevant to applying it as dependency constraints -
+ * its coordinates, parent, properties and `dependencyManagement` entries.
+ *
+ * Values are returned as-is; property references (`${...}`) are interpolated by the caller
+ * once the parent's properties are known.
+ *
+ * @author Steve Ebersole
+ */
+class BomParser {
+	/**
+	 * The relevant details of a BOM
+	 */
+	static class Bom {
+		String groupId;
+		String artifactId;
+		String version;
+		String parent;
+		final Map<String, String> properties = new LinkedHashMap<>();
+		final List<ManagedDependency> managedDependencies = new ArrayList<>();
+	}
+
+	/**
+	 * A `dependencyManagement` entry
+	 */
+	static class ManagedDependency {
+		String groupId;
+		String artifactId;
+		String version;
+		String type;
+		String classifier;
+		String scope;
+
+		boolean isImport() {
+			return "import".equals( scope ) && "pom".equals( type );
+		}
+
+		/**
+		 * Identifies the entry (not interpolated) when merging those of a BOM with its parent's
+		 */
+		String key() {
+			return groupId + ":" + artifactId + ":" + ( type == null ? "jar" : type ) + ":" + classifier;
+		}
+	}
+
+	static Bom parse(File pomFile) {
+		final Document document;
+		try {
+			final DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+			// POMs use neither DTDs nor entities; refuse them rather than resolving anything external
+			dbf.setFeature( "http://apache.org/xml/features/disallow-doctype-decl", true );
+			dbf.setFeature( "http://xml.org/sax/features/external-general-entities", false );
+			dbf.setFeature( "http://xml.org/sax/features/external-parameter-entities", false );
+			dbf.setFeature( "http://apache.org/xml/features/nonvalidating/load-external-dtd", false );
+			dbf.setXIncludeAware( false );
+			dbf.setExpandEntityReferences( false );
+			final DocumentBuilder db = dbf.newDocumentBuilder();
+			document = db.parse( pomFile );
+		}
+		catch (ParserConfigurationException | SAXException | IOException e) {
+			throw new RuntimeException( "Unable to parse BOM - " + pomFile.getAbsolutePath(), e );
+		}
+
+		final Element project = document.getDocumentElement();
+		final Bom bom = new Bom();
+		bom.groupId = childText( project, "groupId" );
+		bom.artifactId = childText( project, "artifactId" );
+		bom.version = childText( project, "version" );
+
+		final Element parent = child( project, "parent" );
+		if ( parent != null ) {
+			bom.parent = childText( parent, "groupId" ) + ":" + childText( parent, "artifactId" ) + ":" + childText( parent, "version" );
+			if ( bom.groupId == null ) {
+				bom.groupId = childText( parent, "groupId" );
+			}
+			if ( bom.version == null ) {
+				bom.version = childText( parent, "version" );
+			}
+		}
+
+		final Element properties = child( project, "properties" );
+		if ( properties != null ) {
+			for ( Node node = properties.getFirstChild(); node != null; node = node.getNextSibling() ) {
+				if ( node instanceof Element ) {
+					bom.properties.put( node.getNodeName(), node.getTextContent().trim() );
+				}
+			}
+		}
+
+		final Element dependencyManagement = child( project, "dependencyManagement" );
+		final Element dependencies = dependencyManagement == null ? null : child( dependencyManagement, "dependencies" );
+		if ( dependencies != null ) {
+			for ( Node node = dependencies.getFirstChild(); node != null; node = node.getNextSibling() ) {
+				if ( node instanceof Element && "dependency".equals( node.getNodeName() ) ) {
+					final Element dependency = (Element) node;
+					final ManagedDependency managedDependency = new ManagedDependency();
+					managedDependency.groupId = childText( dependency, "groupId" );
+					managedDependency.artifactId = childText( dependency, "artifactId" );
+					managedDependency.version = childText( dependency, "version" );
+					managedDependency.type = childText( dependency, "type" );
+					managedDependency.classifier = childText( dependency, "classifier" );
+					managedDependency.scope = childText( dependency, "scope" );
+					bom.managedDependencies.add( managedDependency );
+				}
+			}
+		}
+
+		return bom;
+	}
+
+	private static Element child(Element element, String name) {
+		for ( Node node = element.getFirstChild(); node != null; node = node.getNextSibling() ) {
+			if ( node instanceof Element && name.equals( node.getNodeName() ) ) {
+				return (Element) node;
+			}
+		}
+		return null;
+	}
+
+	private static String childText(Element element, String name) {
+		final Element child = child( element, name );
+		return child == null ? null : child.getTextContent().trim();
+	}
+}
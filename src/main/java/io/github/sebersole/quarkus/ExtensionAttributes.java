@@ -0,0 +1,30 @@
+package io.github.sebersole.quarkus;
+
+import org.gradle.api.attributes.Attribute;
+
+/**
+ * Variant attributes published in the Gradle module metadata of the extension's runtime
+ * and deployment artifacts.  They allow consumers to classify Quarkus extensions from
+ * resolution metadata alone, without downloading or opening the jars.
+ *
+ * @author Steve Ebersole
+ */
+public interface ExtensionAttributes {
+	/**
+	 * Marks the kind of extension artifact - {@value #RUNTIME} or {@value #DEPLOYMENT}
+	 */
+	Attribute<String> EXTENSION_ARTIFACT = Attribute.of( "io.github.sebersole.quarkus.extension-artifact", String.class );
+
+	String RUNTIME = "runtime";
+	String DEPLOYMENT = "deployment";
+
+	/**
+	 * On runtime artifact variants, the GAV of the corresponding deployment artifact
+	 */
+	Attribute<String> DEPLOYMENT_ARTIFACT = Attribute.of( "io.github.sebersole.quarkus.deployment-artifact", String.class );
+
+	/**
+	 * On deployment artifact variants, the GAV of the corresponding runtime artifact
+	 */
+	Attribute<String> RUNTIME_ARTIFACT = Attribute.of( "io.github.sebersole.quarkus.runtime-artifact", String.class );
+}
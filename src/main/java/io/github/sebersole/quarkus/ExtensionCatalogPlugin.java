@@ -0,0 +1,45 @@
+package io.github.sebersole.quarkus;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.attributes.Usage;
+
+import io.github.sebersole.quarkus.tasks.AggregateExtensionCatalog;
+
+/**
+ * Plugin for aggregating the runtime dependencies catalogs of the extension projects of a build,
+ * generally applied to the root project.  The extension projects to aggregate are declared as
+ * dependencies of the {@value Names#EXTENSION_CATALOGS_CONFIG_NAME} Configuration - e.g.
+ * `quarkusExtensionCatalogs project( ':first' )`.
+ *
+ * Each extension project exposes its catalog through its
+ * {@value Names#EXTENSION_CATALOG_ELEMENTS_CONFIG_NAME} Configuration, so no project configures
+ * another.
+ *
+ * @author Steve Ebersole
+ */
+public class ExtensionCatalogPlugin implements Plugin<Project> {
+	@Override
+	public void apply(Project project) {
+		final Configuration catalogs = project.getConfigurations().create( Names.EXTENSION_CATALOGS_CONFIG_NAME, (configuration) -> {
+			configuration.setDescription( "The extension projects whose runtime dependencies catalogs are aggregated" );
+			configuration.setVisible( false );
+			configuration.setCanBeConsumed( false );
+			configuration.setCanBeResolved( true );
+			applyCatalogUsage( configuration, project );
+		} );
+
+		project.getTasks().register( AggregateExtensionCatalog.TASK_NAME, AggregateExtensionCatalog.class, (task) -> {
+			task.getCatalogFiles().from( catalogs );
+			task.getCatalogArtifacts().set( catalogs.getIncoming().getArtifacts().getResolvedArtifacts() );
+		} );
+	}
+
+	static void applyCatalogUsage(Configuration configuration, Project project) {
+		configuration.getAttributes().attribute(
+				Usage.USAGE_ATTRIBUTE,
+				project.getObjects().named( Usage.class, Names.EXTENSION_CATALOG_USAGE )
+		);
+	}
+}
@@ -0,0 +1,90 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.gradle.api.Project;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Build-wide classification of dependency jars as Quarkus extensions, shared by all projects
+ * applying the plugin.
+ *
+ * Each unique dependency jar is classified (probed) only once per build regardless of how many
+ * projects' classpaths it appears on.  Each project writes its own catalog
+ * (`runtime-dependencies-catalog.properties`), which {@link io.github.sebersole.quarkus.tasks.AggregateExtensionCatalog}
+ * aggregates for the build.
+ *
+ * @author Steve Ebersole
+ */
+public abstract class ExtensionCatalogService implements BuildService<BuildServiceParameters.None> {
+	public static final String SERVICE_NAME = "quarkusExtensionCatalog";
+
+	/**
+	 * Registers the service (if not already) for the build the project belongs to
+	 */
+	public static Provider<ExtensionCatalogService> register(Project project) {
+		return project.getGradle().getSharedServices().registerIfAbsent(
+				SERVICE_NAME,
+				ExtensionCatalogService.class,
+				(spec) -> {}
+		);
+	}
+
+	private final Map<File, CompletableFuture<Properties>> classifications = new ConcurrentHashMap<>();
+
+	/**
+	 * Classifies the given jars.  Jars not yet classified in this build are handed to the `prober`
+	 * as a batch; the rest are served from previous classifications (waiting for them if another
+	 * project is classifying them concurrently).  The results are keyed the same way as `jarFiles`.
+	 */
+	public <K> Map<K, Properties> classify(Map<K, File> jarFiles, Function<Map<K, File>, Map<K, Properties>> prober) {
+		final Map<K, CompletableFuture<Properties>> futures = new LinkedHashMap<>();
+		final Map<K, File> claimed = new LinkedHashMap<>();
+
+		jarFiles.forEach( (key, jarFile) -> {
+			final CompletableFuture<Properties> claim = new CompletableFuture<>();
+			final CompletableFuture<Properties> existing = classifications.putIfAbsent( jarFile.getAbsoluteFile(), claim );
+			if ( existing == null ) {
+				claimed.put( key, jarFile );
+				futures.put( key, claim );
+			}
+			else {
+				futures.put( key, existing );
+			}
+		} );
+
+		if ( !claimed.isEmpty() ) {
+			try {
+				final Map<K, Properties> probed = prober.apply( claimed );
+				claimed.keySet().forEach( (key) -> futures.get( key ).complete( probed.get( key ) ) );
+			}
+			catch (RuntimeException e) {
+				claimed.forEach( (key, jarFile) -> {
+					classifications.remove( jarFile.getAbsoluteFile() );
+					futures.get( key ).completeExceptionally( e );
+				} );
+				throw e;
+			}
+		}
+
+		final Map<K, Properties> results = new LinkedHashMap<>();
+		futures.forEach( (key, future) -> {
+			try {
+				results.put( key, future.join() );
+			}
+			catch (CompletionException e) {
+				throw new RuntimeException( "Unable to classify dependency - " + jarFiles.get( key ).getAbsolutePath(), e.getCause() );
+			}
+		} );
+		return results;
+	}
+}
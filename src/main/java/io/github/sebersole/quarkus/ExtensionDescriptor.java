@@ -8,6 +8,7 @@ import org.gradle.api.plugins.ExtensionAware;
 import org.gradle.api.provider.ListProperty;
 import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.Optional;
 
 /**
@@ -24,6 +25,13 @@ public abstract class ExtensionDescriptor implements ExtensionAware  {
 	private final Property<String> guide;
 	private final ListProperty<String> categories;
 	private final ListProperty<String> keywords;
+	private final ListProperty<String> providedCapabilities;
+	private final ListProperty<String> requiredCapabilities;
+	private final ListProperty<String> configPrefixes;
+	private final Property<String> codestartName;
+	private final ListProperty<String> codestartLanguages;
+	private final Property<String> codestartArtifact;
+	private final Property<Boolean> devProfile;
 
 	@Inject
 	public ExtensionDescriptor(Project project) {
@@ -44,6 +52,32 @@ public abstract class ExtensionDescriptor implements ExtensionAware  {
 
 		keywords = project.getObjects().listProperty( String.class );
 		keywords.convention( project.provider( ArrayList::new ) );
+
+		providedCapabilities = project.getObjects().listProperty( String.class );
+		providedCapabilities.convention( project.provider( ArrayList::new ) );
+
+		requiredCapabilities = project.getObjects().listProperty( String.class );
+		requiredCapabilities.convention( project.provider( ArrayList::new ) );
+
+		configPrefixes = project.getObjects().listProperty( String.class );
+		configPrefixes.convention( project.provider( ArrayList::new ) );
+
+		codestartName = project.getObjects().property( String.class );
+		codestartName.convention( (String) null );
+
+		codestartLanguages = project.getObjects().listProperty( String.class );
+		codestartLanguages.convention( project.provider( ArrayList::new ) );
+
+		codestartArtifact = project.getObjects().property( String.class );
+		codestartArtifact.convention( (String) null );
+
+		devProfile = project.getObjects().property( Boolean.class );
+		devProfile.convention(
+				project.getProviders()
+						.gradleProperty( Names.DEV_PROFILE_PROPERTY )
+						.map( Boolean::parseBoolean )
+						.orElse( false )
+		);
 	}
 
 	@Input
@@ -96,4 +130,90 @@ public abstract class ExtensionDescriptor implements ExtensionAware  {
 	public void keyword(String... keywords) {
 		this.keywords.addAll( keywords );
 	}
+
+	/**
+	 * Capabilities provided by the extension
+	 */
+	@Input
+	public ListProperty<String> getProvidedCapabilities() {
+		return providedCapabilities;
+	}
+
+	@SuppressWarnings("unused")
+	public void providesCapability(String... capabilities) {
+		this.providedCapabilities.addAll( capabilities );
+	}
+
+	/**
+	 * Capabilities required by the extension
+	 */
+	@Input
+	public ListProperty<String> getRequiredCapabilities() {
+		return requiredCapabilities;
+	}
+
+	@SuppressWarnings("unused")
+	public void requiresCapability(String... capabilities) {
+		this.requiredCapabilities.addAll( capabilities );
+	}
+
+	/**
+	 * The prefixes of the configuration properties defined by the extension - `quarkus.confungulator.`, e.g.
+	 */
+	@Input
+	public ListProperty<String> getConfigPrefixes() {
+		return configPrefixes;
+	}
+
+	@SuppressWarnings("unused")
+	public void configPrefix(String... prefixes) {
+		this.configPrefixes.addAll( prefixes );
+	}
+
+	/**
+	 * The name of the extension's codestart, if one
+	 */
+	@Input
+	@Optional
+	public Property<String> getCodestartName() {
+		return codestartName;
+	}
+
+	/**
+	 * The languages supported by the extension's codestart
+	 */
+	@Input
+	public ListProperty<String> getCodestartLanguages() {
+		return codestartLanguages;
+	}
+
+	/**
+	 * The coordinates of the artifact containing the extension's codestart
+	 */
+	@Input
+	@Optional
+	public Property<String> getCodestartArtifact() {
+		return codestartArtifact;
+	}
+
+	@SuppressWarnings("unused")
+	public void codestart(String name, String... languages) {
+		getCodestartName().set( name );
+		getCodestartLanguages().addAll( languages );
+	}
+
+	/**
+	 * Whether to use the "dev" profile, deferring publication-only work (Javadoc, sources jars
+	 * and full dependency verification) to publishing.  Defaults to the
+	 * {@value Names#DEV_PROFILE_PROPERTY} Gradle property, else `false`
+	 */
+	@Internal
+	public Property<Boolean> getDevProfile() {
+		return devProfile;
+	}
+
+	@SuppressWarnings("unused")
+	public void devProfile() {
+		getDevProfile().set( true );
+	}
 }
@@ -1,8 +1,18 @@
 package io.github.sebersole.quarkus;
 
 import java.io.File;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
 import java.util.function.Consumer;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
@@ -10,6 +20,10 @@ import java.util.jar.JarFile;
 import org.gradle.api.Project;
 import org.gradle.api.artifacts.Dependency;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
 
 import static io.github.sebersole.quarkus.Names.QUARKUS_CORE;
 import static io.github.sebersole.quarkus.Names.QUARKUS_CORE_DEPLOYMENT;
@@ -27,8 +41,7 @@ public class Helper {
 	}
 
 	public static void withJarFile(File file, Consumer<JarFile> jarFileConsumer) {
-		try {
-			final JarFile jarFile = new JarFile( file );
+		try ( final JarFile jarFile = new JarFile( file ) ) {
 			jarFileConsumer.accept( jarFile );
 		}
 		catch (IOException e) {
@@ -46,6 +59,36 @@ public class Helper {
 		return jarEntry != null;
 	}
 
+	/**
+	 * Stores the properties with entries sorted by key and without the timestamp comment
+	 * {@link Properties#store} otherwise writes, so that the stored file is reproducible
+	 */
+	public static void storeSorted(Properties properties, File file) {
+		final StringWriter buffer = new StringWriter();
+		try {
+			properties.store( buffer, null );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to serialize properties", e );
+		}
+
+		try ( final Writer writer = new FileWriter( file, StandardCharsets.ISO_8859_1 ) ) {
+			// each stored entry is a single line, so sorting lines sorts entries
+			final String[] lines = buffer.toString().split( "\\R" );
+			Arrays.sort( lines );
+			for ( String line : lines ) {
+				if ( line.isEmpty() || line.startsWith( "#" ) ) {
+					continue;
+				}
+				writer.write( line );
+				writer.write( '\n' );
+			}
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to store properties - " + file.getAbsolutePath(), e );
+		}
+	}
+
 	static Dependency quarkusCore(Project project) {
 		return project.getDependencies().module( groupArtifact( QUARKUS_GROUP, QUARKUS_CORE ) );
 	}
@@ -54,6 +97,35 @@ public class Helper {
 		return project.getDependencies().module( groupArtifact( QUARKUS_GROUP, QUARKUS_CORE_DEPLOYMENT ) );
 	}
 
+	/**
+	 * Writes the value as a double-quoted string, escaped as both JSON and YAML (double-quoted
+	 * style) require - quotes, backslashes and the control / line-breaking characters
+	 */
+	public static void writeQuoted(Writer writer, String value) throws IOException {
+		writer.write( '"' );
+		for ( int i = 0; i < value.length(); i++ ) {
+			final char c = value.charAt( i );
+			switch ( c ) {
+				case '"': writer.write( "\\\"" ); break;
+				case '\\': writer.write( "\\\\" ); break;
+				case '\n': writer.write( "\\n" ); break;
+				case '\r': writer.write( "\\r" ); break;
+				case '\t': writer.write( "\\t" ); break;
+				case '\b': writer.write( "\\b" ); break;
+				case '\f': writer.write( "\\f" ); break;
+				default: {
+					if ( c < 0x20 || c == 0x7F || c == '\u0085' || c == '\u2028' || c == '\u2029' || c == '\uFEFF' ) {
+						writer.write( String.format( Locale.ROOT, "\\u%04x", (int) c ) );
+					}
+					else {
+						writer.write( c );
+					}
+				}
+			}
+		}
+		writer.write( '"' );
+	}
+
 	public static String groupArtifact(String group, String artifact) {
 		return String.format(
 				Locale.ROOT,
@@ -76,4 +148,31 @@ public class Helper {
 				version
 		);
 	}
+
+	/**
+	 * Walks the resolved dependency graph from its root, mapping each component to its module
+	 * coordinates.  Used to identify resolved artifacts by GAV without access to the
+	 * {@link org.gradle.api.artifacts.Configuration} at execution time.
+	 */
+	public static Map<ComponentIdentifier, ModuleVersionIdentifier> moduleVersions(ResolvedComponentResult root) {
+		final Map<ComponentIdentifier, ModuleVersionIdentifier> moduleVersions = new HashMap<>();
+
+		final Deque<ResolvedComponentResult> queue = new ArrayDeque<>();
+		queue.add( root );
+		while ( !queue.isEmpty() ) {
+			final ResolvedComponentResult component = queue.poll();
+			if ( moduleVersions.containsKey( component.getId() ) ) {
+				continue;
+			}
+			moduleVersions.put( component.getId(), component.getModuleVersion() );
+
+			for ( DependencyResult dependency : component.getDependencies() ) {
+				if ( dependency instanceof ResolvedDependencyResult ) {
+					queue.add( ( (ResolvedDependencyResult) dependency ).getSelected() );
+				}
+			}
+		}
+
+		return moduleVersions;
+	}
 }
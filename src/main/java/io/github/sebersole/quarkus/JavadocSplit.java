@@ -0,0 +1,110 @@
+package io.github.sebersole.quarkus;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.FileTreeElement;
+import org.gradle.api.specs.Spec;
+
+/**
+ * Used with aggregated Javadoc to select, for one source-set's javadoc jar, the files of the
+ * aggregated output documenting other source-sets.  Used as an `exclude` spec.
+ *
+ * Type pages (including `class-use` pages) are assigned to the source-set defining the type.
+ * Package pages are assigned to each source-set contributing to the package.  Everything else
+ * (indexes, search data, stylesheets, etc.) is shared by all the jars.
+ *
+ * @author Steve Ebersole
+ */
+class JavadocSplit implements Spec<FileTreeElement> {
+	private final String owner;
+	private final Map<String, FileTree> javaSources;
+
+	// source-set name -> packages (`org/acme`) and types (`org/acme/Thing`), computed on first use
+	private transient Map<String, Set<String>> packages;
+	private transient Map<String, Set<String>> types;
+
+	/**
+	 * @param owner The name of the source-set whose jar is being built
+	 * @param javaSources The Java sources of each source-set included in the aggregated Javadoc, keyed by name
+	 */
+	JavadocSplit(String owner, Map<String, FileTree> javaSources) {
+		this.owner = owner;
+		this.javaSources = javaSources;
+	}
+
+	@Override
+	public boolean isSatisfiedBy(FileTreeElement element) {
+		if ( element.isDirectory() ) {
+			return false;
+		}
+
+		final String[] segments = element.getRelativePath().getSegments();
+		if ( segments.length < 2 ) {
+			return false;
+		}
+
+		final int packageEnd = "class-use".equals( segments[segments.length - 2] ) ? segments.length - 2 : segments.length - 1;
+		final String packagePath = String.join( "/", Arrays.copyOfRange( segments, 0, packageEnd ) );
+		final String fileName = segments[segments.length - 1];
+
+		prepare();
+
+		if ( fileName.endsWith( ".html" ) ) {
+			// `Outer.Inner.html` documents a type nested in `Outer`
+			final String typeName = fileName.substring( 0, fileName.length() - ".html".length() ).split( "\\." )[0];
+			final String typePath = packagePath + "/" + typeName;
+			if ( isKnown( types, typePath ) ) {
+				return !types.get( owner ).contains( typePath );
+			}
+		}
+
+		if ( isKnown( packages, packagePath ) ) {
+			return !packages.get( owner ).contains( packagePath );
+		}
+
+		return false;
+	}
+
+	private static boolean isKnown(Map<String, Set<String>> bySourceSet, String path) {
+		for ( Set<String> paths : bySourceSet.values() ) {
+			if ( paths.contains( path ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private synchronized void prepare() {
+		if ( packages != null ) {
+			return;
+		}
+
+		final Map<String, Set<String>> packages = new HashMap<>();
+		final Map<String, Set<String>> types = new HashMap<>();
+		javaSources.forEach( (sourceSetName, sources) -> {
+			final Set<String> sourceSetPackages = new HashSet<>();
+			final Set<String> sourceSetTypes = new HashSet<>();
+			sources.visit( (details) -> {
+				if ( details.isDirectory() || !details.getName().endsWith( ".java" ) ) {
+					return;
+				}
+				final String path = details.getRelativePath().getPathString();
+				final int lastSlash = path.lastIndexOf( '/' );
+				sourceSetPackages.add( lastSlash < 0 ? "" : path.substring( 0, lastSlash ) );
+				sourceSetTypes.add( path.substring( 0, path.length() - ".java".length() ) );
+			} );
+			packages.put( sourceSetName, sourceSetPackages );
+			types.put( sourceSetName, sourceSetTypes );
+		} );
+		packages.putIfAbsent( owner, new HashSet<>() );
+		types.putIfAbsent( owner, new HashSet<>() );
+
+		this.types = types;
+		this.packages = packages;
+	}
+}
@@ -1,225 +1,313 @@
 package io.github.sebersole.quarkus;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.function.Supplier;
-
-import org.gradle.api.Project;
-import org.gradle.api.file.RegularFile;
-import org.gradle.api.plugins.JavaPluginExtension;
-import org.gradle.api.tasks.SourceSet;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Locale;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
 
 import jakarta.json.Json;
-import jakarta.json.JsonArray;
-import jakarta.json.JsonArrayBuilder;
-import jakarta.json.JsonObject;
-import jakarta.json.JsonObjectBuilder;
-import jakarta.json.JsonWriter;
-import jakarta.json.JsonWriterFactory;
-import jakarta.json.stream.JsonGenerator;
+import jakarta.json.JsonException;
+import jakarta.json.stream.JsonParser;
 
 /**
+ * Adjusts the Gradle module metadata generated for the `deployment` and `spi` publications.  The
+ * `extension` publication is not adjusted; its variants keep the names of their Configurations.
+ *
+ * The dependencies between the publications and the {@link ExtensionAttributes} markers are
+ * part of the published variants themselves; only the variant names need adjusting here.
+ *
+ * The descriptor is streamed ({@link JsonParser}) to a temporary file, renaming the variants on
+ * the fly, and the temporary file is then moved over the original.  The output is formatted the
+ * same way Gradle formats the module metadata, so an adjusted descriptor only differs from the
+ * generated one by the variant names.
+ *
+ * The JSON library is not on the plugin's classpath; the adjustment is run by
+ * {@link VariantNamesAction} in an isolated class loader with the
+ * {@value Names#TOOLING_CONFIG_NAME} Configuration as its classpath.
+ *
  * @author Steve Ebersole
  */
 public class ModuleMetadataAdjuster {
-	static void extensionAdjustments(RegularFile moduleFile, Project project) {
-		withModuleDescriptor( project, moduleFile, (json, adjustmentsAccess) -> withVariants(
-				adjustmentsAccess,
-				json,
-				(variant, variantAdjustments) -> {
-					final JavaPluginExtension javaPluginExtension = project.getExtensions().getByType( JavaPluginExtension.class );
-					final SourceSet spiSourceSet = javaPluginExtension.getSourceSets().getByName( "spi" );
-					if ( spiSourceSet.getAllSource().isEmpty() ) {
-						return;
-					}
-
-					final String spiModuleName = project.getName() + "-spi";
-					addVariantDependency( spiModuleName, variant, variantAdjustments, project );
-				}
-		) );
-	}
-
-	static void deploymentAdjustments(RegularFile moduleFile, Project project) {
-		withModuleDescriptor( project, moduleFile, (json, adjustmentsAccess) -> withVariants(
-				adjustmentsAccess,
-				json,
-				(variant, variantAdjustments) -> {
-					adjustVariantName( "deployment", variant, variantAdjustments );
-					addVariantDependency( project.getName(), variant, variantAdjustments, project );
-				}
-		) );
-	}
-
-	static void spiAdjustments(RegularFile moduleFile, Project project) {
-		//noinspection CodeBlock2Expr
-		withModuleDescriptor( project, moduleFile, (json, adjustmentsAccess) -> withVariants(
-				adjustmentsAccess,
-				json,
-				(variant, variantAdjustments) -> {
-					adjustVariantName("spi", variant, variantAdjustments );
-				}
-		) );
-	}
-
-	private static void withVariants(
-			Supplier<JsonObjectBuilder> descriptorAdjustmentsAccess,
-			JsonObject descriptor,
-			VariantAdjuster variantAdjuster) {
-		final JsonArray variants = descriptor.getJsonArray( "variants" );
-		if ( variants == null ) {
-			return;
+	/**
+	 * Work action applying {@link #adjustVariantNames} to a module descriptor
+	 */
+	public abstract static class VariantNamesAction implements WorkAction<VariantNamesAction.Parameters> {
+		public interface Parameters extends WorkParameters {
+			RegularFileProperty getModuleFile();
+			Property<String> getPublicationName();
 		}
 
-		final JsonObjectBuilder descriptorAdjustments = descriptorAdjustmentsAccess.get();
-		final JsonArrayBuilder variantArrayAdjustments = Json.createArrayBuilder();
-
-		for ( int v = 0; v < variants.size(); v++ ) {
-			final JsonObject variant = variants.getJsonObject( v );
-
-			final JsonObjectBuilder variantAdjustments = Json.createObjectBuilder( variant );
-			variantAdjuster.adjust( variant, variantAdjustments );
-			variantArrayAdjustments.add( variantAdjustments );
+		@Override
+		public void execute() {
+			adjustVariantNames( getParameters().getModuleFile().get().getAsFile(), getParameters().getPublicationName().get() );
 		}
-
-		descriptorAdjustments.add( "variants", variantArrayAdjustments );
 	}
 
-	private static void withModuleDescriptor(Project project, RegularFile moduleFile, ModuleDescriptorAdjuster adjustment) {
-		final File moduleFileAsFile = moduleFile.getAsFile();
-		final long lastModified = moduleFileAsFile.lastModified();
+	/**
+	 * Renames the variants of the `deployment` or `spi` publication to the standard names -
+	 * `deploymentApiElements` -> `apiElements`, etc.  Not applied to the `extension` publication
+	 */
+	static void adjustVariantNames(File moduleFile, String publicationName) {
+		final Path modulePath = moduleFile.toPath();
 
-		final JsonObject json;
-		try ( final FileReader reader = new FileReader( moduleFileAsFile ) ) {
-			json = Json.createReader( reader ).readObject();
+		final Path tempPath;
+		try {
+			tempPath = Files.createTempFile( modulePath.toAbsolutePath().getParent(), moduleFile.getName(), ".tmp" );
 		}
 		catch (IOException e) {
-			throw new RuntimeException( "Could read Gradle module metadata file - " + moduleFileAsFile.getAbsolutePath(), e );
+			throw new RuntimeException( "Unable to create temporary Gradle module metadata file - " + moduleFile.getAbsolutePath(), e );
 		}
 
-		final AdjustmentAccess adjustmentAccess = new AdjustmentAccess( json );
-		adjustment.adjust( json, adjustmentAccess::resolveAdjustments );
-
-		if ( adjustmentAccess.getAdjustments() != null ) {
-			try ( final FileWriter fileWriter = new FileWriter( moduleFileAsFile ) ) {
-//				JsonWriterFactory jsonWriterFactory =
-
-//				final JsonObject adjusted = adjustmentAccess.getAdjustments().build();
-//				final Gson prettifier = new GsonBuilder().setPrettyPrinting().create();
-//				final StringWriter stringWriter = new StringWriter();
-//				final JsonWriter jsonWriter = Json.createWriter( stringWriter );
-//				jsonWriter.write( adjusted );
-//				stringWriter.flush();
-//				String prettyJson = prettifier.toJson( stringWriter.toString() );
-
-//				ObjectMapper mapper = new ObjectMapper();
-//				final String prettyJson = mapper.writerWithDefaultPrettyPrinter()
-//						.writeValueAsString( adjustmentAccess.getAdjustments().build() );
-//				fileWriter.write( prettyJson );
-
-				final Map<String,Object> properties = new HashMap<>();
-				properties.put( JsonGenerator.PRETTY_PRINTING, true );
-				JsonWriterFactory writerFactory = Json.createWriterFactory( properties );
-				JsonWriter jsonWriter = writerFactory.createWriter( fileWriter );
-				jsonWriter.writeObject( adjustmentAccess.getAdjustments().build() );
+		try {
+			try ( BufferedReader reader = Files.newBufferedReader( modulePath, StandardCharsets.UTF_8 );
+					JsonParser parser = Json.createParser( reader );
+					BufferedWriter writer = Files.newBufferedWriter( tempPath, StandardCharsets.UTF_8 ) ) {
+				transform( parser, new GradleStyleWriter( writer ), publicationName );
+			}
+			catch (IOException | JsonException e) {
+				throw new RuntimeException( "Unable to adjust Gradle module metadata file - " + moduleFile.getAbsolutePath(), e );
+			}
 
-//				fileWriter.write( prettyJson );
-				fileWriter.flush();
+			try {
+				try {
+					Files.move( tempPath, modulePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+				}
+				catch (AtomicMoveNotSupportedException e) {
+					Files.move( tempPath, modulePath, StandardCopyOption.REPLACE_EXISTING );
+				}
 			}
 			catch (IOException e) {
-				throw new RuntimeException( "Could re-write Gradle module metadata file - " + moduleFileAsFile.getAbsolutePath(), e );
+				throw new RuntimeException( "Unable to replace Gradle module metadata file - " + moduleFile.getAbsolutePath(), e );
+			}
+		}
+		finally {
+			try {
+				Files.deleteIfExists( tempPath );
+			}
+			catch (IOException ignore) {
 			}
+		}
+	}
 
-			if ( moduleFileAsFile.lastModified() != lastModified ) {
-				if ( !moduleFileAsFile.setLastModified( lastModified ) ) {
-					project.getLogger().info(
-							"Unable to reset last-modified timestamp for Gradle module metadata file - {}; up-to-date checks may be affected",
-							moduleFileAsFile.getAbsolutePath()
-					);
+	/**
+	 * Copies the parser's events to the writer, renaming the `name` of each entry in the
+	 * top-level `variants` array
+	 */
+	private static void transform(JsonParser parser, GradleStyleWriter writer, String publicationName) throws IOException {
+		// the keys of the containers currently open - `null` for containers within arrays
+		String[] containerKeys = new String[8];
+		int depth = 0;
+		String key = null;
+
+		while ( parser.hasNext() ) {
+			final JsonParser.Event event = parser.next();
+			switch ( event ) {
+				case START_OBJECT:
+				case START_ARRAY: {
+					if ( depth == containerKeys.length ) {
+						containerKeys = Arrays.copyOf( containerKeys, depth * 2 );
+					}
+					containerKeys[depth++] = key;
+					key = null;
+					writer.begin( event == JsonParser.Event.START_OBJECT ? '{' : '[' );
+					break;
+				}
+				case END_OBJECT:
+				case END_ARRAY: {
+					depth--;
+					writer.end( event == JsonParser.Event.END_OBJECT ? '}' : ']' );
+					break;
+				}
+				case KEY_NAME: {
+					key = parser.getString();
+					writer.name( key );
+					break;
+				}
+				case VALUE_STRING: {
+					String value = parser.getString();
+					// root object -> `variants` array -> variant object
+					if ( depth == 3 && "name".equals( key ) && "variants".equals( containerKeys[1] ) ) {
+						value = adjustVariantName( publicationName, value );
+					}
+					writer.string( value );
+					key = null;
+					break;
+				}
+				case VALUE_NUMBER: {
+					writer.literal( parser.getString() );
+					key = null;
+					break;
+				}
+				case VALUE_TRUE: {
+					writer.literal( "true" );
+					key = null;
+					break;
+				}
+				case VALUE_FALSE: {
+					writer.literal( "false" );
+					key = null;
+					break;
+				}
+				default: {
+					writer.literal( "null" );
+					key = null;
 				}
 			}
 		}
+
+		writer.finish();
 	}
 
-	private static void adjustVariantName(String publicationName, JsonObject variant, JsonObjectBuilder adjustments) {
-		final String variantName = variant.getString( "name" );
-		final String adjustedName;
+	private static String adjustVariantName(String publicationName, String variantName) {
 		if ( variantName.endsWith( "ApiElements" ) ) {
-			adjustedName = "apiElements";
+			return "apiElements";
 		}
 		else if ( variantName.endsWith( "RuntimeElements" ) ) {
-			adjustedName = "runtimeElements";
+			return "runtimeElements";
 		}
 		else if ( variantName.endsWith( "JavadocElements" ) ) {
-			adjustedName = "javadocElements";
+			return "javadocElements";
 		}
 		else if ( variantName.endsWith( "SourcesElements" ) ) {
-			adjustedName = "sourcesElements";
+			return "sourcesElements";
 		}
-		else {
-			// handle it specially...
-			final String initialLetter = variantName.substring( publicationName.length(), publicationName.length() + 1 );
-			adjustedName = Character.toLowerCase( initialLetter.charAt( publicationName.length() ) )
+		else if ( variantName.startsWith( publicationName ) && variantName.length() > publicationName.length() ) {
+			// e.g. `deploymentFooElements` -> `fooElements`
+			return Character.toLowerCase( variantName.charAt( publicationName.length() ) )
 					+ variantName.substring( publicationName.length() + 1 );
 		}
-
-		adjustments.add( "name", adjustedName );
+		return variantName;
 	}
 
-	private static void addVariantDependency(
-			String dependencyModuleName,
-			JsonObject variant,
-			JsonObjectBuilder adjustments,
-			Project project) {
-		final JsonArray existingDependenciesNode = variant.getJsonArray( "dependencies" );
-		final JsonArrayBuilder dependenciesBuilder = existingDependenciesNode == null
-				? Json.createArrayBuilder()
-				: Json.createArrayBuilder( existingDependenciesNode );
-
-		final JsonObjectBuilder dependencyBuilder = Json.createObjectBuilder();
-
-		dependencyBuilder.add( "group", project.getGroup().toString() );
-		dependencyBuilder.add( "module", dependencyModuleName );
-		dependencyBuilder.add(
-				"version",
-				Json.createObjectBuilder().add( "requires", project.getVersion().toString() )
-		);
-
-		dependenciesBuilder.add( dependencyBuilder );
-		adjustments.add( "dependencies", dependenciesBuilder );
-	}
+	/**
+	 * Writes JSON formatted as Gradle writes module metadata - 2-space indentation, `"name": value`
+	 * members, empty containers as `{}` and `[]`, no HTML escaping and a trailing new-line
+	 */
+	private static class GradleStyleWriter {
+		private static final String INDENT = "  ";
 
-	@FunctionalInterface
-	interface ModuleDescriptorAdjuster {
-		void adjust(JsonObject descriptor, Supplier<JsonObjectBuilder> adjustments);
-	}
+		private final Writer writer;
 
-	@FunctionalInterface
-	interface VariantAdjuster {
-		void adjust(JsonObject variant, JsonObjectBuilder adjustments);
-	}
+		// whether each open container has had an element written
+		private boolean[] nonEmpty = new boolean[8];
+		private int depth;
+		private boolean afterName;
+
+		private GradleStyleWriter(Writer writer) {
+			this.writer = writer;
+		}
+
+		private void begin(char open) throws IOException {
+			beforeValue();
+			writer.write( open );
+			if ( depth == nonEmpty.length ) {
+				nonEmpty = Arrays.copyOf( nonEmpty, depth * 2 );
+			}
+			nonEmpty[depth++] = false;
+		}
+
+		private void end(char close) throws IOException {
+			depth--;
+			if ( nonEmpty[depth] ) {
+				newLine();
+			}
+			writer.write( close );
+		}
+
+		private void name(String name) throws IOException {
+			beforeElement();
+			quoted( name );
+			writer.write( ": " );
+			afterName = true;
+		}
 
+		private void string(String value) throws IOException {
+			beforeValue();
+			quoted( value );
+		}
 
-	private static class AdjustmentAccess {
-		private final JsonObject descriptor;
-		private JsonObjectBuilder adjustments;
+		private void literal(String value) throws IOException {
+			beforeValue();
+			writer.write( value );
+		}
 
-		public AdjustmentAccess(JsonObject descriptor) {
-			this.descriptor = descriptor;
+		private void finish() throws IOException {
+			writer.write( '\n' );
 		}
 
-		public JsonObjectBuilder resolveAdjustments() {
-			if ( adjustments == null ) {
-				adjustments = Json.createObjectBuilder( descriptor );
+		private void beforeValue() throws IOException {
+			if ( afterName ) {
+				afterName = false;
+			}
+			else if ( depth > 0 ) {
+				// an array element
+				beforeElement();
 			}
-			return adjustments;
 		}
 
-		public JsonObjectBuilder getAdjustments() {
-			return adjustments;
+		private void beforeElement() throws IOException {
+			if ( nonEmpty[depth - 1] ) {
+				writer.write( ',' );
+			}
+			nonEmpty[depth - 1] = true;
+			newLine();
+		}
+
+		private void newLine() throws IOException {
+			writer.write( '\n' );
+			for ( int i = 0; i < depth; i++ ) {
+				writer.write( INDENT );
+			}
+		}
+
+		private void quoted(String value) throws IOException {
+			writer.write( '"' );
+			int last = 0;
+			final int length = value.length();
+			for ( int i = 0; i < length; i++ ) {
+				final char c = value.charAt( i );
+				final String replacement = replacement( c );
+				if ( replacement == null ) {
+					continue;
+				}
+				if ( last < i ) {
+					writer.write( value, last, i - last );
+				}
+				writer.write( replacement );
+				last = i + 1;
+			}
+			if ( last < length ) {
+				writer.write( value, last, length - last );
+			}
+			writer.write( '"' );
+		}
+
+		private static String replacement(char c) {
+			switch ( c ) {
+				case '"': return "\\\"";
+				case '\\': return "\\\\";
+				case '\t': return "\\t";
+				case '\b': return "\\b";
+				case '\n': return "\\n";
+				case '\r': return "\\r";
+				case '\f': return "\\f";
+				case '\u2028': return "\\u2028";
+				case '\u2029': return "\\u2029";
+				default: return c < 0x20 ? String.format( Locale.ROOT, "\\u%04x", (int) c ) : null;
+			}
 		}
 	}
 }
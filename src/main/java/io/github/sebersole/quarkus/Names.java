@@ -7,6 +7,58 @@ public interface Names {
 	String DSL_EXTENSION_NAME = "quarkusExtension";
 	String PLATFORMS_CONFIG_NAME = "quarkusPlatforms";
 
+	/**
+	 * Gradle property enabling the application of platforms as constraints shared across the build
+	 *
+	 * @see PlatformConstraintsService
+	 */
+	String SHARED_PLATFORM_CONSTRAINTS_PROPERTY = "quarkus.sharedPlatformConstraints";
+
+	/**
+	 * Gradle property enabling a single, aggregated Javadoc run for the `main`, `spi` and
+	 * `deployment` source-sets
+	 */
+	String AGGREGATED_JAVADOC_PROPERTY = "quarkus.aggregatedJavadoc";
+
+	/**
+	 * Gradle property selecting the "dev" profile, which defers publication-only work
+	 *
+	 * @see ExtensionDescriptor#getDevProfile()
+	 */
+	String DEV_PROFILE_PROPERTY = "quarkus.devProfile";
+
+	/**
+	 * Configuration holding the libraries used by the plugin's tasks (Jandex, JSON), which are
+	 * loaded in isolation only when those tasks execute
+	 *
+	 * @see io.github.sebersole.quarkus.tasks.ToolingAware
+	 */
+	String TOOLING_CONFIG_NAME = "quarkusExtensionTooling";
+
+	/**
+	 * Consumable Configuration exposing an extension project's runtime dependencies catalog
+	 *
+	 * @see ExtensionCatalogPlugin
+	 */
+	String EXTENSION_CATALOG_ELEMENTS_CONFIG_NAME = "quarkusExtensionCatalogElements";
+
+	/**
+	 * Configuration on which the build declares the extension projects whose runtime dependencies
+	 * catalogs are aggregated
+	 *
+	 * @see ExtensionCatalogPlugin
+	 */
+	String EXTENSION_CATALOGS_CONFIG_NAME = "quarkusExtensionCatalogs";
+
+	/**
+	 * The `org.gradle.usage` of the runtime dependencies catalog variants
+	 */
+	String EXTENSION_CATALOG_USAGE = "quarkus-extension-catalog";
+
+	String JANDEX = "org.jboss:jandex:2.4.2.Final";
+	String JSON_API = "jakarta.json:jakarta.json-api:2.0.1";
+	String JSON_IMPL = "org.glassfish:jakarta.json:2.0.1";
+
 	String QUARKUS_GROUP = "io.quarkus";
 	String QUARKUS_CORE = "quarkus-core";
 	String QUARKUS_CORE_DEPLOYMENT = "quarkus-core-deployment";
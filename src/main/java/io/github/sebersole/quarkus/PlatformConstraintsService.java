@@ -0,0 +1,209 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.gradle.api.Project;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Build-wide cache of the dependency constraints defined by Quarkus platforms (BOMs), used
+ * when {@value Names#SHARED_PLATFORM_CONSTRAINTS_PROPERTY} is enabled and to identify the
+ * modules the platforms provide.
+ *
+ * Each BOM (along with its parents and imported BOMs) is resolved and parsed only once per build;
+ * its managed versions are then applied as plain dependency constraints to the classpaths which
+ * need them, rather than having every classpath resolution re-process the platform.
+ *
+ * @author Steve Ebersole
+ */
+public abstract class PlatformConstraintsService implements BuildService<BuildServiceParameters.None> {
+	public static final String SERVICE_NAME = "quarkusPlatformConstraints";
+
+	private static final Logger LOGGER = Logging.getLogger( PlatformConstraintsService.class );
+
+	private static final Pattern PROPERTY_REFERENCE = Pattern.compile( "\\$\\{([^}]+)}" );
+
+	/**
+	 * Registers the service (if not already) for the build the project belongs to
+	 */
+	public static Provider<PlatformConstraintsService> register(Project project) {
+		return project.getGradle().getSharedServices().registerIfAbsent(
+				SERVICE_NAME,
+				PlatformConstraintsService.class,
+				(spec) -> {}
+		);
+	}
+
+	private final Map<String, CompletableFuture<EffectiveBom>> boms = new ConcurrentHashMap<>();
+
+	/**
+	 * The constraints (as `group:name:version` notations) defined by the BOM.
+	 *
+	 * @param bomGav The BOM's `group:name:version`
+	 * @param pomResolver Resolves the POM file for a `group:name:version`; only called for BOMs
+	 * (and parents) not yet seen in this build
+	 */
+	public List<String> constraints(String bomGav, Function<String, File> pomResolver) {
+		final EffectiveBom bom = load( bomGav, pomResolver );
+
+		final List<String> constraints = new ArrayList<>( bom.managedVersions.size() );
+		bom.managedVersions.forEach( (module, version) -> constraints.add( module + ":" + version ) );
+		return constraints;
+	}
+
+	/**
+	 * The modules (as `group:name`) managed by the BOM
+	 *
+	 * @see #constraints
+	 */
+	public Set<String> managedModules(String bomGav, Function<String, File> pomResolver) {
+		return new LinkedHashSet<>( load( bomGav, pomResolver ).managedVersions.keySet() );
+	}
+
+	private EffectiveBom load(String gav, Function<String, File> pomResolver) {
+		return load( gav, pomResolver, new ArrayList<>() );
+	}
+
+	/**
+	 * @param path The BOMs whose parent or imports are being loaded (on this thread), to detect cycles
+	 */
+	private EffectiveBom load(String gav, Function<String, File> pomResolver, List<String> path) {
+		if ( path.contains( gav ) ) {
+			final List<String> cycle = new ArrayList<>( path.subList( path.indexOf( gav ), path.size() ) );
+			cycle.add( gav );
+			throw new RuntimeException( "Unable to load platform BOM - cycle in parents/imports : " + String.join( " -> ", cycle ) );
+		}
+
+		final CompletableFuture<EffectiveBom> claim = new CompletableFuture<>();
+		final CompletableFuture<EffectiveBom> existing = boms.putIfAbsent( gav, claim );
+		if ( existing != null ) {
+			try {
+				return existing.join();
+			}
+			catch (CompletionException e) {
+				throw new RuntimeException( "Unable to load platform BOM - " + gav, e.getCause() );
+			}
+		}
+
+		path.add( gav );
+		try {
+			final EffectiveBom bom = resolve( gav, BomParser.parse( pomResolver.apply( gav ) ), pomResolver, path );
+			claim.complete( bom );
+			return bom;
+		}
+		catch (RuntimeException e) {
+			boms.remove( gav );
+			claim.completeExceptionally( e );
+			throw e;
+		}
+		finally {
+			path.remove( path.size() - 1 );
+		}
+	}
+
+	/**
+	 * Applies the parent and imported BOMs, following Maven's precedence.  As Maven does, the
+	 * properties and `dependencyManagement` entries are first inherited from the parent (the BOM's
+	 * own win) and only then interpolated, so a BOM overriding a property (or `project.version`)
+	 * also changes the versions its parent refers to it with.  The entries from imported BOMs
+	 * come last, each imported BOM being resolved on its own
+	 */
+	private EffectiveBom resolve(String gav, BomParser.Bom bom, Function<String, File> pomResolver, List<String> path) {
+		final EffectiveBom effective = new EffectiveBom();
+
+		EffectiveBom parent = null;
+		if ( bom.parent != null ) {
+			parent = load( bom.parent, pomResolver, path );
+			effective.properties.putAll( parent.properties );
+		}
+		effective.properties.putAll( bom.properties );
+		effective.properties.put( "project.groupId", bom.groupId );
+		effective.properties.put( "project.artifactId", bom.artifactId );
+		effective.properties.put( "project.version", bom.version );
+
+		for ( BomParser.ManagedDependency dependency : bom.managedDependencies ) {
+			effective.managedDependencies.putIfAbsent( dependency.key(), dependency );
+		}
+		if ( parent != null ) {
+			parent.managedDependencies.forEach( effective.managedDependencies::putIfAbsent );
+		}
+
+		final List<EffectiveBom> imports = new ArrayList<>();
+		final Set<String> unresolved = new LinkedHashSet<>();
+		for ( BomParser.ManagedDependency dependency : effective.managedDependencies.values() ) {
+			final String groupId = interpolate( dependency.groupId, effective.properties );
+			final String artifactId = interpolate( dependency.artifactId, effective.properties );
+			final String version = interpolate( dependency.version, effective.properties );
+			if ( groupId == null || artifactId == null || version == null ) {
+				unresolved.add( dependency.groupId + ":" + dependency.artifactId + ":" + dependency.version );
+				continue;
+			}
+
+			if ( dependency.isImport() ) {
+				imports.add( load( groupId + ":" + artifactId + ":" + version, pomResolver, path ) );
+			}
+			else {
+				effective.managedVersions.putIfAbsent( groupId + ":" + artifactId, version );
+			}
+		}
+
+		if ( !unresolved.isEmpty() ) {
+			LOGGER.warn( "Platform BOM `{}` has dependency management entries which could not be resolved and are ignored : {}", gav, unresolved );
+		}
+
+		imports.forEach( (imported) -> imported.managedVersions.forEach( effective.managedVersions::putIfAbsent ) );
+
+		return effective;
+	}
+
+	private static String interpolate(String value, Map<String, String> properties) {
+		if ( value == null ) {
+			return null;
+		}
+
+		String interpolated = value;
+		// allow for properties referring to other properties, within reason
+		for ( int i = 0; i < 10 && interpolated.contains( "${" ); i++ ) {
+			final Matcher matcher = PROPERTY_REFERENCE.matcher( interpolated );
+			final StringBuffer buffer = new StringBuffer();
+			while ( matcher.find() ) {
+				final String replacement = properties.get( matcher.group( 1 ) );
+				matcher.appendReplacement( buffer, Matcher.quoteReplacement( replacement == null ? matcher.group() : replacement ) );
+			}
+			matcher.appendTail( buffer );
+
+			if ( buffer.toString().equals( interpolated ) ) {
+				break;
+			}
+			interpolated = buffer.toString();
+		}
+
+		return interpolated.contains( "${" ) ? null : interpolated;
+	}
+
+	private static class EffectiveBom {
+		// inherited and own, not interpolated
+		private final Map<String, String> properties = new HashMap<>();
+		// inherited and own, not interpolated; keyed by `BomParser.ManagedDependency#key`
+		private final Map<String, BomParser.ManagedDependency> managedDependencies = new LinkedHashMap<>();
+		// `group:name` -> version
+		private final Map<String, String> managedVersions = new LinkedHashMap<>();
+	}
+}
@@ -0,0 +1,201 @@
+package io.github.sebersole.quarkus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.gradle.api.Action;
+import org.gradle.api.XmlProvider;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.publish.maven.MavenPom;
+import org.gradle.api.publish.maven.MavenPomCiManagement;
+import org.gradle.api.publish.maven.MavenPomDeveloper;
+import org.gradle.api.publish.maven.MavenPomLicense;
+import org.gradle.api.publish.maven.MavenPomScm;
+import org.gradle.api.publish.maven.internal.publication.MavenPomInternal;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+/**
+ * Snapshot of the structured POM details (CI management, licenses, SCM and developers) of the
+ * `extension` publication, applied to the POMs of the `spi` and `deployment` publications.
+ *
+ * The snapshot is taken from a provider and applied as part of the target POM's `withXml` handling,
+ * so it is only computed when a POM is actually generated (or when the configuration cache entry
+ * is stored).  Details already present in the target POM are left alone.
+ *
+ * @see #applyTo
+ *
+ * @author Steve Ebersole
+ */
+class PomDetails {
+	private String ciSystem;
+	private String ciUrl;
+
+	private final List<Map<String, String>> licenses = new ArrayList<>();
+
+	private String scmUrl;
+	private String scmConnection;
+	private String scmDeveloperConnection;
+	private String scmTag;
+
+	private final List<Map<String, String>> developers = new ArrayList<>();
+	private final List<Set<String>> developerRoles = new ArrayList<>();
+	private final List<Map<String, String>> developerProperties = new ArrayList<>();
+
+	/**
+	 * Links the `to` POM to the details of the `from` POM.  Simple values are applied as conventions;
+	 * the structured details are applied to the generated XML
+	 */
+	static void link(MavenPom from, MavenPom to, Provider<PomDetails> details) {
+		to.getInceptionYear().convention( from.getInceptionYear() );
+		to.getUrl().convention( from.getUrl() );
+		to.withXml( new Application( details ) );
+	}
+
+	static PomDetails snapshot(MavenPom pom) {
+		final MavenPomInternal pomInternal = (MavenPomInternal) pom;
+		final PomDetails details = new PomDetails();
+
+		final MavenPomCiManagement ciManagement = pomInternal.getCiManagement();
+		if ( ciManagement != null ) {
+			details.ciSystem = ciManagement.getSystem().getOrNull();
+			details.ciUrl = ciManagement.getUrl().getOrNull();
+		}
+
+		for ( MavenPomLicense license : pomInternal.getLicenses() ) {
+			final Map<String, String> values = new TreeMap<>();
+			put( values, "name", license.getName() );
+			put( values, "url", license.getUrl() );
+			put( values, "distribution", license.getDistribution() );
+			put( values, "comments", license.getComments() );
+			details.licenses.add( values );
+		}
+
+		final MavenPomScm scm = pomInternal.getScm();
+		if ( scm != null ) {
+			details.scmUrl = scm.getUrl().getOrNull();
+			details.scmConnection = scm.getConnection().getOrNull();
+			details.scmDeveloperConnection = scm.getDeveloperConnection().getOrNull();
+			details.scmTag = scm.getTag().getOrNull();
+		}
+
+		for ( MavenPomDeveloper developer : pomInternal.getDevelopers() ) {
+			final Map<String, String> values = new TreeMap<>();
+			put( values, "id", developer.getId() );
+			put( values, "name", developer.getName() );
+			put( values, "email", developer.getEmail() );
+			put( values, "url", developer.getUrl() );
+			put( values, "organization", developer.getOrganization() );
+			put( values, "organizationUrl", developer.getOrganizationUrl() );
+			put( values, "timezone", developer.getTimezone() );
+			details.developers.add( values );
+			details.developerRoles.add( new TreeSet<>( developer.getRoles().getOrElse( new TreeSet<>() ) ) );
+			details.developerProperties.add( new TreeMap<>( developer.getProperties().getOrElse( new TreeMap<>() ) ) );
+		}
+
+		return details;
+	}
+
+	private static void put(Map<String, String> values, String name, Property<String> property) {
+		final String value = property.getOrNull();
+		if ( value != null ) {
+			values.put( name, value );
+		}
+	}
+
+	/**
+	 * Adds the details to the `project` element of a POM, skipping any sections it already defines
+	 */
+	void applyTo(Element project) {
+		final Document document = project.getOwnerDocument();
+
+		if ( ( ciSystem != null || ciUrl != null ) && child( project, "ciManagement" ) == null ) {
+			final Element ciManagement = append( document, project, "ciManagement" );
+			appendText( document, ciManagement, "system", ciSystem );
+			appendText( document, ciManagement, "url", ciUrl );
+		}
+
+		if ( !licenses.isEmpty() && child( project, "licenses" ) == null ) {
+			final Element licensesElement = append( document, project, "licenses" );
+			for ( Map<String, String> license : licenses ) {
+				final Element licenseElement = append( document, licensesElement, "license" );
+				license.forEach( (name, value) -> appendText( document, licenseElement, name, value ) );
+			}
+		}
+
+		if ( ( scmUrl != null || scmConnection != null || scmDeveloperConnection != null || scmTag != null )
+				&& child( project, "scm" ) == null ) {
+			final Element scm = append( document, project, "scm" );
+			appendText( document, scm, "connection", scmConnection );
+			appendText( document, scm, "developerConnection", scmDeveloperConnection );
+			appendText( document, scm, "url", scmUrl );
+			appendText( document, scm, "tag", scmTag );
+		}
+
+		if ( !developers.isEmpty() && child( project, "developers" ) == null ) {
+			final Element developersElement = append( document, project, "developers" );
+			for ( int i = 0; i < developers.size(); i++ ) {
+				final Element developerElement = append( document, developersElement, "developer" );
+				developers.get( i ).forEach( (name, value) -> appendText( document, developerElement, name, value ) );
+
+				final Set<String> roles = developerRoles.get( i );
+				if ( !roles.isEmpty() ) {
+					final Element rolesElement = append( document, developerElement, "roles" );
+					roles.forEach( (role) -> appendText( document, rolesElement, "role", role ) );
+				}
+
+				final Map<String, String> properties = developerProperties.get( i );
+				if ( !properties.isEmpty() ) {
+					final Element propertiesElement = append( document, developerElement, "properties" );
+					properties.forEach( (name, value) -> appendText( document, propertiesElement, name, value ) );
+				}
+			}
+		}
+	}
+
+	private static Element child(Element element, String name) {
+		for ( Node node = element.getFirstChild(); node != null; node = node.getNextSibling() ) {
+			if ( node instanceof Element && name.equals( node.getNodeName() ) ) {
+				return (Element) node;
+			}
+		}
+		return null;
+	}
+
+	private static Element append(Document document, Element parent, String name) {
+		// use the POM's (default) namespace, otherwise the elements are written with `xmlns=""`
+		final Element element = document.createElementNS( parent.getNamespaceURI(), name );
+		parent.appendChild( element );
+		return element;
+	}
+
+	private static void appendText(Document document, Element parent, String name, String value) {
+		if ( value != null ) {
+			append( document, parent, name ).setTextContent( value );
+		}
+	}
+
+	/**
+	 * The `withXml` action applying the details.  Holds only the provider, so that it can be
+	 * stored in the configuration cache
+	 */
+	private static class Application implements Action<XmlProvider> {
+		private final Provider<PomDetails> details;
+
+		private Application(Provider<PomDetails> details) {
+			this.details = details;
+		}
+
+		@Override
+		public void execute(XmlProvider xmlProvider) {
+			details.get().applyTo( xmlProvider.asElement() );
+		}
+	}
+}
@@ -1,8 +1,20 @@
 package io.github.sebersole.quarkus;
 
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
 import javax.inject.Inject;
 
 import org.gradle.api.Action;
+import org.gradle.api.NamedDomainObjectContainer;
 import org.gradle.api.JavaVersion;
 import org.gradle.api.Plugin;
 import org.gradle.api.Project;
@@ -10,6 +22,19 @@ import org.gradle.api.Task;
 import org.gradle.api.artifacts.Configuration;
 import org.gradle.api.artifacts.ConfigurationContainer;
 import org.gradle.api.artifacts.ConfigurationPublications;
+import org.gradle.api.artifacts.ConfigurationVariant;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.DependencyConstraint;
+import org.gradle.api.artifacts.ExternalModuleDependency;
+import org.gradle.api.artifacts.repositories.MavenArtifactRepository;
+import org.gradle.api.artifacts.dsl.DependencyConstraintHandler;
+import org.gradle.api.artifacts.result.ArtifactResolutionResult;
+import org.gradle.api.artifacts.result.ArtifactResult;
+import org.gradle.api.artifacts.result.ComponentArtifactsResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.type.ArtifactTypeDefinition;
+import org.gradle.api.attributes.Attribute;
+import org.gradle.api.attributes.AttributeContainer;
 import org.gradle.api.attributes.Bundling;
 import org.gradle.api.attributes.Category;
 import org.gradle.api.attributes.DocsType;
@@ -18,8 +43,14 @@ import org.gradle.api.attributes.LibraryElements;
 import org.gradle.api.attributes.Usage;
 import org.gradle.api.attributes.java.TargetJvmVersion;
 import org.gradle.api.component.AdhocComponentWithVariants;
+import org.gradle.api.component.ConfigurationVariantDetails;
 import org.gradle.api.component.SoftwareComponentFactory;
+import org.gradle.api.file.CopySpec;
 import org.gradle.api.file.Directory;
+import org.gradle.api.file.FileCollection;
+import org.gradle.api.file.FileTree;
+import org.gradle.api.file.SourceDirectorySet;
+import org.gradle.api.file.RegularFile;
 import org.gradle.api.internal.artifacts.ArtifactAttributes;
 import org.gradle.api.model.ObjectFactory;
 import org.gradle.api.plugins.JavaLibraryPlugin;
@@ -27,25 +58,44 @@ import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.provider.Provider;
 import org.gradle.api.publish.PublicationContainer;
 import org.gradle.api.publish.PublishingExtension;
+import org.gradle.api.publish.maven.MavenArtifact;
 import org.gradle.api.publish.maven.MavenPom;
 import org.gradle.api.publish.maven.MavenPublication;
 import org.gradle.api.publish.maven.plugins.MavenPublishPlugin;
+import org.gradle.api.publish.maven.tasks.AbstractPublishToMaven;
 import org.gradle.api.publish.maven.tasks.GenerateMavenPom;
 import org.gradle.api.publish.tasks.GenerateModuleMetadata;
+import org.gradle.api.specs.Spec;
+import org.gradle.api.tasks.ClasspathNormalizer;
 import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.Sync;
 import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskContainer;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.api.tasks.bundling.ZipEntryCompression;
 import org.gradle.api.tasks.javadoc.Javadoc;
+import org.gradle.maven.MavenModule;
+import org.gradle.maven.MavenPomArtifact;
 import org.gradle.jvm.tasks.Jar;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 
+import io.github.sebersole.quarkus.tasks.AggregateExtensionCatalog;
+import io.github.sebersole.quarkus.tasks.AnalyzeRuntimeDependencies;
 import io.github.sebersole.quarkus.tasks.GenerateBuildStepsList;
+import io.github.sebersole.quarkus.tasks.GenerateCatalogEntry;
 import io.github.sebersole.quarkus.tasks.GenerateConfigRootsList;
 import io.github.sebersole.quarkus.tasks.GenerateDescriptor;
 import io.github.sebersole.quarkus.tasks.GenerateExtensionPropertiesFile;
 import io.github.sebersole.quarkus.tasks.IndexManager;
 import io.github.sebersole.quarkus.tasks.IndexerTask;
+import io.github.sebersole.quarkus.tasks.JarRepacker;
+import io.github.sebersole.quarkus.tasks.PublishExtension;
+import io.github.sebersole.quarkus.tasks.ToolingAware;
+import io.github.sebersole.quarkus.tasks.VerifyClasspathConflicts;
 import io.github.sebersole.quarkus.tasks.VerifyDeploymentDependencies;
 import io.github.sebersole.quarkus.tasks.VerifyExtensionDependencies;
+import io.github.sebersole.quarkus.tasks.VerifyRuntimeBudget;
 
 import static io.github.sebersole.quarkus.Names.DSL_EXTENSION_NAME;
 
@@ -56,11 +106,13 @@ import static io.github.sebersole.quarkus.Names.DSL_EXTENSION_NAME;
  */
 public class QuarkusExtensionPlugin implements Plugin<Project> {
 	private final SoftwareComponentFactory softwareComponentFactory;
+	private final WorkerExecutor workerExecutor;
 
 	@SuppressWarnings("unused")
 	@Inject
-	public QuarkusExtensionPlugin(SoftwareComponentFactory softwareComponentFactory) {
+	public QuarkusExtensionPlugin(SoftwareComponentFactory softwareComponentFactory, WorkerExecutor workerExecutor) {
 		this.softwareComponentFactory = softwareComponentFactory;
+		this.workerExecutor = workerExecutor;
 	}
 
 	@Override
@@ -75,11 +127,9 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 		);
 
 		preparePlatforms( project );
+		final Configuration toolingConfiguration = prepareTooling( project );
 
 		final JavaPluginExtension javaPluginExtension = project.getExtensions().getByType( JavaPluginExtension.class );
-		javaPluginExtension.withJavadocJar();
-		javaPluginExtension.withSourcesJar();
-
 		final SourceSetContainer sourceSets = javaPluginExtension.getSourceSets();
 
 		final SourceSet deploymentSourceSet = sourceSets.maybeCreate( "deployment" );
@@ -87,40 +137,419 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 		final SourceSet extensionSourceSet = sourceSets.getByName( SourceSet.MAIN_SOURCE_SET_NAME );
 		final SourceSet testSourceSet = sourceSets.getByName( SourceSet.TEST_SOURCE_SET_NAME );
 
+		// `spi` and `deployment` are optional - whether they have sources is checked once, when first needed
+		final Map<String, HasSources> publicationSources = new HashMap<>();
+		final HasSources spiSources = new HasSources( spiSourceSet.getAllSource() );
+		final HasSources deploymentSources = new HasSources( deploymentSourceSet.getAllSource() );
+		publicationSources.put( spiSourceSet.getName(), spiSources );
+		publicationSources.put( deploymentSourceSet.getName(), deploymentSources );
+
 		prepareExtension( extensionSourceSet, config, project );
-		prepareSpi( spiSourceSet, extensionSourceSet, project );
-		prepareDeployment( deploymentSourceSet, extensionSourceSet, testSourceSet, project );
+		prepareDocumentationArtifacts( extensionSourceSet, config, project );
+		prepareSpi( spiSourceSet, extensionSourceSet, spiSources, project );
+		prepareDeployment( deploymentSourceSet, extensionSourceSet, project );
+		prepareDeploymentArtifacts( deploymentSourceSet, testSourceSet, deploymentSources, project );
+
+		prepareTesting( testSourceSet, deploymentSourceSet, project );
+
+		if ( isAggregatedJavadoc( project ) ) {
+			prepareAggregatedJavadoc( extensionSourceSet, spiSourceSet, deploymentSourceSet, project );
+		}
+
+		// once the build script has configured the `main` elements and the project's coordinates
+		project.afterEvaluate( (p) -> {
+			applyExtensionPublishedVariants( extensionSourceSet, project );
+			applyExtensionDocumentationVariants( extensionSourceSet, project );
+			// the `extension` artifact depends on the `spi` artifact, when there is one
+			applySiblingDependency( extensionSourceSet, project.getName() + "-spi", spiSources, project );
+			applyExtensionMarkers( extensionSourceSet, ExtensionAttributes.RUNTIME, ExtensionAttributes.DEPLOYMENT_ARTIFACT, project.getName() + "-deployment", project );
+			applyExtensionMarkers( deploymentSourceSet, ExtensionAttributes.DEPLOYMENT, ExtensionAttributes.RUNTIME_ARTIFACT, project.getName(), project );
+		} );
+
+		applyAdjustments( toolingConfiguration, project );
+		prepareExtensionPublishing( publicationSources, project );
+	}
+
+	/**
+	 * Registers the Javadoc and sources jars of `main`, as {@link #prepareAdHocPublication} does for
+	 * `spi` and `deployment`.  They are part of `assemble` unless the "dev" profile is used; their
+	 * variants are added to the `java` component by {@link #applyExtensionDocumentationVariants}
+	 */
+	private static void prepareDocumentationArtifacts(SourceSet extensionSourceSet, ExtensionDescriptor config, Project project) {
+		final TaskContainer taskContainer = project.getTasks();
+
+		final TaskProvider<Jar> javadocJarTask = taskContainer.register( extensionSourceSet.getJavadocJarTaskName(), Jar.class, (task) -> {
+			task.setGroup( "build" );
+			task.setDescription( "Creates the extension Javadoc artifact" );
+			task.getArchiveClassifier().set( "javadoc" );
+			task.from( taskContainer.named( extensionSourceSet.getJavadocTaskName() ) );
+		} );
+
+		final TaskProvider<Jar> sourcesJarTask = taskContainer.register( extensionSourceSet.getSourcesJarTaskName(), Jar.class, (task) -> {
+			task.setGroup( "build" );
+			task.setDescription( "Creates the extension sources artifact" );
+			task.getArchiveClassifier().set( "sources" );
+			task.from( extensionSourceSet.getAllSource() );
+		} );
+
+		taskContainer.named( "assemble", (assembleTask) -> assembleTask.dependsOn(
+				unlessDevProfile( config, javadocJarTask, sourcesJarTask )
+		) );
+	}
+
+	/**
+	 * Adds the `main` Javadoc and sources variants to the `java` component, after its API and
+	 * runtime variants.  Build scripts may still use `java { withJavadocJar() }` (or `withSourcesJar()`),
+	 * in which case Gradle has already added the variant - using the jar task registered here
+	 */
+	private static void applyExtensionDocumentationVariants(SourceSet extensionSourceSet, Project project) {
+		final AdhocComponentWithVariants javaComponent = (AdhocComponentWithVariants) project.getComponents().getByName( "java" );
+		final ConfigurationContainer configurations = project.getConfigurations();
+		final TaskContainer taskContainer = project.getTasks();
+
+		if ( configurations.findByName( extensionSourceSet.getJavadocElementsConfigurationName() ) == null ) {
+			applyDocumentationVariant(
+					extensionSourceSet,
+					DocsType.JAVADOC,
+					taskContainer.named( extensionSourceSet.getJavadocJarTaskName(), Jar.class ),
+					javaComponent,
+					project
+			);
+		}
+		if ( configurations.findByName( extensionSourceSet.getSourcesElementsConfigurationName() ) == null ) {
+			applyDocumentationVariant(
+					extensionSourceSet,
+					DocsType.SOURCES,
+					taskContainer.named( extensionSourceSet.getSourcesJarTaskName(), Jar.class ),
+					javaComponent,
+					project
+			);
+		}
+	}
+
+	/**
+	 * Creates the consumable Configuration for a documentation variant of the source-set - its Javadoc
+	 * or sources, per `docsType` - adding it to the component
+	 */
+	private static void applyDocumentationVariant(
+			SourceSet sourceSet,
+			String docsType,
+			TaskProvider<Jar> jarTask,
+			AdhocComponentWithVariants component,
+			Project project) {
+		final ObjectFactory objectFactory = project.getObjects();
+		final String configurationName = DocsType.JAVADOC.equals( docsType )
+				? sourceSet.getJavadocElementsConfigurationName()
+				: sourceSet.getSourcesElementsConfigurationName();
+
+		final Configuration elements = project.getConfigurations().maybeCreate( configurationName );
+		elements.setDescription( "Outgoing " + docsType + " elements for `" + sourceSet.getName() + "`" );
+		elements.setCanBeResolved(false);
+		elements.setCanBeConsumed(true);
+		elements.getAttributes().attribute( Usage.USAGE_ATTRIBUTE, objectFactory.named(Usage.class, Usage.JAVA_RUNTIME) );
+		elements.getAttributes().attribute( Category.CATEGORY_ATTRIBUTE, objectFactory.named(Category.class, Category.DOCUMENTATION) );
+		elements.getAttributes().attribute( Bundling.BUNDLING_ATTRIBUTE, objectFactory.named(Bundling.class, Bundling.EXTERNAL) );
+		elements.getAttributes().attribute( DocsType.DOCS_TYPE_ATTRIBUTE, objectFactory.named(DocsType.class, docsType) );
+		final ConfigurationPublications elementsOutgoing = elements.getOutgoing();
+		elementsOutgoing.artifact( jarTask );
+		elementsOutgoing.getAttributes().attribute( ArtifactAttributes.ARTIFACT_FORMAT, "jar");
+		component.addVariantsFromConfiguration( elements, (details) -> details.mapToMavenScope( "runtime" ) );
+	}
+
+	/**
+	 * Publishes the `main` API and runtime variants through {@linkplain #applyPublishedVariants published
+	 * variants} in the `java` component, in place of the consumable elements.  Done once the build
+	 * script has configured the elements' attributes
+	 */
+	private static void applyExtensionPublishedVariants(SourceSet extensionSourceSet, Project project) {
+		final AdhocComponentWithVariants javaComponent = (AdhocComponentWithVariants) project.getComponents().getByName( "java" );
+		final ConfigurationContainer configurations = project.getConfigurations();
+		javaComponent.withVariantsFromConfiguration(
+				configurations.getByName( extensionSourceSet.getApiElementsConfigurationName() ),
+				ConfigurationVariantDetails::skip
+		);
+		javaComponent.withVariantsFromConfiguration(
+				configurations.getByName( extensionSourceSet.getRuntimeElementsConfigurationName() ),
+				ConfigurationVariantDetails::skip
+		);
+		applyPublishedVariants(
+				extensionSourceSet,
+				javaComponent,
+				project.getTasks().named( extensionSourceSet.getJarTaskName(), Jar.class ),
+				project
+		);
+	}
+
+	/**
+	 * Exposes the project's runtime dependencies catalog as the consumable
+	 * {@value Names#EXTENSION_CATALOG_ELEMENTS_CONFIG_NAME} Configuration, for the
+	 * {@link AggregateExtensionCatalog} task registered by {@link ExtensionCatalogPlugin}
+	 */
+	private static void applyCatalogAggregation(TaskProvider<VerifyExtensionDependencies> verifyExtensionDependencies, Project project) {
+		project.getConfigurations().create( Names.EXTENSION_CATALOG_ELEMENTS_CONFIG_NAME, (configuration) -> {
+			configuration.setDescription( "The runtime dependencies catalog of the extension, for aggregation" );
+			configuration.setVisible( false );
+			configuration.setCanBeConsumed( true );
+			configuration.setCanBeResolved( false );
+			ExtensionCatalogPlugin.applyCatalogUsage( configuration, project );
+			configuration.getOutgoing().artifact( verifyExtensionDependencies.flatMap( VerifyExtensionDependencies::getOutput ) );
+		} );
+	}
 
-		prepareTesting( testSourceSet, extensionSourceSet, deploymentSourceSet, spiSourceSet, project );
+	/**
+	 * Creates the {@value Names#TOOLING_CONFIG_NAME} Configuration, holding Jandex and the JSON
+	 * library.  These are not part of the plugin's own classpath; the tasks needing them run their
+	 * work in an isolated class loader with this Configuration as the classpath.  The build can
+	 * replace the default versions by declaring dependencies on the Configuration itself
+	 */
+	private static Configuration prepareTooling(Project project) {
+		final Configuration toolingConfiguration = project.getConfigurations().create( Names.TOOLING_CONFIG_NAME );
+		toolingConfiguration.setDescription( "Libraries used by the Quarkus extension tasks, loaded in isolation" );
+		toolingConfiguration.setVisible( false );
+		toolingConfiguration.setCanBeConsumed( false );
+		toolingConfiguration.setCanBeResolved( true );
+		toolingConfiguration.defaultDependencies( (dependencies) -> {
+			dependencies.add( project.getDependencies().create( Names.JANDEX ) );
+			dependencies.add( project.getDependencies().create( Names.JSON_API ) );
+			dependencies.add( project.getDependencies().create( Names.JSON_IMPL ) );
+		} );
+
+		project.getTasks().withType( ToolingAware.class ).configureEach(
+				(task) -> task.getToolingClasspath().from( toolingConfiguration )
+		);
 
-		applyAdjustments( project );
+		return toolingConfiguration;
 	}
 
+	private static boolean isAggregatedJavadoc(Project project) {
+		return project.getProviders()
+				.gradleProperty( Names.AGGREGATED_JAVADOC_PROPERTY )
+				.map( Boolean::parseBoolean )
+				.getOrElse( false );
+	}
 
 	/**
-	 * Prepares the {@value Names#PLATFORMS_CONFIG_NAME} Configuration and
-	 * applies it to all Configurations (other than itself ofc)
+	 * Configures the `main` javadoc task to document the `spi` and `deployment` source-sets as well,
+	 * running the javadoc tool once.  Each source-set's javadoc jar takes its part of the output
+	 * (see {@link JavadocSplit})
+	 */
+	private static void prepareAggregatedJavadoc(SourceSet extensionSourceSet, SourceSet spiSourceSet, SourceSet deploymentSourceSet, Project project) {
+		final TaskContainer taskContainer = project.getTasks();
+
+		taskContainer.named( extensionSourceSet.getJavadocTaskName(), Javadoc.class, (task) -> {
+			task.setDescription( "Generates the aggregated Javadocs for the main, spi and deployment source-sets" );
+			task.source( spiSourceSet.getAllJava(), deploymentSourceSet.getAllJava() );
+			task.setClasspath(
+					task.getClasspath()
+							.plus( spiSourceSet.getCompileClasspath() )
+							.plus( deploymentSourceSet.getCompileClasspath() )
+			);
+		} );
+
+		taskContainer.named( extensionSourceSet.getJavadocJarTaskName(), Jar.class, (task) -> task.exclude(
+				javadocSplit( extensionSourceSet.getName(), project )
+		) );
+	}
+
+	private static JavadocSplit javadocSplit(String owner, Project project) {
+		final SourceSetContainer sourceSets = project.getExtensions().getByType( SourceSetContainer.class );
+		final Map<String, FileTree> javaSources = new HashMap<>();
+		for ( String name : new String[] { SourceSet.MAIN_SOURCE_SET_NAME, "spi", "deployment" } ) {
+			javaSources.put( name, sourceSets.getByName( name ).getAllJava().getAsFileTree() );
+		}
+		return new JavadocSplit( owner, javaSources );
+	}
+
+	/**
+	 * Whether an optional source-set (`spi` or `deployment`) has sources.  Used as `onlyIf` check for
+	 * the source-set's tasks and to decide what is published.  The sources are checked once, when first
+	 * needed (normally when the first of those tasks is about to execute), and the outcome is cached.
+	 * Sources generated by a task count as present before the task has run.
+	 */
+	private static class HasSources implements Spec<Task> {
+		private final FileCollection sources;
+		private Boolean hasSources;
+
+		private HasSources(SourceDirectorySet sources) {
+			this.sources = sources;
+		}
+
+		private synchronized boolean hasSources() {
+			if ( hasSources == null ) {
+				hasSources = !sources.getBuildDependencies().getDependencies( null ).isEmpty()
+						|| !sources.isEmpty();
+			}
+			return hasSources;
+		}
+
+		@Override
+		public boolean isSatisfiedBy(Task task) {
+			return hasSources();
+		}
+	}
+
+
+	/**
+	 * Prepares the {@value Names#PLATFORMS_CONFIG_NAME} Configuration and applies it to
+	 * the Configurations of each SourceSet which need it - the resolvable classpaths and
+	 * the outgoing (published) elements.  The check for enforced platforms is performed
+	 * once, after the project has been evaluated.
+	 *
+	 * With {@value Names#SHARED_PLATFORM_CONSTRAINTS_PROPERTY} enabled, the classpaths instead
+	 * get the platforms' managed versions as dependency constraints, resolved once per build
+	 * through the {@link PlatformConstraintsService}.  The elements still extend the platforms
+	 * so that the published metadata refers to them rather than listing every constraint.
 	 */
 	private void preparePlatforms(Project project) {
-		final Configuration platforms = project.getConfigurations().maybeCreate( Names.PLATFORMS_CONFIG_NAME );
+		final ConfigurationContainer configurations = project.getConfigurations();
+		final Configuration platforms = configurations.maybeCreate( Names.PLATFORMS_CONFIG_NAME );
 		platforms.setDescription( "Configuration to specify all Quarkus platforms (BOMs) to be applied" );
 
-		project.getConfigurations().all( (configuration) -> {
-			if ( configuration != platforms ) {
-				configuration.extendsFrom( platforms );
+		final boolean sharedConstraints = project.getProviders()
+				.gradleProperty( Names.SHARED_PLATFORM_CONSTRAINTS_PROPERTY )
+				.map( Boolean::parseBoolean )
+				.getOrElse( false );
+		final Action<Configuration> classpathAction;
+		if ( sharedConstraints ) {
+			final Provider<List<DependencyConstraint>> constraints = project.provider(
+					new PlatformConstraints( platforms, PlatformConstraintsService.register( project ), project )
+			);
+			classpathAction = (configuration) -> configuration.getDependencyConstraints().addAllLater( constraints );
+		}
+		else {
+			classpathAction = (configuration) -> configuration.extendsFrom( platforms );
+		}
+		final Action<Configuration> elementsAction = (configuration) -> configuration.extendsFrom( platforms );
+
+		// names of the Configurations to which the platforms apply.  Some of these (the
+		// elements for `deployment` and `spi`) are only created later
+		final Map<String, Action<Configuration>> platformTargets = new HashMap<>();
+		configurations.configureEach( (configuration) -> {
+			final Action<Configuration> action = platformTargets.get( configuration.getName() );
+			if ( action != null ) {
+				action.execute( configuration );
 			}
+		} );
 
-			// todo : should we limit which Configurations this gets applied to?
-			configuration.getDependencies().all( (dep) -> {
-				if ( dep instanceof HasConfigurableAttributes ) {
-					final HasConfigurableAttributes<?> attributableDependency = (HasConfigurableAttributes<?>) dep;
-					final Category category = attributableDependency.getAttributes().getAttribute( Category.CATEGORY_ATTRIBUTE );
-					if ( category != null && "enforced-platform".equals( category.getName() ) ) {
-						throw new EnforcedPlatformException( dep, configuration );
-					}
+		project.getExtensions().getByType( SourceSetContainer.class ).all( (sourceSet) -> {
+			final Map<String, Action<Configuration>> targets = new HashMap<>();
+			targets.put( sourceSet.getCompileClasspathConfigurationName(), classpathAction );
+			targets.put( sourceSet.getRuntimeClasspathConfigurationName(), classpathAction );
+			targets.put( sourceSet.getAnnotationProcessorConfigurationName(), classpathAction );
+			targets.put( sourceSet.getApiElementsConfigurationName(), elementsAction );
+			targets.put( sourceSet.getRuntimeElementsConfigurationName(), elementsAction );
+			platformTargets.putAll( targets );
+
+			targets.forEach( (name, action) -> {
+				final Configuration existing = configurations.findByName( name );
+				if ( existing != null ) {
+					action.execute( existing );
 				}
 			} );
 		} );
+
+		project.afterEvaluate( (p) -> verifyNoEnforcedPlatforms( p.getConfigurations() ) );
+	}
+
+	/**
+	 * Builds the dependency constraints for the declared platforms, once per project
+	 */
+	private static class PlatformConstraints implements Callable<List<DependencyConstraint>> {
+		private final Configuration platforms;
+		private final Provider<PlatformConstraintsService> service;
+		private final Project project;
+
+		private List<DependencyConstraint> constraints;
+
+		private PlatformConstraints(Configuration platforms, Provider<PlatformConstraintsService> service, Project project) {
+			this.platforms = platforms;
+			this.service = service;
+			this.project = project;
+		}
+
+		@Override
+		public synchronized List<DependencyConstraint> call() {
+			if ( constraints == null ) {
+				final DependencyConstraintHandler constraintHandler = project.getDependencies().getConstraints();
+				final List<DependencyConstraint> created = new ArrayList<>();
+				for ( Dependency platform : platforms.getDependencies() ) {
+					if ( !( platform instanceof ExternalModuleDependency ) ) {
+						throw new ValidationException(
+								"Only external module platforms are supported with `" + Names.SHARED_PLATFORM_CONSTRAINTS_PROPERTY + "` - " + platform
+						);
+					}
+					final String bomGav = platform.getGroup() + ":" + platform.getName() + ":" + platform.getVersion();
+					for ( String notation : service.get().constraints( bomGav, (gav) -> resolvePlatformPom( gav, project ) ) ) {
+						final DependencyConstraint constraint = constraintHandler.create( notation );
+						constraint.because( "Quarkus platform " + bomGav );
+						created.add( constraint );
+					}
+				}
+				constraints = created;
+			}
+			return constraints;
+		}
+	}
+
+	/**
+	 * Builds the `group:name` keys of the modules managed by the declared platforms.  Only external
+	 * module platforms are considered
+	 */
+	private static class PlatformModules implements Callable<Set<String>> {
+		private final Configuration platforms;
+		private final Provider<PlatformConstraintsService> service;
+		private final Project project;
+
+		private PlatformModules(Configuration platforms, Provider<PlatformConstraintsService> service, Project project) {
+			this.platforms = platforms;
+			this.service = service;
+			this.project = project;
+		}
+
+		@Override
+		public Set<String> call() {
+			final Set<String> modules = new TreeSet<>();
+			for ( Dependency platform : platforms.getAllDependencies() ) {
+				if ( platform instanceof ExternalModuleDependency && platform.getVersion() != null ) {
+					final String bomGav = platform.getGroup() + ":" + platform.getName() + ":" + platform.getVersion();
+					modules.addAll( service.get().managedModules( bomGav, (gav) -> resolvePlatformPom( gav, project ) ) );
+				}
+			}
+			return modules;
+		}
+	}
+
+	/**
+	 * Resolves the POM file of a platform (or of its parents and imports)
+	 */
+	private static File resolvePlatformPom(String gav, Project project) {
+		final String[] parts = gav.split( ":" );
+		final ArtifactResolutionResult result = project.getDependencies().createArtifactResolutionQuery()
+				.forModule( parts[0], parts[1], parts[2] )
+				.withArtifacts( MavenModule.class, MavenPomArtifact.class )
+				.execute();
+		for ( ComponentArtifactsResult component : result.getResolvedComponents() ) {
+			for ( ArtifactResult artifact : component.getArtifacts( MavenPomArtifact.class ) ) {
+				if ( artifact instanceof ResolvedArtifactResult ) {
+					return ( (ResolvedArtifactResult) artifact ).getFile();
+				}
+			}
+		}
+		throw new RuntimeException( "Unable to resolve platform BOM - " + gav );
+	}
+
+	private static void verifyNoEnforcedPlatforms(ConfigurationContainer configurations) {
+		for ( Configuration configuration : configurations ) {
+			for ( Dependency dependency : configuration.getDependencies() ) {
+				if ( dependency instanceof HasConfigurableAttributes ) {
+					final HasConfigurableAttributes<?> attributableDependency = (HasConfigurableAttributes<?>) dependency;
+					final Category category = attributableDependency.getAttributes().getAttribute( Category.CATEGORY_ATTRIBUTE );
+					if ( category != null && Category.ENFORCED_PLATFORM.equals( category.getName() ) ) {
+						throw new EnforcedPlatformException( dependency, configuration );
+					}
+				}
+			}
+		}
 	}
 
 	private void linkConfigurations(SourceSet outgoing, SourceSet incoming, ConfigurationContainer configurations) {
@@ -145,17 +574,151 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 		);
 	}
 
-	private void prepareSpi(SourceSet spiSourceSet, SourceSet extensionSourceSet, Project project) {
-		prepareAdHocPublication( spiSourceSet, project );
+	private void prepareSpi(SourceSet spiSourceSet, SourceSet extensionSourceSet, HasSources spiSources, Project project) {
 		applyApiConfigurations( spiSourceSet, project );
+		linkConfigurations( spiSourceSet, extensionSourceSet, project.getConfigurations() );
 
-		final Jar spiJarTask = (Jar) project.getTasks().getByName( spiSourceSet.getJarTaskName() );
-		project.getDependencies().add(
-				extensionSourceSet.getImplementationConfigurationName(),
-				project.files( spiJarTask.getArchiveFile() )
+		prepareAdHocPublication( spiSourceSet, spiSources, project );
+
+		final TaskProvider<Jar> spiJarTask = project.getTasks().named( spiSourceSet.getJarTaskName(), Jar.class );
+		applyUpstream( spiSourceSet, spiJarTask, extensionSourceSet, project );
+	}
+
+	/**
+	 * Adds a dependency on a sibling artifact, by its published coordinates, to the published API and
+	 * runtime variants of the source-set (see {@link #applyPublishedVariants}).  Gradle then generates
+	 * it into the POM and module metadata of the source-set's publication.  The consumable elements
+	 * do not get it - projects in the same build get the sibling jar through {@link #applyUpstream}
+	 * and must not look it up in a repository
+	 *
+	 * @param siblingSources The sources of the sibling, which is only published when it has any;
+	 * {@code null} when the sibling is always published
+	 */
+	private static void applySiblingDependency(SourceSet sourceSet, String artifactId, HasSources siblingSources, Project project) {
+		final ConfigurationContainer configurations = project.getConfigurations();
+		for ( String variantName : new String[] { publishedApiElementsName( sourceSet ), publishedRuntimeElementsName( sourceSet ) } ) {
+			configurations.getByName( variantName ).getDependencies().addAllLater( project.provider( () -> {
+				if ( siblingSources != null && !siblingSources.hasSources() ) {
+					return Collections.emptyList();
+				}
+				return Collections.singletonList( project.getDependencies().create( Helper.groupArtifactVersion(
+						project.getGroup().toString(),
+						artifactId,
+						project.getVersion().toString()
+				) ) );
+			} ) );
+		}
+	}
+
+	/**
+	 * Adds the {@link ExtensionAttributes} markers to the API and runtime variants of the source-set,
+	 * both consumable and published.  Gradle generates them into the publication's module metadata
+	 *
+	 * @param kind {@link ExtensionAttributes#RUNTIME} or {@link ExtensionAttributes#DEPLOYMENT}
+	 * @param counterpart The attribute referring to the counterpart (runtime or deployment) artifact
+	 * @param counterpartArtifactId The artifactId of the counterpart artifact
+	 */
+	private static void applyExtensionMarkers(SourceSet sourceSet, String kind, Attribute<String> counterpart, String counterpartArtifactId, Project project) {
+		final String counterpartArtifact = Helper.groupArtifactVersion(
+				project.getGroup().toString(),
+				counterpartArtifactId,
+				project.getVersion().toString()
 		);
 
-		linkConfigurations( spiSourceSet, extensionSourceSet, project.getConfigurations() );
+		final ConfigurationContainer configurations = project.getConfigurations();
+		final String[] variantNames = new String[] {
+				sourceSet.getApiElementsConfigurationName(),
+				sourceSet.getRuntimeElementsConfigurationName(),
+				publishedApiElementsName( sourceSet ),
+				publishedRuntimeElementsName( sourceSet )
+		};
+		for ( String variantName : variantNames ) {
+			final Configuration variant = configurations.findByName( variantName );
+			if ( variant != null ) {
+				variant.getAttributes().attribute( ExtensionAttributes.EXTENSION_ARTIFACT, kind );
+				variant.getAttributes().attribute( counterpart, counterpartArtifact );
+			}
+		}
+	}
+
+	private static String publishedApiElementsName(SourceSet sourceSet) {
+		return sourceSet.getName() + "PublishedApiElements";
+	}
+
+	private static String publishedRuntimeElementsName(SourceSet sourceSet) {
+		return sourceSet.getName() + "PublishedRuntimeElements";
+	}
+
+	/**
+	 * Creates the API and runtime variants published for the source-set, adding them to the component
+	 * in place of its API and runtime elements.  Each extends the corresponding elements, so it has
+	 * the same dependencies, and has the same attributes and jar.  They are neither consumable nor
+	 * resolvable; what is specific to publishing (the {@linkplain #applySiblingDependency sibling
+	 * dependencies}) is only added to them.
+	 *
+	 * The published variant names come from these Configuration names (`mainPublishedApiElements`,
+	 * etc.).  Consumers select variants by their attributes, so the names are left as they are
+	 */
+	private static void applyPublishedVariants(
+			SourceSet sourceSet,
+			AdhocComponentWithVariants component,
+			TaskProvider<Jar> jarTask,
+			Project project) {
+		final ConfigurationContainer configurations = project.getConfigurations();
+		final Configuration apiElements = configurations.getByName( sourceSet.getApiElementsConfigurationName() );
+		final Configuration runtimeElements = configurations.getByName( sourceSet.getRuntimeElementsConfigurationName() );
+
+		component.addVariantsFromConfiguration(
+				publishedVariant( apiElements, publishedApiElementsName( sourceSet ), jarTask, project ),
+				(details) -> details.mapToMavenScope( "compile" )
+		);
+		component.addVariantsFromConfiguration(
+				publishedVariant( runtimeElements, publishedRuntimeElementsName( sourceSet ), jarTask, project ),
+				(details) -> details.mapToMavenScope( "runtime" )
+		);
+	}
+
+	private static Configuration publishedVariant(Configuration elements, String name, TaskProvider<Jar> jarTask, Project project) {
+		return project.getConfigurations().create( name, (variant) -> {
+			variant.setDescription( "Published variant of `" + elements.getName() + "`" );
+			variant.setVisible( false );
+			variant.setCanBeConsumed( false );
+			variant.setCanBeResolved( false );
+			variant.extendsFrom( elements );
+
+			final AttributeContainer attributes = elements.getAttributes();
+			for ( Attribute<?> attribute : attributes.keySet() ) {
+				copyAttribute( attribute, attributes, variant.getAttributes() );
+			}
+			if ( !variant.getAttributes().contains( TargetJvmVersion.TARGET_JVM_VERSION_ATTRIBUTE ) ) {
+				// the `java` plugin only sets it on its elements when they are resolved
+				final JavaVersion targetCompatibility = project.getExtensions().getByType( JavaPluginExtension.class ).getTargetCompatibility();
+				variant.getAttributes().attribute( TargetJvmVersion.TARGET_JVM_VERSION_ATTRIBUTE, targetCompatibility.ordinal() + 1 );
+			}
+
+			variant.getOutgoing().artifact( jarTask );
+		} );
+	}
+
+	private static <T> void copyAttribute(Attribute<T> attribute, AttributeContainer source, AttributeContainer target) {
+		target.attribute( attribute, source.getAttribute( attribute ) );
+	}
+
+	/**
+	 * Makes `upstream` available to `downstream`.  Compilation uses the upstream classes directories,
+	 * so `downstream` benefits from compile avoidance and does not wait for the upstream jar to be
+	 * built.  At runtime the upstream jar is used, since Quarkus expects the packaged artifacts
+	 * (including their generated `META-INF` content).
+	 */
+	private static void applyUpstream(SourceSet upstream, TaskProvider<Jar> upstreamJarTask, SourceSet downstream, Project project) {
+		project.getDependencies().add(
+				downstream.getCompileOnlyConfigurationName(),
+				upstream.getOutput()
+		);
+		project.getDependencies().add(
+				downstream.getRuntimeOnlyConfigurationName(),
+				project.files( upstreamJarTask.flatMap( Jar::getArchiveFile ) ).builtBy( upstreamJarTask )
+		);
 	}
 
 	private void prepareExtension(SourceSet extensionSourceSet, ExtensionDescriptor config, Project project) {
@@ -172,100 +735,330 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 			publication.from( project.getComponents().getByName( "java" ) );
 		} );
 
+		final TaskContainer taskContainer = project.getTasks();
+
 		final IndexManager indexManager = new IndexManager( extensionSourceSet, project );
-		final IndexerTask indexerTask = project.getTasks().create(
+		final TaskProvider<IndexerTask> indexerTask = taskContainer.register(
 				extensionSourceSet.getTaskName( "index", "classes" ),
 				IndexerTask.class,
 				indexManager
 		);
+		indexerTask.configure( (task) -> task.dependsOn( extensionSourceSet.getCompileJavaTaskName() ) );
 
-		final GenerateDescriptor generateDescriptorTask = project.getTasks().create(
+		final TaskProvider<GenerateDescriptor> generateDescriptorTask = taskContainer.register(
 				GenerateDescriptor.TASK_NAME,
 				GenerateDescriptor.class,
 				config
 		);
 
-		final GenerateConfigRootsList configRootsTask = project.getTasks().create(
+		final TaskProvider<GenerateConfigRootsList> configRootsTask = taskContainer.register(
 				GenerateConfigRootsList.TASK_NAME,
 				GenerateConfigRootsList.class,
 				indexManager
 		);
+		configRootsTask.configure( (task) -> task.dependsOn( indexerTask ) );
 
-		final GenerateExtensionPropertiesFile extensionPropertiesTask = project.getTasks().create(
+		final TaskProvider<AnalyzeRuntimeDependencies> analyzeRuntimeDependencies = taskContainer.register(
+				AnalyzeRuntimeDependencies.TASK_NAME,
+				AnalyzeRuntimeDependencies.class,
+				indexManager
+		);
+		analyzeRuntimeDependencies.configure( (task) -> task.dependsOn( indexerTask ) );
+
+		final TaskProvider<GenerateExtensionPropertiesFile> extensionPropertiesTask = taskContainer.register(
 				GenerateExtensionPropertiesFile.TASK_NAME,
 				GenerateExtensionPropertiesFile.class
 		);
 
-		indexerTask.dependsOn( extensionSourceSet.getCompileJavaTaskName() );
-		configRootsTask.dependsOn( indexerTask );
+		final Provider<ExtensionCatalogService> catalogService = ExtensionCatalogService.register( project );
 
-		final Jar extensionJarTask = (Jar) project.getTasks().getByName( extensionSourceSet.getJarTaskName() );
-		extensionJarTask.from( generateDescriptorTask.getDescriptorFileReference(), (copySpec) -> copySpec.into( "META-INF" ) );
-		extensionJarTask.from( configRootsTask.getListFileReference(), (copySpec) -> copySpec.into( "META-INF" ) );
-		extensionJarTask.from( extensionPropertiesTask.getPropertiesFile(), (copySpec) -> copySpec.into( "META-INF" ) );
-		extensionJarTask.dependsOn( generateDescriptorTask );
-		extensionJarTask.dependsOn( configRootsTask );
-		extensionJarTask.dependsOn( extensionPropertiesTask );
-
-		final VerifyExtensionDependencies verifyExtensionDependencies = project.getTasks().create(
+		final TaskProvider<VerifyExtensionDependencies> verifyExtensionDependencies = taskContainer.register(
 				VerifyExtensionDependencies.TASK_NAME,
 				VerifyExtensionDependencies.class,
 				config
 		);
+		verifyExtensionDependencies.configure( (task) -> {
+			task.getCatalogService().set( catalogService );
+			task.usesService( catalogService );
+		} );
+		applyCatalogAggregation( verifyExtensionDependencies, project );
+
+		final TaskProvider<GenerateCatalogEntry> catalogEntryTask = taskContainer.register(
+				GenerateCatalogEntry.TASK_NAME,
+				GenerateCatalogEntry.class,
+				config
+		);
+		catalogEntryTask.configure( (task) -> {
+			task.getCatalogService().set( catalogService );
+			task.usesService( catalogService );
+		} );
 
-		final VerifyDeploymentDependencies verifyDeploymentDependencies = project.getTasks().create(
+		final TaskProvider<VerifyDeploymentDependencies> verifyDeploymentDependencies = taskContainer.register(
 				VerifyDeploymentDependencies.TASK_NAME,
 				VerifyDeploymentDependencies.class,
 				config
 		);
+		verifyDeploymentDependencies.configure( (task) -> {
+			task.getCatalogService().set( catalogService );
+			task.usesService( catalogService );
+			task.dependsOn( verifyExtensionDependencies );
+		} );
+
+		final TaskProvider<VerifyClasspathConflicts> verifyClasspathConflicts = taskContainer.register(
+				VerifyClasspathConflicts.TASK_NAME,
+				VerifyClasspathConflicts.class,
+				config
+		);
+
+		final TaskProvider<VerifyRuntimeBudget> verifyRuntimeBudget = taskContainer.register(
+				VerifyRuntimeBudget.TASK_NAME,
+				VerifyRuntimeBudget.class
+		);
+		verifyRuntimeBudget.configure( (task) -> {
+			task.getRuntimeJar().set( taskContainer.named( extensionSourceSet.getJarTaskName(), Jar.class ).flatMap( Jar::getArchiveFile ) );
+			task.getPlatformModules().set( project.provider( new PlatformModules(
+					project.getConfigurations().getByName( Names.PLATFORMS_CONFIG_NAME ),
+					PlatformConstraintsService.register( project ),
+					project
+			) ) );
+		} );
 
-		verifyDeploymentDependencies.dependsOn( verifyExtensionDependencies );
+		final TaskProvider<Sync> metadataTask = registerMetadataTask( extensionSourceSet, project, (metaInf) -> {
+			metaInf.from( generateDescriptorTask.flatMap( GenerateDescriptor::getDescriptorFileReference ) );
+			metaInf.from( catalogEntryTask.flatMap( GenerateCatalogEntry::getCatalogEntryFile ) );
+			metaInf.from( configRootsTask.flatMap( GenerateConfigRootsList::getListFileReference ) );
+			metaInf.from( extensionPropertiesTask.flatMap( GenerateExtensionPropertiesFile::getPropertiesFile ) );
+		} );
+		applyMetadataVariant( extensionSourceSet, metadataTask, project );
 
-		extensionJarTask.finalizedBy( verifyExtensionDependencies );
-		extensionJarTask.finalizedBy( verifyDeploymentDependencies );
+		taskContainer.named( extensionSourceSet.getJarTaskName(), Jar.class, (extensionJarTask) -> {
+			extensionJarTask.from( metadataTask );
+			applyIncrementalPackaging( extensionJarTask );
+
+			extensionJarTask.finalizedBy( unlessDevProfile( config, verifyExtensionDependencies, verifyDeploymentDependencies ) );
+		} );
 
 		// can't remember if check includes jar. easy enough to just add it both places, so...
-		project.getTasks().getByName( "check" ).dependsOn( verifyDeploymentDependencies );
+		taskContainer.named( "check", (checkTask) -> {
+			checkTask.dependsOn( verifyExtensionDependencies );
+			checkTask.dependsOn( unlessDevProfile( config, verifyDeploymentDependencies, verifyClasspathConflicts ) );
+			checkTask.dependsOn( new BudgetDependencies( verifyRuntimeBudget ) );
+		} );
+
+		applyDevProfile( config, verifyDeploymentDependencies, verifyClasspathConflicts, project );
+	}
+
+	/**
+	 * With the "dev" profile, `build` skips the work only needed for publishing - the Javadoc and
+	 * sources jars (see {@link #prepareDocumentationArtifacts} and {@link #prepareAdHocPublication})
+	 * and the full dependency verification.  The jars are still built as part of the publications,
+	 * and the verifications are run before publishing.
+	 *
+	 * @see ExtensionDescriptor#getDevProfile()
+	 */
+	private static void applyDevProfile(
+			ExtensionDescriptor config,
+			TaskProvider<VerifyDeploymentDependencies> verifyDeploymentDependencies,
+			TaskProvider<VerifyClasspathConflicts> verifyClasspathConflicts,
+			Project project) {
+		final TaskContainer taskContainer = project.getTasks();
+		taskContainer.withType( AbstractPublishToMaven.class ).configureEach( (publishTask) -> publishTask.dependsOn(
+				onlyInDevProfile( config, verifyDeploymentDependencies, verifyClasspathConflicts )
+		) );
+		taskContainer.withType( PublishExtension.class ).configureEach( (publishTask) -> publishTask.dependsOn(
+				onlyInDevProfile( config, verifyDeploymentDependencies, verifyClasspathConflicts )
+		) );
+	}
+
+	private static ProfileDependencies unlessDevProfile(ExtensionDescriptor config, Object... tasks) {
+		return new ProfileDependencies( config.getDevProfile(), false, tasks );
+	}
+
+	private static ProfileDependencies onlyInDevProfile(ExtensionDescriptor config, Object... tasks) {
+		return new ProfileDependencies( config.getDevProfile(), true, tasks );
+	}
+
+	/**
+	 * Task dependencies which apply depending on whether the "dev" profile is used.  Resolved when
+	 * the task graph is built, after the build script has had a chance to select the profile
+	 */
+	private static class ProfileDependencies implements Callable<List<Object>> {
+		private final Provider<Boolean> devProfile;
+		private final boolean inDevProfile;
+		private final Object[] tasks;
+
+		private ProfileDependencies(Provider<Boolean> devProfile, boolean inDevProfile, Object[] tasks) {
+			this.devProfile = devProfile;
+			this.inDevProfile = inDevProfile;
+			this.tasks = tasks;
+		}
+
+		@Override
+		public List<Object> call() {
+			return devProfile.get() == inDevProfile ? Arrays.asList( tasks ) : Collections.emptyList();
+		}
+	}
+
+	/**
+	 * The {@link VerifyRuntimeBudget} task, as a dependency of `check`, when a budget (any limit
+	 * or a baseline) is configured.  Resolved when the task graph is built, after the build script
+	 * has had a chance to configure the task
+	 */
+	private static class BudgetDependencies implements Callable<List<Object>> {
+		private final TaskProvider<VerifyRuntimeBudget> verifyRuntimeBudget;
+
+		private BudgetDependencies(TaskProvider<VerifyRuntimeBudget> verifyRuntimeBudget) {
+			this.verifyRuntimeBudget = verifyRuntimeBudget;
+		}
+
+		@Override
+		public List<Object> call() {
+			final VerifyRuntimeBudget task = verifyRuntimeBudget.get();
+			final boolean budgeted = task.getMaxBytes().isPresent()
+					|| task.getMaxClasses().isPresent()
+					|| task.getMaxJars().isPresent()
+					|| task.getMaxGrowthPercent().isPresent()
+					|| task.getBaseline().isPresent();
+			return budgeted ? Collections.singletonList( verifyRuntimeBudget ) : Collections.emptyList();
+		}
 	}
 
-	private void prepareDeployment(SourceSet deploymentSourceSet, SourceSet extensionSourceSet, SourceSet testSourceSet, Project project) {
-		prepareAdHocPublication( deploymentSourceSet, project );
+	private void prepareDeployment(SourceSet deploymentSourceSet, SourceSet extensionSourceSet, Project project) {
 		applyApiConfigurations( deploymentSourceSet, project );
 		linkConfigurations( extensionSourceSet, deploymentSourceSet, project.getConfigurations() );
 
-		final TaskContainer taskContainer = project.getTasks();
-		final Jar mainJarTask = (Jar) taskContainer.getByName( extensionSourceSet.getJarTaskName() );
-		final Jar deploymentJarTask = (Jar) taskContainer.getByName( deploymentSourceSet.getJarTaskName() );
+		final TaskProvider<Jar> mainJarTask = project.getTasks().named( extensionSourceSet.getJarTaskName(), Jar.class );
 
 		project.getDependencies().add(
 				deploymentSourceSet.getImplementationConfigurationName(),
 				Helper.quarkusCoreDeployment( project )
 		);
-		project.getDependencies().add(
-				deploymentSourceSet.getImplementationConfigurationName(),
-				project.files( mainJarTask.getArchiveFile() )
-		);
+		applyUpstream( extensionSourceSet, mainJarTask, deploymentSourceSet, project );
+	}
 
+	private void prepareDeploymentArtifacts(SourceSet deploymentSourceSet, SourceSet testSourceSet, HasSources deploymentSources, Project project) {
+		prepareAdHocPublication( deploymentSourceSet, deploymentSources, project );
+
+		final TaskContainer taskContainer = project.getTasks();
+		final TaskProvider<Jar> deploymentJarTask = taskContainer.named( deploymentSourceSet.getJarTaskName(), Jar.class );
+
+		applyUpstream( deploymentSourceSet, deploymentJarTask, testSourceSet, project );
+
+		// the `deployment` artifact depends on the `extension` artifact
+		applySiblingDependency( deploymentSourceSet, project.getName(), null, project );
 
 		final IndexManager indexManager = new IndexManager( deploymentSourceSet, project );
-		final IndexerTask indexerTask = project.getTasks().create(
+		final TaskProvider<IndexerTask> indexerTask = taskContainer.register(
 				deploymentSourceSet.getTaskName( "index", "classes" ),
 				IndexerTask.class,
 				indexManager
 		);
+		indexerTask.configure( (task) -> task.dependsOn( deploymentSourceSet.getCompileJavaTaskName() ) );
 
-		final GenerateBuildStepsList buildStepsListTask = project.getTasks().create(
+		final TaskProvider<GenerateBuildStepsList> buildStepsListTask = taskContainer.register(
 				GenerateBuildStepsList.TASK_NAME,
 				GenerateBuildStepsList.class,
 				indexManager
 		);
-		deploymentJarTask.from( buildStepsListTask.getListFileReference(), (copySpec) -> copySpec.into( "META-INF" ) );
+		buildStepsListTask.configure( (task) -> task.dependsOn( indexerTask ) );
+
+		final TaskProvider<Sync> metadataTask = registerMetadataTask(
+				deploymentSourceSet,
+				project,
+				(metaInf) -> metaInf.from( buildStepsListTask.flatMap( GenerateBuildStepsList::getListFileReference ) )
+		);
+		applyMetadataVariant( deploymentSourceSet, metadataTask, project );
+
+		deploymentJarTask.configure( (task) -> task.from( metadataTask ) );
+	}
 
-		indexerTask.dependsOn( deploymentSourceSet.getCompileJavaTaskName() );
-		buildStepsListTask.dependsOn( indexerTask );
+	/**
+	 * Registers the task collecting the source-set's generated Quarkus metadata, in its `META-INF`
+	 * layout, into `build/quarkus/metadata/<source-set>`.  The directory is included in the
+	 * source-set's jar and exposed as part of its exploded `resources` variant
+	 */
+	private static TaskProvider<Sync> registerMetadataTask(SourceSet sourceSet, Project project, Action<CopySpec> metaInfContent) {
+		return project.getTasks().register( sourceSet.getTaskName( "collect", "quarkusMetadata" ), Sync.class, (task) -> {
+			task.setGroup( Names.TASK_GROUP );
+			task.setDescription( "Collects the generated Quarkus metadata for the `" + sourceSet.getName() + "` source-set" );
+			task.into( project.getLayout().getBuildDirectory().dir( "quarkus/metadata/" + sourceSet.getName() ) );
+			task.into( "META-INF", metaInfContent );
+		} );
 	}
 
-	private void prepareAdHocPublication(SourceSet sourceSet, Project project) {
+	/**
+	 * Adds the directory produced by the {@linkplain #registerMetadataTask metadata task} to the
+	 * `resources` secondary variant of the source-set's runtime elements, so that consumers within
+	 * the build using the exploded (classes and resources directories) variants see the same
+	 * `META-INF` content as the jar
+	 */
+	private static void applyMetadataVariant(SourceSet sourceSet, TaskProvider<Sync> metadataTask, Project project) {
+		final Configuration runtimeElements = project.getConfigurations().getByName( sourceSet.getRuntimeElementsConfigurationName() );
+		resourcesVariant( runtimeElements, project.getObjects() ).artifact(
+				project.getLayout().getBuildDirectory().dir( "quarkus/metadata/" + sourceSet.getName() ),
+				(artifact) -> {
+					artifact.setType( ArtifactTypeDefinition.JVM_RESOURCES_DIRECTORY );
+					artifact.builtBy( metadataTask );
+				}
+		);
+	}
+
+	/**
+	 * Adds the exploded secondary variants for the source-set's elements, mirroring those the
+	 * `java-library` plugin adds for `main` - `classes` for both API and runtime, and `resources`
+	 * for runtime.  These are not published; they allow projects in the same build to consume
+	 * the source-set without its jar being built
+	 */
+	private static void applyExplodedVariants(SourceSet sourceSet, Configuration apiElements, Configuration runtimeElements, Project project) {
+		final ObjectFactory objectFactory = project.getObjects();
+		final String compileTaskName = sourceSet.getCompileJavaTaskName();
+
+		for ( Configuration elements : new Configuration[] { apiElements, runtimeElements } ) {
+			classesVariant( elements, objectFactory ).artifact(
+					sourceSet.getJava().getDestinationDirectory(),
+					(artifact) -> {
+						artifact.setType( ArtifactTypeDefinition.JVM_CLASS_DIRECTORY );
+						artifact.builtBy( compileTaskName );
+					}
+			);
+		}
+
+		resourcesVariant( runtimeElements, objectFactory ).artifact(
+				project.provider( () -> sourceSet.getOutput().getResourcesDir() ),
+				(artifact) -> {
+					artifact.setType( ArtifactTypeDefinition.JVM_RESOURCES_DIRECTORY );
+					artifact.builtBy( sourceSet.getProcessResourcesTaskName() );
+				}
+		);
+	}
+
+	private static ConfigurationVariant classesVariant(Configuration elements, ObjectFactory objectFactory) {
+		return secondaryVariant( elements, "classes", LibraryElements.CLASSES, objectFactory );
+	}
+
+	private static ConfigurationVariant resourcesVariant(Configuration elements, ObjectFactory objectFactory) {
+		return secondaryVariant( elements, "resources", LibraryElements.RESOURCES, objectFactory );
+	}
+
+	private static ConfigurationVariant secondaryVariant(Configuration elements, String name, String libraryElements, ObjectFactory objectFactory) {
+		final NamedDomainObjectContainer<ConfigurationVariant> variants = elements.getOutgoing().getVariants();
+		final ConfigurationVariant existing = variants.findByName( name );
+		if ( existing != null ) {
+			return existing;
+		}
+
+		return variants.create( name, (variant) -> variant.getAttributes().attribute(
+				LibraryElements.LIBRARY_ELEMENTS_ATTRIBUTE,
+				objectFactory.named( LibraryElements.class, libraryElements )
+		) );
+	}
+
+	/**
+	 * Creates the publication for the `deployment` or `spi` source-set, along with its component,
+	 * jar, Javadoc and sources tasks.  These are always created; when the source-set has no sources,
+	 * its tasks and the publishing of its publication are skipped
+	 */
+	private void prepareAdHocPublication(SourceSet sourceSet, HasSources hasSources, Project project) {
 		// `deployment` or `spi`
 		final String publicationName = sourceSet.getName();
 
@@ -274,15 +1067,10 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 		// `confungulator-deployment` or `confungulator-spi`
 		publication.setArtifactId( publication.getArtifactId() + "-" + publicationName );
 
-		// transfer any of the standard POM details defined on the `main`
-		// artifact to the publication we are preparing
-		transferBasicPomDetails(
-				// from
-				( (MavenPublication) publishingExtension.getPublications().getByName( "extension" ) ).getPom(),
-				// to
-				publication.getPom(),
-				project
-		);
+		// link the standard POM details defined on the `main` artifact to the
+		// publication we are preparing.  They are only read when the POM is generated
+		final MavenPom extensionPom = ( (MavenPublication) publishingExtension.getPublications().getByName( "extension" ) ).getPom();
+		PomDetails.link( extensionPom, publication.getPom(), project.provider( () -> PomDetails.snapshot( extensionPom ) ) );
 
 		// generate the extension component
 		final AdhocComponentWithVariants publicationComponent = softwareComponentFactory.adhoc( publicationName );
@@ -293,72 +1081,102 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 		final SourceSet mainSourceSet = sourceSets.getByName( SourceSet.MAIN_SOURCE_SET_NAME );
 
 		final TaskContainer taskContainer = project.getTasks();
-		final Jar mainJarTask = (Jar) taskContainer.getByName( mainSourceSet.getJarTaskName() );
+		final TaskProvider<Jar> mainJarTask = taskContainer.named( mainSourceSet.getJarTaskName(), Jar.class );
 
-		final Jar jarTask = taskContainer.create( sourceSet.getJarTaskName(), Jar.class, (task) -> {
+		final TaskProvider<Jar> jarTask = taskContainer.register( sourceSet.getJarTaskName(), Jar.class, (task) -> {
 			task.setGroup( "build" );
 			task.setDescription( "Creates the " + publicationName + " artifact" );
-			task.dependsOn( taskContainer.getByName( sourceSet.getCompileJavaTaskName() ) );
+			task.dependsOn( sourceSet.getCompileJavaTaskName() );
 
-			task.getArchiveBaseName().set( mainJarTask.getArchiveBaseName() );
+			task.getArchiveBaseName().set( mainJarTask.flatMap( Jar::getArchiveBaseName ) );
 			task.getArchiveAppendix().set( publicationName );
 			task.getArchiveVersion().set( project.provider( () -> project.getVersion().toString() ) );
 
 			task.from( sourceSet.getJava().getDestinationDirectory() );
-			task.getDestinationDirectory().set( mainJarTask.getDestinationDirectory() );
+			task.getDestinationDirectory().set( mainJarTask.flatMap( Jar::getDestinationDirectory ) );
 
-			task.onlyIf( (t) -> ! sourceSet.getAllSource().isEmpty() );
+			task.onlyIf( hasSources );
+			applyIncrementalPackaging( task );
 		} );
 
+		final boolean aggregatedJavadoc = isAggregatedJavadoc( project );
 		final Provider<Directory> javadocDir = project.getLayout().getBuildDirectory().dir( "docs/javadoc-" + publicationName );
 
-		final Javadoc javadocTask = taskContainer.create( sourceSet.getJavadocTaskName(), Javadoc.class, (task) -> {
-			task.setGroup( "documentation" );
-			task.setDescription( "Generates the deployment Javadocs" );
-			task.dependsOn( sourceSet.getCompileJavaTaskName(), sourceSet.getProcessResourcesTaskName() );
+		// with aggregated Javadoc, the `main` javadoc task documents this source-set as well
+		final TaskProvider<Javadoc> javadocTask = aggregatedJavadoc
+				? taskContainer.named( mainSourceSet.getJavadocTaskName(), Javadoc.class )
+				: taskContainer.register( sourceSet.getJavadocTaskName(), Javadoc.class, (task) -> {
+					task.setGroup( "documentation" );
+					task.setDescription( "Generates the " + publicationName + " Javadocs" );
+					task.dependsOn( sourceSet.getCompileJavaTaskName(), sourceSet.getProcessResourcesTaskName() );
 
-			task.source( sourceSet.getAllJava() );
-			task.setClasspath( sourceSet.getCompileClasspath() );
-			task.setDestinationDir( javadocDir.get().getAsFile() );
+					task.source( sourceSet.getAllJava() );
+					task.setClasspath( sourceSet.getCompileClasspath() );
+					task.setDestinationDir( javadocDir.get().getAsFile() );
 
-			task.onlyIf( (t) -> ! sourceSet.getAllSource().isEmpty() );
-		} );
+					task.onlyIf( hasSources );
+				} );
 
-		final Jar javadocJarTask = taskContainer.create( sourceSet.getJavadocJarTaskName(), Jar.class, (task) -> {
+		final TaskProvider<Jar> javadocJarTask = taskContainer.register( sourceSet.getJavadocJarTaskName(), Jar.class, (task) -> {
 			task.setGroup( "build" );
 			task.setDescription( "Creates the " + publicationName + " Javadoc artifact" );
 			task.dependsOn( javadocTask );
 
-			task.getArchiveBaseName().set( mainJarTask.getArchiveBaseName() );
+			task.getArchiveBaseName().set( mainJarTask.flatMap( Jar::getArchiveBaseName ) );
 			task.getArchiveAppendix().set( publicationName );
 			task.getArchiveClassifier().set( "javadoc" );
 			task.getArchiveVersion().set( project.provider( () -> project.getVersion().toString() ) );
 
-			task.from( javadocDir );
-			task.getDestinationDirectory().set( mainJarTask.getDestinationDirectory() );
+			if ( aggregatedJavadoc ) {
+				task.from( javadocTask );
+				task.exclude( javadocSplit( publicationName, project ) );
+			}
+			else {
+				task.from( javadocDir );
+			}
+			task.getDestinationDirectory().set( mainJarTask.flatMap( Jar::getDestinationDirectory ) );
 
-			task.onlyIf( (t) -> ! sourceSet.getAllSource().isEmpty() );
+			task.onlyIf( hasSources );
 		} );
 
-		final Jar sourcesJarTask = taskContainer.create( sourceSet.getSourcesJarTaskName(), Jar.class, (task) -> {
+		final TaskProvider<Jar> sourcesJarTask = taskContainer.register( sourceSet.getSourcesJarTaskName(), Jar.class, (task) -> {
 			task.setGroup( "build" );
 			task.setDescription( "Creates the " + publicationName + " sources artifact" );
 
-			task.getArchiveBaseName().set( mainJarTask.getArchiveBaseName() );
+			task.getArchiveBaseName().set( mainJarTask.flatMap( Jar::getArchiveBaseName ) );
 			task.getArchiveAppendix().set( publicationName );
 			task.getArchiveClassifier().set( "sources" );
 			task.getArchiveVersion().set( project.provider( () -> project.getVersion().toString() ) );
 
 			task.from( sourceSet.getAllSource() );
-			task.getDestinationDirectory().set( mainJarTask.getDestinationDirectory() );
+			task.getDestinationDirectory().set( mainJarTask.flatMap( Jar::getDestinationDirectory ) );
 
-			task.onlyIf( (t) -> ! sourceSet.getAllSource().isEmpty() );
+			task.onlyIf( hasSources );
 		} );
 
-		final Task buildTask = taskContainer.getByName( "build" );
-		buildTask.dependsOn( jarTask );
-		buildTask.dependsOn( javadocJarTask );
-		buildTask.dependsOn( sourcesJarTask );
+		final ExtensionDescriptor config = project.getExtensions().getByType( ExtensionDescriptor.class );
+		taskContainer.named( "build", (buildTask) -> {
+			buildTask.dependsOn( jarTask );
+			buildTask.dependsOn( unlessDevProfile( config, javadocJarTask, sourcesJarTask ) );
+		} );
+
+		// nothing to publish without sources
+		final String publicationTaskPrefix = "publish" + capitalize( publicationName ) + "PublicationTo";
+		taskContainer.withType( AbstractPublishToMaven.class ).configureEach( (task) -> {
+			if ( task.getName().startsWith( publicationTaskPrefix ) ) {
+				task.onlyIf( hasSources );
+			}
+		} );
+		taskContainer.withType( GenerateMavenPom.class ).configureEach( (task) -> {
+			if ( task.getName().equals( pomTaskName( publicationName ) ) ) {
+				task.onlyIf( hasSources );
+			}
+		} );
+		taskContainer.withType( GenerateModuleMetadata.class ).configureEach( (task) -> {
+			if ( task.getName().equals( metadataTaskName( publicationName ) ) ) {
+				task.onlyIf( hasSources );
+			}
+		} );
 
 		// create the main, javadoc and sources variants
 		applyModuleVariants( sourceSet, project, publicationComponent, jarTask, javadocJarTask, sourcesJarTask );
@@ -382,64 +1200,22 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 			files.setCanBeConsumed( false );
 		} );
 
-		final Configuration apiElementsConfiguration = configurations.getByName( sourceSet.getApiElementsConfigurationName() );
-		apiElementsConfiguration.extendsFrom( apiConfiguration, compileOnlyApiConfiguration );
 		Configuration implementationConfiguration = configurations.getByName(sourceSet.getImplementationConfigurationName());
 		implementationConfiguration.extendsFrom( apiConfiguration );
 		Configuration compileOnlyConfiguration = configurations.getByName(sourceSet.getCompileOnlyConfigurationName());
 		compileOnlyConfiguration.extendsFrom( compileOnlyApiConfiguration );
 	}
 
-	private void transferBasicPomDetails(MavenPom from, MavenPom to, Project project) {
-		project.afterEvaluate( (p) -> {
-			to.getInceptionYear().set( from.getInceptionYear() );
-			to.getUrl().set( from.getUrl() );
-
-			from.ciManagement( (fromCiManagement) -> to.ciManagement( (toCiManagement) -> {
-				// for CI details listed in the main pom
-				toCiManagement.getUrl().set( fromCiManagement.getUrl() );
-				toCiManagement.getSystem().set( fromCiManagement.getSystem() );
-			} ) );
-
-			from.licenses( (fromLicenses) -> to.licenses( (toLicenses) -> fromLicenses.license( (fromLicense) -> {
-				// for each license listed in the main pom
-				toLicenses.license( (toLicense) -> {
-					toLicense.getName().set( fromLicense.getName() );
-					toLicense.getUrl().set( fromLicense.getUrl() );
-					toLicense.getComments().set( fromLicense.getComments() );
-					toLicense.getDistribution().set( fromLicense.getDistribution() );
-				} );
-			} ) ) );
-
-			from.scm( (fromScm) -> to.scm( (toScm) -> {
-				// for scm details in the main pom
-				toScm.getUrl().set( fromScm.getUrl() );
-				toScm.getConnection().set( fromScm.getConnection() );
-				toScm.getDeveloperConnection().set( fromScm.getDeveloperConnection() );
-				toScm.getTag().set( fromScm.getTag() );
-			} ) );
-
-			from.developers( (fromDevelopers) -> to.developers( (toDevelopers) -> fromDevelopers.developer( (fromDev) -> toDevelopers.developer( (toDev) -> {
-				// for each developer listed in the main pom
-				toDev.getId().set( fromDev.getId() );
-				toDev.getName().set( fromDev.getName() );
-				toDev.getEmail().set( fromDev.getEmail() );
-				toDev.getUrl().set( fromDev.getUrl() );
-				toDev.getOrganization().set( fromDev.getOrganization() );
-				toDev.getOrganizationUrl().set( fromDev.getOrganizationUrl() );
-				toDev.getTimezone().set( fromDev.getTimezone() );
-				toDev.getProperties().set( fromDev.getProperties() );
-				toDev.getRoles().set( fromDev.getRoles() );
-			} ) ) ) );
-		} );
-	}
-
-	private void applyModuleVariants(SourceSet sourceSet, Project project, AdhocComponentWithVariants publicationComponent, Jar jarTask, Jar javadocJarTask, Jar sourcesJarTask) {
+	private void applyModuleVariants(SourceSet sourceSet, Project project, AdhocComponentWithVariants publicationComponent, TaskProvider<Jar> jarTask, TaskProvider<Jar> javadocJarTask, TaskProvider<Jar> sourcesJarTask) {
 		final JavaPluginExtension javaPluginExtension = project.getExtensions().getByType( JavaPluginExtension.class );
 		final JavaVersion targetCompatibility = javaPluginExtension.getTargetCompatibility();
 		final ObjectFactory objectFactory = project.getObjects();
 
 		final Configuration apiElements = project.getConfigurations().maybeCreate( sourceSet.getApiElementsConfigurationName() );
+		apiElements.extendsFrom(
+				project.getConfigurations().getByName( sourceSet.getApiConfigurationName() ),
+				project.getConfigurations().getByName( sourceSet.getCompileOnlyApiConfigurationName() )
+		);
 		apiElements.setDescription( "Outgoing API elements for `" + sourceSet.getName() + "`" );
 		apiElements.setCanBeResolved(false);
 		apiElements.setCanBeConsumed(true);
@@ -451,7 +1227,6 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 		final ConfigurationPublications apiElementsOutgoing = apiElements.getOutgoing();
 		apiElementsOutgoing.artifact( jarTask );
 		apiElementsOutgoing.getAttributes().attribute( ArtifactAttributes.ARTIFACT_FORMAT, "jar");
-		publicationComponent.addVariantsFromConfiguration( apiElements, (details) -> details.mapToMavenScope( "compile" ) );
 
 
 		final Configuration runtimeElements = project.getConfigurations().maybeCreate( sourceSet.getRuntimeElementsConfigurationName() );
@@ -466,47 +1241,16 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 		final ConfigurationPublications runtimeElementsOutgoing = runtimeElements.getOutgoing();
 		runtimeElements.getOutgoing().artifact( jarTask );
 		runtimeElementsOutgoing.getAttributes().attribute( ArtifactAttributes.ARTIFACT_FORMAT, "jar");
-		publicationComponent.addVariantsFromConfiguration( runtimeElements, (details) -> details.mapToMavenScope( "runtime" ) );
-
-
-		final Configuration javadocElements = project.getConfigurations().maybeCreate( sourceSet.getJavadocElementsConfigurationName() );
-		javadocElements.setDescription( "Outgoing javadoc elements for `" + sourceSet.getName() + "`" );
-		javadocElements.setCanBeResolved(false);
-		javadocElements.setCanBeConsumed(true);
-		javadocElements.getAttributes().attribute( Usage.USAGE_ATTRIBUTE, objectFactory.named(Usage.class, Usage.JAVA_RUNTIME) );
-		javadocElements.getAttributes().attribute( Category.CATEGORY_ATTRIBUTE, objectFactory.named(Category.class, Category.DOCUMENTATION) );
-		javadocElements.getAttributes().attribute( Bundling.BUNDLING_ATTRIBUTE, objectFactory.named(Bundling.class, Bundling.EXTERNAL) );
-		javadocElements.getAttributes().attribute( DocsType.DOCS_TYPE_ATTRIBUTE, objectFactory.named(DocsType.class, DocsType.JAVADOC) );
-		final ConfigurationPublications javadocElementsOutgoing = javadocElements.getOutgoing();
-		javadocElements.getOutgoing().artifact( javadocJarTask );
-		javadocElementsOutgoing.getAttributes().attribute( ArtifactAttributes.ARTIFACT_FORMAT, "jar");
-		publicationComponent.addVariantsFromConfiguration( javadocElements, (details) -> details.mapToMavenScope( "runtime" ) );
-
-
-		final Configuration sourcesElements = project.getConfigurations().maybeCreate( sourceSet.getSourcesElementsConfigurationName() );
-		sourcesElements.setDescription( "Outgoing sources elements for `" + sourceSet.getName() + "`" );
-		sourcesElements.setCanBeResolved(false);
-		sourcesElements.setCanBeConsumed(true);
-		sourcesElements.getAttributes().attribute( Usage.USAGE_ATTRIBUTE, objectFactory.named(Usage.class, Usage.JAVA_RUNTIME) );
-		sourcesElements.getAttributes().attribute( Category.CATEGORY_ATTRIBUTE, objectFactory.named(Category.class, Category.DOCUMENTATION) );
-		sourcesElements.getAttributes().attribute( Bundling.BUNDLING_ATTRIBUTE, objectFactory.named(Bundling.class, Bundling.EXTERNAL) );
-		sourcesElements.getAttributes().attribute( DocsType.DOCS_TYPE_ATTRIBUTE, objectFactory.named(DocsType.class, DocsType.SOURCES) );
-		final ConfigurationPublications sourcesElementsOutgoing = sourcesElements.getOutgoing();
-		sourcesElements.getOutgoing().artifact( sourcesJarTask );
-		sourcesElementsOutgoing.getAttributes().attribute( ArtifactAttributes.ARTIFACT_FORMAT, "jar");
-		publicationComponent.addVariantsFromConfiguration( sourcesElements, (details) -> details.mapToMavenScope( "runtime" ) );
-	}
-
-	private void prepareTesting(SourceSet testSourceSet, SourceSet extensionSourceSet, SourceSet deploymentSourceSet, SourceSet spiSourceSet, Project project) {
-		final TaskContainer taskContainer = project.getTasks();
-		final Jar deploymentJarTask = (Jar) taskContainer.getByName( deploymentSourceSet.getJarTaskName() );
-		taskContainer.getByName( testSourceSet.getCompileJavaTaskName() ).dependsOn( deploymentJarTask );
 
-		project.getDependencies().add(
-				testSourceSet.getImplementationConfigurationName(),
-				project.files( deploymentJarTask.getArchiveFile() )
-		);
+		applyExplodedVariants( sourceSet, apiElements, runtimeElements, project );
+		applyPublishedVariants( sourceSet, publicationComponent, jarTask, project );
+
+
+		applyDocumentationVariant( sourceSet, DocsType.JAVADOC, javadocJarTask, publicationComponent, project );
+		applyDocumentationVariant( sourceSet, DocsType.SOURCES, sourcesJarTask, publicationComponent, project );
+	}
 
+	private void prepareTesting(SourceSet testSourceSet, SourceSet deploymentSourceSet, Project project) {
 		final ConfigurationContainer configurations = project.getConfigurations();
 
 		// testCompileOnly
@@ -526,121 +1270,226 @@ public class QuarkusExtensionPlugin implements Plugin<Project> {
 	}
 
 	/**
-	 * We need to adjust:
-	 *
-	 * 	- the `deployment` pom and module descriptor files to add `extension` as a dependency by its GAV
-	 * 	- the `extension` pom and module descriptor files to add `spi` as a dependency by its GAV
-	 * 	- the `deployment` Gradle module descriptor to adjust `deploymentApiElements`, etc
-	 * 	- the `spi` Gradle module descriptor to adjust `spiApiElements`, etc
+	 * The dependencies between the publications and the extension markers are part of the
+	 * variants (see {@link #applySiblingDependency} and {@link #applyExtensionMarkers}), so Gradle
+	 * generates them itself.  We only need to adjust the variant names in the Gradle module
+	 * descriptors of the `deployment` and `spi` publications - `deploymentApiElements` -> `apiElements`, etc.
 	 */
-	private void applyAdjustments(Project project) {
+	private void applyAdjustments(Configuration toolingConfiguration, Project project) {
 		final TaskContainer taskContainer = project.getTasks();
 
-		final Task generatePomFiles = taskContainer.create( "generatePomFiles" );
-		final Task generateMetadataFiles = taskContainer.create( "generateMetadataFiles" );
-		final Task preparePublications = taskContainer.create( "preparePublications" );
-		preparePublications.dependsOn( generatePomFiles, generateMetadataFiles );
+		final TaskProvider<Task> generatePomFiles = taskContainer.register(
+				"generatePomFiles",
+				(task) -> task.dependsOn( taskContainer.withType( GenerateMavenPom.class ) )
+		);
+		final TaskProvider<Task> generateMetadataFiles = taskContainer.register(
+				"generateMetadataFiles",
+				(task) -> task.dependsOn( taskContainer.withType( GenerateModuleMetadata.class ) )
+		);
+		taskContainer.register( "preparePublications", (task) -> task.dependsOn( generatePomFiles, generateMetadataFiles ) );
 
-		taskContainer.all( (task) -> {
-			if ( task.getName().equals( "generatePomFileForExtensionPublication" ) ) {
-				final GenerateMavenPom extensionPomTask = (GenerateMavenPom) task;
-				adjustExtensionPomGeneration( extensionPomTask, project );
-				generatePomFiles.dependsOn( extensionPomTask );
-			}
-			else if ( task.getName().equals( "generatePomFileForDeploymentPublication" ) ) {
-				final GenerateMavenPom deploymentPomTask = (GenerateMavenPom) task;
-				adjustDeploymentPomGeneration( deploymentPomTask, project );
-				generatePomFiles.dependsOn( deploymentPomTask );
+		taskContainer.withType( GenerateMavenPom.class ).configureEach( (task) -> {
+			if ( task.getName().equals( "generatePomFileForDeploymentPublication" ) ) {
+				task.setDescription( "Generate the pom file for the `deployment` publication" );
 			}
 			else if ( task.getName().equals( "generatePomFileForSpiPublication" ) ) {
-				final GenerateMavenPom spiPomTask = (GenerateMavenPom) task;
-				adjustSpiPomGeneration( spiPomTask, project );
-				generatePomFiles.dependsOn( spiPomTask );
+				task.setDescription( "Generate the pom file for the `spi` publication" );
 			}
-			else if ( task.getName().equals( "generateMetadataFileForExtensionPublication" ) ) {
-				final GenerateModuleMetadata extensionModuleTask = (GenerateModuleMetadata) task;
-				adjustExtensionMetadataGeneration( extensionModuleTask, project );
-				generateMetadataFiles.dependsOn( extensionModuleTask );
+		} );
+
+		taskContainer.withType( GenerateModuleMetadata.class ).configureEach( (task) -> {
+			if ( task.getName().equals( "generateMetadataFileForExtensionPublication" ) ) {
+				task.setDescription( "Generate the module descriptor file for the `extension` publication" );
 			}
 			else if ( task.getName().equals( "generateMetadataFileForDeploymentPublication" ) ) {
-				final GenerateModuleMetadata deploymentModuleTask = (GenerateModuleMetadata) task;
-				adjustDeploymentMetadataGeneration( deploymentModuleTask, project );
-				generateMetadataFiles.dependsOn( deploymentModuleTask );
+				task.setDescription( "Generate the module descriptor file for the `deployment` publication" );
+				applyVariantNamesAdjustment( task, "deployment", toolingConfiguration );
 			}
 			else if ( task.getName().equals( "generateMetadataFileForSpiPublication" ) ) {
-				final GenerateModuleMetadata spiModuleTask = (GenerateModuleMetadata) task;
-				adjustSpiMetadataGeneration( spiModuleTask, project );
-				generateMetadataFiles.dependsOn( spiModuleTask );
+				task.setDescription( "Generate the module descriptor file for the `spi` publication" );
+				applyVariantNamesAdjustment( task, "spi", toolingConfiguration );
 			}
 		} );
 	}
 
-	private void adjustExtensionPomGeneration(GenerateMavenPom extensionPomTask, Project project) {
-		//do not convert this to a lambda - causes the tasks to not be cacheable
-		//noinspection Convert2Lambda
-		extensionPomTask.doLast( new Action<>() {
-			@Override
-			public void execute(@SuppressWarnings("NullableProblems") Task task) {
-				PomAdjuster.applyDependency( extensionPomTask.getDestination(), project.getName() + "-spi", project );
+	/**
+	 * Registers a {@link PublishExtension} task for each file-based Maven repository, publishing the
+	 * `extension`, `deployment` and `spi` publications together -
+	 * `publishQuarkusExtensionToTestingRepository`, etc.
+	 */
+	private static void prepareExtensionPublishing(Map<String, HasSources> publicationSources, Project project) {
+		final TaskContainer taskContainer = project.getTasks();
+		final PublishingExtension publishingExtension = project.getExtensions().getByType( PublishingExtension.class );
+		final PublicationContainer publications = publishingExtension.getPublications();
+
+		publishingExtension.getRepositories().withType( MavenArtifactRepository.class ).configureEach( (repository) -> {
+			// remote repositories use the standard publishing tasks.  Repositories are configured
+			// (e.g. `maven { url ... }`) before being added, so the URL is known here
+			final URI repositoryUrl = repository.getUrl();
+			if ( repositoryUrl == null || !"file".equals( repositoryUrl.getScheme() ) ) {
+				return;
 			}
+
+			final String repositoryName = repository.getName();
+			final String taskName = PublishExtension.TASK_NAME_PREFIX
+					+ Character.toUpperCase( repositoryName.charAt( 0 ) ) + repositoryName.substring( 1 )
+					+ "Repository";
+			taskContainer.register( taskName, PublishExtension.class, (task) -> {
+				task.setDescription( "Publishes the extension publications to the `" + repositoryName + "` repository, skipping unchanged artifacts" );
+				task.getRepositoryName().set( repositoryName );
+				task.getRepositoryUrl().set( project.provider( repository::getUrl ) );
+				task.getModules().set( project.provider( () -> extensionModules( publications, publicationSources, taskContainer ) ) );
+				task.dependsOn( new ExtensionPublicationDependencies( publications, publicationSources ) );
+			} );
 		} );
 	}
 
-	private void adjustDeploymentPomGeneration(GenerateMavenPom deploymentPomTask, Project project) {
-		deploymentPomTask.setDescription( "Generate the pom file for the `deployment` publication" );
-		//do not convert this to a lambda - causes the tasks to not be cacheable
-		//noinspection Convert2Lambda
-		deploymentPomTask.doLast( new Action<>() {
-			@Override
-			public void execute(@SuppressWarnings("NullableProblems") Task task) {
-				PomAdjuster.applyDependency( deploymentPomTask.getDestination(), project.getName(), project );
+	private static final String[] EXTENSION_PUBLICATIONS = { "extension", "deployment", "spi" };
+
+	private static List<PublishExtension.Module> extensionModules(
+			PublicationContainer publications,
+			Map<String, HasSources> publicationSources,
+			TaskContainer taskContainer) {
+		final List<PublishExtension.Module> modules = new ArrayList<>();
+		for ( String publicationName : EXTENSION_PUBLICATIONS ) {
+			if ( !isPublished( publicationName, publicationSources ) ) {
+				continue;
 			}
-		} );
-	}
 
-	static void adjustSpiPomGeneration(GenerateMavenPom spiPomTask, @SuppressWarnings("unused") Project project) {
-		spiPomTask.setDescription( "Generate the pom file for the `spi` publication" );
-	}
+			final MavenPublication publication = (MavenPublication) publications.getByName( publicationName );
+
+			final PublishExtension.Module module = new PublishExtension.Module(
+					publication.getGroupId(),
+					publication.getArtifactId(),
+					publication.getVersion()
+			);
 
-	private void adjustExtensionMetadataGeneration(GenerateModuleMetadata extensionModuleTask, Project project) {
-		extensionModuleTask.setDescription( "Generate the module descriptor file for the `extension` publication" );
+			final GenerateMavenPom pomTask = (GenerateMavenPom) taskContainer.getByName( pomTaskName( publicationName ) );
+			module.artifact( pomTask.getDestination(), null, "pom" );
 
-		//do not convert this to a lambda - causes the tasks to not be cacheable
-		//noinspection Convert2Lambda
-		extensionModuleTask.doLast( new Action<>() {
-			@Override
-			public void execute(@SuppressWarnings("NullableProblems") Task task) {
-				ModuleMetadataAdjuster.extensionAdjustments( extensionModuleTask.getOutputFile().get(), project );
+			final GenerateModuleMetadata metadataTask = (GenerateModuleMetadata) taskContainer.getByName( metadataTaskName( publicationName ) );
+			module.artifact( metadataTask.getOutputFile().get().getAsFile(), null, "module" );
+
+			for ( MavenArtifact artifact : publication.getArtifacts() ) {
+				module.artifact( artifact.getFile(), artifact.getClassifier(), artifact.getExtension() );
 			}
-		} );
+
+			modules.add( module );
+		}
+		return modules;
 	}
 
-	private void adjustDeploymentMetadataGeneration(GenerateModuleMetadata deploymentModuleTask, Project project) {
-		deploymentModuleTask.setDescription( "Generate the module descriptor file for the `deployment` publication" );
+	/**
+	 * Whether the publication is published - `spi` and `deployment` only are when they have sources
+	 */
+	private static boolean isPublished(String publicationName, Map<String, HasSources> publicationSources) {
+		final HasSources hasSources = publicationSources.get( publicationName );
+		return hasSources == null || hasSources.hasSources();
+	}
 
-		// should add the `extension` artifact as a dependency
+	private static String pomTaskName(String publicationName) {
+		return "generatePomFileFor" + capitalize( publicationName ) + "Publication";
+	}
 
-		//do not convert this to a lambda - causes the tasks to not be cacheable
-		//noinspection Convert2Lambda
-		deploymentModuleTask.doLast( new Action<>() {
-			@Override
-			public void execute(@SuppressWarnings("NullableProblems") Task task) {
-				ModuleMetadataAdjuster.deploymentAdjustments( deploymentModuleTask.getOutputFile().get(), project );
-			}
-		} );
+	private static String metadataTaskName(String publicationName) {
+		return "generateMetadataFileFor" + capitalize( publicationName ) + "Publication";
 	}
 
-	private void adjustSpiMetadataGeneration(GenerateModuleMetadata spiModuleTask, Project project) {
-		spiModuleTask.setDescription( "Generate the module descriptor file for the `spi` publication" );
+	private static String capitalize(String name) {
+		return Character.toUpperCase( name.charAt( 0 ) ) + name.substring( 1 );
+	}
 
-		//do not convert this to a lambda - causes the tasks to not be cacheable
-		//noinspection Convert2Lambda
-		spiModuleTask.doLast( new Action<>() {
-			@Override
-			public void execute(@SuppressWarnings("NullableProblems") Task task) {
-				ModuleMetadataAdjuster.spiAdjustments( spiModuleTask.getOutputFile().get(), project );
+	/**
+	 * The tasks producing the artifacts of the extension publications, resolved once the task graph is built
+	 */
+	private static class ExtensionPublicationDependencies implements Callable<List<Object>> {
+		private final PublicationContainer publications;
+		private final Map<String, HasSources> publicationSources;
+
+		private ExtensionPublicationDependencies(PublicationContainer publications, Map<String, HasSources> publicationSources) {
+			this.publications = publications;
+			this.publicationSources = publicationSources;
+		}
+
+		@Override
+		public List<Object> call() {
+			final List<Object> dependencies = new ArrayList<>();
+			for ( String publicationName : EXTENSION_PUBLICATIONS ) {
+				if ( !isPublished( publicationName, publicationSources ) ) {
+					continue;
+				}
+				final MavenPublication publication = (MavenPublication) publications.getByName( publicationName );
+				dependencies.add( pomTaskName( publicationName ) );
+				dependencies.add( metadataTaskName( publicationName ) );
+				dependencies.addAll( publication.getArtifacts() );
 			}
-		} );
+			return dependencies;
+		}
+	}
+
+	/**
+	 * Packages the jar incrementally - see {@link JarRepacker}.  The task itself writes the jar
+	 * uncompressed, with reproducible entry order and timestamps; the entries are then compressed,
+	 * reusing the compressed data of unchanged entries from the previous build
+	 */
+	private static void applyIncrementalPackaging(Jar jarTask) {
+		jarTask.setPreserveFileTimestamps( false );
+		jarTask.setReproducibleFileOrder( true );
+		jarTask.setEntryCompression( ZipEntryCompression.STORED );
+		jarTask.doLast( new IncrementalPackaging() );
+	}
+
+	private void applyVariantNamesAdjustment(GenerateModuleMetadata task, String publicationName, Configuration toolingConfiguration) {
+		task.getInputs().files( toolingConfiguration )
+				.withPropertyName( "toolingClasspath" )
+				.withNormalizer( ClasspathNormalizer.class );
+		task.doLast( new VariantNamesAdjustment( publicationName, toolingConfiguration, workerExecutor ) );
 	}
 
+	// The task action below holds only values and services - never the `Project` - so that the
+	// tasks can be stored in the configuration cache.  Do not convert it to a lambda; that causes
+	// the tasks to not be cacheable
+
+	/**
+	 * Applies the {@link ModuleMetadataAdjuster} variant renaming for a publication to the module
+	 * descriptor generated by a {@link GenerateModuleMetadata} task.  The variant names come from
+	 * the Configuration names, which cannot be the standard names for the `deployment` and `spi`
+	 * source-sets.  The JSON library is only available to the isolated work action
+	 */
+	private static class VariantNamesAdjustment implements Action<Task> {
+		private final String publicationName;
+		private final FileCollection toolingClasspath;
+		private final WorkerExecutor workerExecutor;
+
+		private VariantNamesAdjustment(String publicationName, FileCollection toolingClasspath, WorkerExecutor workerExecutor) {
+			this.publicationName = publicationName;
+			this.toolingClasspath = toolingClasspath;
+			this.workerExecutor = workerExecutor;
+		}
+
+		@Override
+		public void execute(@SuppressWarnings("NullableProblems") Task task) {
+			final RegularFile moduleFile = ( (GenerateModuleMetadata) task ).getOutputFile().get();
+			final WorkQueue workQueue = workerExecutor.classLoaderIsolation(
+					(spec) -> spec.getClasspath().from( toolingClasspath )
+			);
+			workQueue.submit( ModuleMetadataAdjuster.VariantNamesAction.class, (parameters) -> {
+				parameters.getModuleFile().set( moduleFile );
+				parameters.getPublicationName().set( publicationName );
+			} );
+			workQueue.await();
+		}
+	}
+
+	/**
+	 * Compresses the jar written by a {@link Jar} task, reusing the previous outcome kept in the
+	 * task's temporary directory
+	 */
+	private static class IncrementalPackaging implements Action<Task> {
+		@Override
+		public void execute(@SuppressWarnings("NullableProblems") Task task) {
+			final Jar jarTask = (Jar) task;
+			JarRepacker.repack( jarTask.getArchiveFile().get().getAsFile(), jarTask.getTemporaryDir() );
+		}
+	}
 }
@@ -0,0 +1,138 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.component.ProjectComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFiles;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputDirectory;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.TaskAction;
+
+import io.github.sebersole.quarkus.Helper;
+import io.github.sebersole.quarkus.Names;
+import io.github.sebersole.quarkus.ValidationException;
+
+/**
+ * Registered by {@link io.github.sebersole.quarkus.ExtensionCatalogPlugin}, aggregates the runtime
+ * dependencies catalogs produced by {@link VerifyExtensionDependencies} in the extension projects
+ * declared on the {@value Names#EXTENSION_CATALOGS_CONFIG_NAME} Configuration into a single report
+ * of all runtime -> deployment mappings (`build/quarkus/extension-catalog.properties`).  Each
+ * project's catalog is also copied, as its slice, to `build/quarkus/extension-catalog/` - see
+ * {@link #sliceFileName}.
+ *
+ * @author Steve Ebersole
+ */
+@CacheableTask
+public abstract class AggregateExtensionCatalog extends DefaultTask {
+	public static final String TASK_NAME = "aggregateExtensionCatalog";
+	public static final String REPORT_FILE_NAME = "extension-catalog.properties";
+
+	public AggregateExtensionCatalog() {
+		setGroup( Names.TASK_GROUP );
+		setDescription( "Aggregates the runtime dependencies catalogs of the declared extension projects" );
+
+		getSlicesDirectory().convention( getProject().getLayout().getBuildDirectory().dir( "quarkus/extension-catalog" ) );
+		getReport().convention( getProject().getLayout().getBuildDirectory().file( "quarkus/" + REPORT_FILE_NAME ) );
+	}
+
+	/**
+	 * The runtime dependencies catalogs of the extension projects
+	 */
+	@InputFiles
+	@PathSensitive( PathSensitivity.NONE )
+	public abstract ConfigurableFileCollection getCatalogFiles();
+
+	/**
+	 * The resolved artifacts of {@link #getCatalogFiles()}, used to identify each catalog's project
+	 */
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getCatalogArtifacts();
+
+	@Input
+	public Provider<Set<String>> getProjectPaths() {
+		return getCatalogArtifacts().map( (artifacts) -> {
+			final Set<String> projectPaths = new TreeSet<>();
+			artifacts.forEach( (artifact) -> projectPaths.add( projectPath( artifact ) ) );
+			return projectPaths;
+		} );
+	}
+
+	@OutputDirectory
+	public abstract DirectoryProperty getSlicesDirectory();
+
+	@OutputFile
+	public abstract RegularFileProperty getReport();
+
+	@TaskAction
+	public void aggregateCatalogs() {
+		final File slicesDirectory = getSlicesDirectory().get().getAsFile();
+		// slices of projects no longer part of the build
+		final File[] existing = slicesDirectory.listFiles();
+		if ( existing != null ) {
+			for ( File file : existing ) {
+				//noinspection ResultOfMethodCallIgnored
+				file.delete();
+			}
+		}
+
+		final Properties aggregated = new Properties();
+
+		for ( ResolvedArtifactResult artifact : getCatalogArtifacts().get() ) {
+			final Properties catalog = load( artifact.getFile() );
+			Helper.storeSorted( catalog, new File( slicesDirectory, sliceFileName( projectPath( artifact ) ) ) );
+			aggregated.putAll( catalog );
+		}
+
+		Helper.storeSorted( aggregated, getReport().get().getAsFile() );
+	}
+
+	private static Properties load(File catalogFile) {
+		final Properties catalog = new Properties();
+		try ( final InputStream stream = new FileInputStream( catalogFile ) ) {
+			catalog.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read runtime dependencies catalog - " + catalogFile.getAbsolutePath(), e );
+		}
+		return catalog;
+	}
+
+	private static String projectPath(ResolvedArtifactResult artifact) {
+		final ComponentIdentifier componentId = artifact.getId().getComponentIdentifier();
+		if ( !( componentId instanceof ProjectComponentIdentifier ) ) {
+			throw new ValidationException(
+					"Only extension projects of the build can be aggregated - " + componentId.getDisplayName()
+			);
+		}
+		return ( (ProjectComponentIdentifier) componentId ).getProjectPath();
+	}
+
+	/**
+	 * The name of a project's slice - its path without the leading `:`, with `_` escaped as `__`
+	 * and `:` as `_-` (`:a:b` -> `a_-b`, `:a_b` -> `a__b`).  The root project's slice is `_`, which
+	 * no other path escapes to
+	 */
+	private static String sliceFileName(String projectPath) {
+		return ( ":".equals( projectPath ) ? "_" : projectPath.substring( 1 ).replace( "_", "__" ).replace( ":", "_-" ) )
+				+ ".properties";
+	}
+}
@@ -0,0 +1,273 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ExternalModuleDependency;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.DependencyResult;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.artifacts.result.ResolvedDependencyResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.Directory;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputDirectory;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SkipWhenEmpty;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
+
+import io.github.sebersole.quarkus.Helper;
+import io.github.sebersole.quarkus.Names;
+import io.github.sebersole.quarkus.ValidationException;
+
+/**
+ * Identifies the extension's declared runtime dependencies whose classes are never referenced by
+ * the extension's runtime classes.  Such dependencies still end up on the runtime classpath of every
+ * application using the extension; they are better declared for `deployment` (if only needed at
+ * build time) or removed.
+ *
+ * Only the dependencies declared on the `main` `api` and `implementation` Configurations themselves
+ * are analyzed - `runtimeOnly` dependencies are not expected to be referenced, and those inherited
+ * from `spi` are the concern of the `spi` classes.
+ *
+ * References are taken from the Jandex index of the `main` source-set - the types used in signatures
+ * and annotations, plus the classes Jandex records as "used" from each class's constant pool - and
+ * matched against the classes of all jars of each analyzed dependency (see
+ * {@link JandexSupport.CountReferencedClasses}).  Classes only loaded reflectively (service loading,
+ * e.g.) are not seen, so the findings are suggestions.
+ *
+ * Produces a report (`build/quarkus/runtime-dependencies-usage.properties`) keyed by the dependency
+ * GAV, giving the number of referenced classes or `unused`.
+ *
+ * @author Steve Ebersole
+ */
+@CacheableTask
+public abstract class AnalyzeRuntimeDependencies extends DefaultTask implements ToolingAware {
+	public static final String TASK_NAME = "analyzeRuntimeDependencies";
+
+	public static final String UNUSED = "unused";
+
+	private final IndexManager indexManager;
+
+	@Inject
+	public AnalyzeRuntimeDependencies(IndexManager indexManager) {
+		this.indexManager = indexManager;
+
+		setGroup( Names.TASK_GROUP );
+		setDescription( "Finds declared runtime dependencies which are not referenced by the extension's runtime classes" );
+
+		final JavaPluginExtension javaPluginExtension = getProject().getExtensions().getByType( JavaPluginExtension.class );
+		final SourceSet mainSourceSet = javaPluginExtension.getSourceSets().getByName( SourceSet.MAIN_SOURCE_SET_NAME );
+		final Configuration runtimeClasspath = getProject().getConfigurations().getByName( mainSourceSet.getRuntimeClasspathConfigurationName() );
+
+		getRuntimeDependencies().from( runtimeClasspath );
+		getRuntimeArtifacts().set( runtimeClasspath.getIncoming().getArtifacts().getResolvedArtifacts() );
+		getRuntimeGraph().set( runtimeClasspath.getIncoming().getResolutionResult().getRootComponent() );
+		getDeclaredModules().set( getProject().provider( new DeclaredModules(
+				getProject().getConfigurations().getByName( mainSourceSet.getApiConfigurationName() ),
+				getProject().getConfigurations().getByName( mainSourceSet.getImplementationConfigurationName() )
+		) ) );
+
+		getFailOnUnused().convention( false );
+		getReport().convention( getProject().getLayout().getBuildDirectory().file( "quarkus/runtime-dependencies-usage.properties" ) );
+	}
+
+	@InputDirectory
+	@PathSensitive( PathSensitivity.RELATIVE )
+	@SkipWhenEmpty
+	public Provider<Directory> getClassesToProcess() {
+		return indexManager.getClassesDirectory();
+	}
+
+	@Classpath
+	public abstract ConfigurableFileCollection getRuntimeDependencies();
+
+	/**
+	 * The resolved artifacts of {@link #getRuntimeDependencies()}
+	 */
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getRuntimeArtifacts();
+
+	/**
+	 * The resolved dependency graph of {@link #getRuntimeDependencies()}, used to identify the direct dependencies
+	 */
+	@Internal
+	public abstract Property<ResolvedComponentResult> getRuntimeGraph();
+
+	/**
+	 * The modules (`group:name`) declared on the `main` `api` and `implementation` Configurations,
+	 * which are the dependencies analyzed
+	 */
+	@Input
+	public abstract SetProperty<String> getDeclaredModules();
+
+	/**
+	 * Whether unused runtime dependencies should fail the build.  Defaults to `false`, in which
+	 * case they are only reported.
+	 */
+	@Input
+	public abstract Property<Boolean> getFailOnUnused();
+
+	@OutputFile
+	public abstract RegularFileProperty getReport();
+
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
+	@TaskAction
+	public void analyzeDependencies() {
+		final Map<String, List<File>> dependencyJars = declaredDependencyJars();
+		getLogger().info( "Analyzing `{}` declared runtime dependencies", dependencyJars.size() );
+
+		// the jars are counted individually, keyed by path
+		final Map<String, File> jars = new LinkedHashMap<>();
+		dependencyJars.values().forEach( (files) -> files.forEach( (file) -> jars.put( file.getAbsolutePath(), file ) ) );
+
+		final File resultFile = new File( getTemporaryDir(), "referenced-classes.properties" );
+		final WorkQueue workQueue = getWorkerExecutor().classLoaderIsolation(
+				(spec) -> spec.getClasspath().from( getToolingClasspath() )
+		);
+		workQueue.submit( JandexSupport.CountReferencedClasses.class, (parameters) -> {
+			parameters.getIndexFile().set( indexManager.getIndexFileReferenceAccess() );
+			parameters.getJars().set( jars );
+			parameters.getResultFile().set( resultFile );
+		} );
+		workQueue.await();
+
+		final Properties referencedClasses = loadResult( resultFile );
+		final Properties report = new Properties();
+		final Set<String> unused = new TreeSet<>();
+		dependencyJars.forEach( (dependency, files) -> {
+			long count = 0;
+			for ( File file : files ) {
+				count += Long.parseLong( referencedClasses.getProperty( file.getAbsolutePath(), "0" ) );
+			}
+
+			if ( count == 0 ) {
+				unused.add( dependency );
+				report.setProperty( dependency, UNUSED );
+			}
+			else {
+				report.setProperty( dependency, Long.toString( count ) );
+			}
+		} );
+
+		final File reportFile = getReport().get().getAsFile();
+		//noinspection ResultOfMethodCallIgnored
+		reportFile.getParentFile().mkdirs();
+		Helper.storeSorted( report, reportFile );
+
+		if ( unused.isEmpty() ) {
+			return;
+		}
+
+		for ( String dependency : unused ) {
+			getLogger().warn(
+					"Runtime dependency `{}` is not referenced by the extension's runtime classes; consider moving it to `deploymentImplementation` or removing it",
+					dependency
+			);
+		}
+
+		if ( getFailOnUnused().get() ) {
+			throw new ValidationException( "The extension declares runtime dependencies it does not reference : " + unused );
+		}
+	}
+
+	/**
+	 * The jars of the {@linkplain #getDeclaredModules() declared} dependencies, keyed by GAV, other
+	 * than `quarkus-core` which every extension needs
+	 */
+	private Map<String, List<File>> declaredDependencyJars() {
+		final Set<String> declaredModules = getDeclaredModules().get();
+
+		final Map<ComponentIdentifier, ModuleVersionIdentifier> directDependencies = new LinkedHashMap<>();
+		for ( DependencyResult dependency : getRuntimeGraph().get().getDependencies() ) {
+			if ( dependency.isConstraint() || !( dependency instanceof ResolvedDependencyResult ) ) {
+				continue;
+			}
+
+			final ResolvedComponentResult selected = ( (ResolvedDependencyResult) dependency ).getSelected();
+			final ModuleVersionIdentifier moduleVersion = selected.getModuleVersion();
+			if ( moduleVersion == null
+					|| !declaredModules.contains( Helper.groupArtifact( moduleVersion.getGroup(), moduleVersion.getName() ) )
+					|| ( Names.QUARKUS_GROUP.equals( moduleVersion.getGroup() ) && Names.QUARKUS_CORE.equals( moduleVersion.getName() ) ) ) {
+				continue;
+			}
+			directDependencies.put( selected.getId(), moduleVersion );
+		}
+
+		final Map<String, List<File>> jars = new LinkedHashMap<>();
+		for ( ResolvedArtifactResult artifact : getRuntimeArtifacts().get() ) {
+			final ModuleVersionIdentifier moduleVersion = directDependencies.get( artifact.getId().getComponentIdentifier() );
+			final File file = artifact.getFile();
+			if ( moduleVersion != null && file.isFile() && file.getName().endsWith( ".jar" ) ) {
+				jars.computeIfAbsent( Helper.groupArtifactVersion( moduleVersion ), (key) -> new ArrayList<>() ).add( file );
+			}
+		}
+		return jars;
+	}
+
+	private static Properties loadResult(File resultFile) {
+		final Properties result = new Properties();
+		try ( final InputStream stream = new FileInputStream( resultFile ) ) {
+			result.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to load referenced classes file - " + resultFile.getAbsolutePath(), e );
+		}
+		return result;
+	}
+
+	/**
+	 * The modules (`group:name`) declared directly on the Configurations, ignoring those they inherit
+	 */
+	private static class DeclaredModules implements Callable<Set<String>> {
+		private final Configuration[] configurations;
+
+		private DeclaredModules(Configuration... configurations) {
+			this.configurations = configurations;
+		}
+
+		@Override
+		public Set<String> call() {
+			final Set<String> modules = new TreeSet<>();
+			for ( Configuration configuration : configurations ) {
+				for ( Dependency dependency : configuration.getDependencies() ) {
+					if ( dependency instanceof ExternalModuleDependency && dependency.getGroup() != null ) {
+						modules.add( Helper.groupArtifact( dependency.getGroup(), dependency.getName() ) );
+					}
+				}
+			}
+			return modules;
+		}
+	}
+}
@@ -0,0 +1,261 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Scans the class entries of a series of jars looking for duplicate classes and packages
+ * split across jars.
+ *
+ * Only each jar's central directory is read - the entries themselves are never inflated.
+ * Entry names are tracked as 64-bit hashes of their raw bytes in primitive hash maps; names
+ * are only decoded into Strings when a conflict is found.  Entries under `META-INF/` (including
+ * multi-release versions) and `module-info.class` are ignored.
+ *
+ * @author Steve Ebersole
+ */
+class ClasspathScanner {
+	private static final int EOCD_SIGNATURE = 0x06054b50;
+	private static final int EOCD_MIN_SIZE = 22;
+	private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+	private static final int ZIP64_LOCATOR_SIZE = 20;
+	private static final int ZIP64_EOCD_SIGNATURE = 0x06064b50;
+	private static final int CEN_SIGNATURE = 0x02014b50;
+	private static final int CEN_HEADER_SIZE = 46;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	private static final byte[] CLASS_SUFFIX = ".class".getBytes( StandardCharsets.US_ASCII );
+	private static final byte[] META_INF_PREFIX = "META-INF/".getBytes( StandardCharsets.US_ASCII );
+	private static final byte[] MODULE_INFO = "module-info.class".getBytes( StandardCharsets.US_ASCII );
+
+	private final List<String> jarNames = new ArrayList<>();
+
+	private final LongIntHashMap classOwners;
+	private final LongIntHashMap packageOwners;
+
+	private final Map<String, Set<String>> duplicateClasses = new TreeMap<>();
+	private final Map<String, Set<String>> splitPackages = new TreeMap<>();
+	private final Map<Long, String> splitPackageNames = new HashMap<>();
+
+	private long classCount;
+
+	ClasspathScanner(int expectedJarCount) {
+		this.classOwners = new LongIntHashMap( expectedJarCount * 64 );
+		this.packageOwners = new LongIntHashMap( expectedJarCount * 4 );
+	}
+
+	/**
+	 * Scans the class entries of the given jar
+	 *
+	 * @param jarName The name used for the jar in reporting, generally its GAV
+	 */
+	public void scan(String jarName, File jarFile) {
+		final int jarIndex = jarNames.size();
+		jarNames.add( jarName );
+
+		final ByteBuffer centralDirectory = readCentralDirectory( jarFile );
+		int position = 0;
+		while ( position + CEN_HEADER_SIZE <= centralDirectory.limit() ) {
+			if ( centralDirectory.getInt( position ) != CEN_SIGNATURE ) {
+				throw new RuntimeException( "Malformed jar central directory - " + jarFile.getAbsolutePath() );
+			}
+
+			final int nameLength = centralDirectory.getShort( position + 28 ) & 0xFFFF;
+			final int extraLength = centralDirectory.getShort( position + 30 ) & 0xFFFF;
+			final int commentLength = centralDirectory.getShort( position + 32 ) & 0xFFFF;
+			final int nameStart = position + CEN_HEADER_SIZE;
+
+			if ( isClassEntry( centralDirectory, nameStart, nameLength ) ) {
+				classCount++;
+				visitClass( centralDirectory, nameStart, nameLength, jarIndex );
+			}
+
+			position = nameStart + nameLength + extraLength + commentLength;
+		}
+	}
+
+	/**
+	 * Classes found in more than one jar, keyed by entry name (e.g. `org/acme/Thing.class`)
+	 * and naming the jars containing it
+	 */
+	public Map<String, Set<String>> getDuplicateClasses() {
+		return duplicateClasses;
+	}
+
+	/**
+	 * Packages whose classes are spread across more than one jar, keyed by package path
+	 * (e.g. `org/acme`) and naming the jars contributing to it
+	 */
+	public Map<String, Set<String>> getSplitPackages() {
+		return splitPackages;
+	}
+
+	/**
+	 * The total number of class entries scanned
+	 */
+	public long getClassCount() {
+		return classCount;
+	}
+
+	private void visitClass(ByteBuffer buffer, int nameStart, int nameLength, int jarIndex) {
+		final long classHash = hash( buffer, nameStart, nameLength );
+		final int classOwner = classOwners.putIfAbsent( classHash, jarIndex );
+		if ( classOwner != LongIntHashMap.NO_VALUE && classOwner != jarIndex ) {
+			final Set<String> jars = duplicateClasses.computeIfAbsent( decode( buffer, nameStart, nameLength ), (name) -> new TreeSet<>() );
+			jars.add( jarNames.get( classOwner ) );
+			jars.add( jarNames.get( jarIndex ) );
+		}
+
+		final int packageLength = lastSlash( buffer, nameStart, nameLength );
+		if ( packageLength <= 0 ) {
+			// the default package
+			return;
+		}
+
+		final long packageHash = hash( buffer, nameStart, packageLength );
+		final int packageOwner = packageOwners.putIfAbsent( packageHash, jarIndex );
+		if ( packageOwner != LongIntHashMap.NO_VALUE && packageOwner != jarIndex ) {
+			final String packageName = splitPackageNames.computeIfAbsent( packageHash, (hash) -> decode( buffer, nameStart, packageLength ) );
+			final Set<String> jars = splitPackages.computeIfAbsent( packageName, (name) -> new TreeSet<>() );
+			jars.add( jarNames.get( packageOwner ) );
+			jars.add( jarNames.get( jarIndex ) );
+		}
+	}
+
+	private static boolean isClassEntry(ByteBuffer buffer, int nameStart, int nameLength) {
+		if ( !regionMatches( buffer, nameStart + nameLength - CLASS_SUFFIX.length, nameLength, CLASS_SUFFIX ) ) {
+			return false;
+		}
+		if ( regionMatches( buffer, nameStart, nameLength, META_INF_PREFIX ) ) {
+			return false;
+		}
+
+		final int fileNameStart = nameStart + lastSlash( buffer, nameStart, nameLength ) + 1;
+		final int fileNameLength = nameStart + nameLength - fileNameStart;
+		return fileNameLength != MODULE_INFO.length || !regionMatches( buffer, fileNameStart, fileNameLength, MODULE_INFO );
+	}
+
+	private static boolean regionMatches(ByteBuffer buffer, int start, int available, byte[] expected) {
+		if ( available < expected.length || start < 0 ) {
+			return false;
+		}
+		for ( int i = 0; i < expected.length; i++ ) {
+			if ( buffer.get( start + i ) != expected[i] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * The offset of the last `/` relative to `nameStart`, or -1
+	 */
+	private static int lastSlash(ByteBuffer buffer, int nameStart, int nameLength) {
+		for ( int i = nameLength - 1; i >= 0; i-- ) {
+			if ( buffer.get( nameStart + i ) == '/' ) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * 64-bit FNV-1a over the raw name bytes, finished with the MurmurHash3 mixer
+	 */
+	private static long hash(ByteBuffer buffer, int start, int length) {
+		long hash = 0xcbf29ce484222325L;
+		for ( int i = 0; i < length; i++ ) {
+			hash ^= buffer.get( start + i ) & 0xFF;
+			hash *= 0x100000001b3L;
+		}
+
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		hash ^= hash >>> 33;
+		hash *= 0xc4ceb9fe1a85ec53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+
+	private static String decode(ByteBuffer buffer, int start, int length) {
+		final byte[] bytes = new byte[length];
+		for ( int i = 0; i < length; i++ ) {
+			bytes[i] = buffer.get( start + i );
+		}
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+	/**
+	 * Reads the jar's central directory, locating it through the end-of-central-directory
+	 * record (ZIP64 aware)
+	 */
+	static ByteBuffer readCentralDirectory(File jarFile) {
+		try ( final FileChannel channel = FileChannel.open( jarFile.toPath(), StandardOpenOption.READ ) ) {
+			final long fileSize = channel.size();
+			if ( fileSize < EOCD_MIN_SIZE ) {
+				throw new RuntimeException( "Not a valid jar file - " + jarFile.getAbsolutePath() );
+			}
+
+			final int tailSize = (int) Math.min( fileSize, EOCD_MIN_SIZE + MAX_COMMENT_SIZE + ZIP64_LOCATOR_SIZE );
+			final long tailStart = fileSize - tailSize;
+			final ByteBuffer tail = read( channel, tailStart, tailSize );
+
+			int eocd = -1;
+			for ( int i = tailSize - EOCD_MIN_SIZE; i >= 0; i-- ) {
+				if ( tail.getInt( i ) == EOCD_SIGNATURE ) {
+					eocd = i;
+					break;
+				}
+			}
+			if ( eocd < 0 ) {
+				throw new RuntimeException( "Unable to locate jar central directory - " + jarFile.getAbsolutePath() );
+			}
+
+			long centralDirectorySize = tail.getInt( eocd + 12 ) & 0xFFFFFFFFL;
+			long centralDirectoryOffset = tail.getInt( eocd + 16 ) & 0xFFFFFFFFL;
+
+			final int locator = eocd - ZIP64_LOCATOR_SIZE;
+			if ( locator >= 0 && tail.getInt( locator ) == ZIP64_LOCATOR_SIGNATURE ) {
+				final long zip64EocdOffset = tail.getLong( locator + 8 );
+				final ByteBuffer zip64Eocd = read( channel, zip64EocdOffset, 56 );
+				if ( zip64Eocd.getInt( 0 ) != ZIP64_EOCD_SIGNATURE ) {
+					throw new RuntimeException( "Malformed ZIP64 end of central directory - " + jarFile.getAbsolutePath() );
+				}
+				centralDirectorySize = zip64Eocd.getLong( 40 );
+				centralDirectoryOffset = zip64Eocd.getLong( 48 );
+			}
+
+			if ( centralDirectorySize > Integer.MAX_VALUE ) {
+				throw new RuntimeException( "Jar central directory too large - " + jarFile.getAbsolutePath() );
+			}
+
+			return read( channel, centralDirectoryOffset, (int) centralDirectorySize );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read jar central directory - " + jarFile.getAbsolutePath(), e );
+		}
+	}
+
+	private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.allocate( size ).order( ByteOrder.LITTLE_ENDIAN );
+		while ( buffer.hasRemaining() ) {
+			if ( channel.read( buffer, position + buffer.position() ) < 0 ) {
+				throw new IOException( "Unexpected end of file" );
+			}
+		}
+		buffer.flip();
+		return buffer;
+	}
+}
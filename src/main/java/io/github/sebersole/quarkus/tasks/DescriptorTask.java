@@ -0,0 +1,90 @@
+package io.github.sebersole.quarkus.tasks;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.Project;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Optional;
+
+import io.github.sebersole.quarkus.ExtensionDescriptor;
+import io.github.sebersole.quarkus.Names;
+
+/**
+ * Base for the tasks generating the extension's descriptors, mirroring the
+ * {@link ExtensionDescriptor} DSL values onto the task's own inputs
+ *
+ * @see GenerateDescriptor
+ * @see GenerateCatalogEntry
+ *
+ * @author Steve Ebersole
+ */
+public abstract class DescriptorTask extends DefaultTask {
+	protected DescriptorTask(ExtensionDescriptor config) {
+		setGroup( Names.TASK_GROUP );
+
+		getExtensionName().convention( config.getName() );
+		getExtensionDescription().convention( config.getDescription() );
+		getStatus().convention( config.getStatus() );
+		getGuide().convention( config.getGuide() );
+		getCategories().convention( config.getCategories() );
+		getKeywords().convention( config.getKeywords() );
+		getProvidedCapabilities().convention( config.getProvidedCapabilities() );
+		getRequiredCapabilities().convention( config.getRequiredCapabilities() );
+		getConfigPrefixes().convention( config.getConfigPrefixes() );
+		getCodestartName().convention( config.getCodestartName() );
+		getCodestartLanguages().convention( config.getCodestartLanguages() );
+		getCodestartArtifact().convention( config.getCodestartArtifact() );
+
+		final Project project = getProject();
+		getArtifact().convention( project.provider(
+				() -> project.getGroup() + ":" + project.getName() + "::jar:" + project.getVersion()
+		) );
+	}
+
+	/**
+	 * The coordinates of the extension's runtime artifact, in the `group:artifact::jar:version`
+	 * form used by Quarkus
+	 */
+	@Input
+	public abstract Property<String> getArtifact();
+
+	@Input
+	public abstract Property<String> getExtensionName();
+
+	@Input
+	public abstract Property<String> getExtensionDescription();
+
+	@Input
+	public abstract Property<String> getStatus();
+
+	@Input
+	@Optional
+	public abstract Property<String> getGuide();
+
+	@Input
+	public abstract ListProperty<String> getCategories();
+
+	@Input
+	public abstract ListProperty<String> getKeywords();
+
+	@Input
+	public abstract ListProperty<String> getProvidedCapabilities();
+
+	@Input
+	public abstract ListProperty<String> getRequiredCapabilities();
+
+	@Input
+	public abstract ListProperty<String> getConfigPrefixes();
+
+	@Input
+	@Optional
+	public abstract Property<String> getCodestartName();
+
+	@Input
+	public abstract ListProperty<String> getCodestartLanguages();
+
+	@Input
+	@Optional
+	public abstract Property<String> getCodestartArtifact();
+}
@@ -1,12 +1,6 @@
 package io.github.sebersole.quarkus.tasks;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 import javax.inject.Inject;
 
 import org.gradle.api.DefaultTask;
@@ -20,11 +14,8 @@ import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SkipWhenEmpty;
 import org.gradle.api.tasks.TaskAction;
-
-import org.jboss.jandex.AnnotationInstance;
-import org.jboss.jandex.ClassInfo;
-import org.jboss.jandex.DotName;
-import org.jboss.jandex.Index;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 
 import io.github.sebersole.quarkus.Names;
 
@@ -32,8 +23,8 @@ import io.github.sebersole.quarkus.Names;
  * @author Steve Ebersole
  */
 @CacheableTask
-public abstract class GenerateBuildStepsList extends DefaultTask {
-	private static final DotName BUILD_STEP_ANN = DotName.createSimple( "io.quarkus.deployment.annotations.BuildStep" );
+public abstract class GenerateBuildStepsList extends DefaultTask implements ToolingAware {
+	private static final String BUILD_STEP_ANN = "io.quarkus.deployment.annotations.BuildStep";
 
 	public static final String TASK_NAME = "generateBuildStepsList";
 
@@ -55,7 +46,7 @@ public abstract class GenerateBuildStepsList extends DefaultTask {
 	@PathSensitive( PathSensitivity.RELATIVE )
 	@SkipWhenEmpty
 	public Provider<Directory> getClassesToProcess() {
-		return indexManager.getSourceSetToIndex().getJava().getDestinationDirectory();
+		return indexManager.getClassesDirectory();
 	}
 
 	@OutputFile
@@ -63,40 +54,26 @@ public abstract class GenerateBuildStepsList extends DefaultTask {
 		return listFile;
 	}
 
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
 	@TaskAction
 	public void generateList() {
 		final File listFileAsFile = listFile.get().getAsFile();
 		prepareListFile( listFileAsFile );
 
-		try ( FileWriter writer = new FileWriter( listFileAsFile, StandardCharsets.UTF_8, false ) ) {
-			writeEntries( writer, indexManager.getIndex() );
-			writer.flush();
-		}
-		catch (IOException e) {
-			throw new RuntimeException( "Unable to open write for `quarkus-build-steps.list` file", e );
-		}
+		final WorkQueue workQueue = getWorkerExecutor().classLoaderIsolation(
+				(spec) -> spec.getClasspath().from( getToolingClasspath() )
+		);
+		workQueue.submit( JandexSupport.ListAnnotatedClasses.class, (parameters) -> {
+			parameters.getIndexFile().set( indexManager.getIndexFileReferenceAccess() );
+			parameters.getAnnotationName().set( BUILD_STEP_ANN );
+			parameters.getListFile().set( listFileAsFile );
+		} );
 	}
 
 	@SuppressWarnings("ResultOfMethodCallIgnored")
 	private static void prepareListFile(File listFile) {
 		listFile.getParentFile().mkdirs();
 	}
-
-	private void writeEntries(FileWriter writer, Index index) {
-		final List<AnnotationInstance> buildStepAnnUsages = index.getAnnotations( BUILD_STEP_ANN );
-		final Set<DotName> stepClassNames = new HashSet<>();
-
-		buildStepAnnUsages.forEach( (usage) -> {
-			try {
-				final ClassInfo declaringClass = usage.target().asMethod().declaringClass();
-				if ( stepClassNames.add( declaringClass.name() ) ) {
-					writer.write( declaringClass.name().toString() );
-					writer.write( Character.LINE_SEPARATOR );
-				}
-			}
-			catch (IOException e) {
-				throw new RuntimeException( "Error writing to `quarkus-build-steps.list` file", e );
-			}
-		} );
-	}
 }
@@ -0,0 +1,297 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeSet;
+import javax.inject.Inject;
+
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.Dependency;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
+
+import io.github.sebersole.quarkus.ExtensionCatalogService;
+import io.github.sebersole.quarkus.ExtensionDescriptor;
+import io.github.sebersole.quarkus.Helper;
+import io.github.sebersole.quarkus.Names;
+
+/**
+ * Generates `quarkus-extension.json`, the resolved extension catalog entry bundled into the
+ * extension runtime artifact next to the YAML descriptor.
+ *
+ * In addition to the {@link ExtensionDescriptor} values (see {@link DescriptorTask}), the entry
+ * lists the extensions the runtime artifact depends on (`metadata.extension-dependencies`) and
+ * the platforms the extension is built against (`origins`), from the {@value Names#PLATFORMS_CONFIG_NAME}
+ * Configuration.  The extensions are identified on `runtimeClasspath` by probing the jars (see
+ * {@link JarProbe}) through the build-wide {@link ExtensionCatalogService}, so jars already
+ * probed by the verification tasks are not probed again.  Tooling
+ * listing many extensions can read this single document rather than opening each jar and its
+ * dependencies.
+ *
+ * @author Steve Ebersole
+ */
+@CacheableTask
+public abstract class GenerateCatalogEntry extends DescriptorTask {
+	public static final String TASK_NAME = "generateExtensionCatalogEntry";
+	public static final String JSON_NAME = "quarkus-extension.json";
+
+	private final RegularFileProperty catalogEntryFile;
+
+	@Inject
+	public GenerateCatalogEntry(ExtensionDescriptor config) {
+		super( config );
+		setDescription( "Generates the `" + JSON_NAME + "` extension catalog entry ultimately bundled into the extension runtime artifact" );
+
+		catalogEntryFile = getProject().getObjects().fileProperty();
+		catalogEntryFile.convention( getProject().getLayout().getBuildDirectory().file( "quarkus/" + JSON_NAME ) );
+
+		final JavaPluginExtension javaPluginExtension = getProject().getExtensions().getByType( JavaPluginExtension.class );
+		final SourceSet mainSourceSet = javaPluginExtension.getSourceSets().getByName( SourceSet.MAIN_SOURCE_SET_NAME );
+		final Configuration runtimeClasspath = getProject().getConfigurations().getByName( mainSourceSet.getRuntimeClasspathConfigurationName() );
+
+		getRuntimeDependencies().from( runtimeClasspath );
+		getRuntimeArtifacts().set( runtimeClasspath.getIncoming().getArtifacts().getResolvedArtifacts() );
+		getRuntimeGraph().set( runtimeClasspath.getIncoming().getResolutionResult().getRootComponent() );
+
+		final Configuration platforms = getProject().getConfigurations().getByName( Names.PLATFORMS_CONFIG_NAME );
+		getOrigins().convention( getProject().provider( () -> platformCoordinates( platforms ) ) );
+	}
+
+	private static List<String> platformCoordinates(Configuration platforms) {
+		final List<String> coordinates = new ArrayList<>();
+		for ( Dependency platform : platforms.getAllDependencies() ) {
+			if ( platform.getGroup() != null && platform.getVersion() != null ) {
+				coordinates.add( Helper.groupArtifactVersion( platform.getGroup(), platform.getName(), platform.getVersion() ) );
+			}
+		}
+		return coordinates;
+	}
+
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
+	@Internal
+	public abstract Property<ExtensionCatalogService> getCatalogService();
+
+	@Classpath
+	public abstract ConfigurableFileCollection getRuntimeDependencies();
+
+	/**
+	 * The resolved artifacts of {@link #getRuntimeDependencies()}
+	 */
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getRuntimeArtifacts();
+
+	/**
+	 * The resolved dependency graph of {@link #getRuntimeDependencies()}, used to identify the artifacts
+	 */
+	@Internal
+	public abstract Property<ResolvedComponentResult> getRuntimeGraph();
+
+	/**
+	 * The coordinates of the platforms the extension is built against
+	 */
+	@Input
+	public abstract ListProperty<String> getOrigins();
+
+	@OutputFile
+	public RegularFileProperty getCatalogEntryFile() {
+		return catalogEntryFile;
+	}
+
+	@TaskAction
+	public void generateCatalogEntry() {
+		final File entryFile = catalogEntryFile.getAsFile().get();
+
+		try ( BufferedWriter writer = Files.newBufferedWriter( entryFile.toPath(), StandardCharsets.UTF_8 ) ) {
+			writeEntry( new JsonWriter( writer ) );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to write extension catalog entry file - " + entryFile.getAbsolutePath(), e );
+		}
+	}
+
+	private void writeEntry(JsonWriter json) throws IOException {
+		json.beginObject( null );
+		json.string( "artifact", getArtifact().get() );
+		json.string( "name", getExtensionName().get() );
+		json.string( "description", getExtensionDescription().getOrNull() );
+
+		json.beginObject( "metadata" );
+		json.string( "status", getStatus().get() );
+		json.string( "guide", getGuide().getOrNull() );
+		json.array( "categories", getCategories().get() );
+		json.array( "keywords", getKeywords().get() );
+
+		final List<String> provides = getProvidedCapabilities().get();
+		final List<String> requires = getRequiredCapabilities().get();
+		if ( !provides.isEmpty() || !requires.isEmpty() ) {
+			json.beginObject( "capabilities" );
+			json.array( "provides", provides );
+			json.array( "requires", requires );
+			json.endObject();
+		}
+
+		json.array( "config", getConfigPrefixes().get() );
+
+		if ( getCodestartName().isPresent() ) {
+			json.beginObject( "codestart" );
+			json.string( "name", getCodestartName().get() );
+			json.array( "languages", getCodestartLanguages().get() );
+			json.string( "artifact", getCodestartArtifact().getOrNull() );
+			json.endObject();
+		}
+
+		json.array( "extension-dependencies", extensionDependencies() );
+		json.endObject();
+
+		json.array( "origins", getOrigins().get() );
+		json.endObject();
+		json.finish();
+	}
+
+	/**
+	 * The `group:artifact` keys of the extensions among the runtime dependencies, sorted
+	 */
+	private List<String> extensionDependencies() {
+		final Map<ComponentIdentifier, ModuleVersionIdentifier> moduleVersions = Helper.moduleVersions( getRuntimeGraph().get() );
+
+		final Map<ModuleVersionIdentifier, File> jarFiles = new LinkedHashMap<>();
+		for ( ResolvedArtifactResult artifact : getRuntimeArtifacts().get() ) {
+			final ModuleVersionIdentifier moduleVersion = moduleVersions.get( artifact.getId().getComponentIdentifier() );
+			if ( moduleVersion != null && artifact.getFile().getName().endsWith( ".jar" ) ) {
+				jarFiles.putIfAbsent( moduleVersion, artifact.getFile() );
+			}
+		}
+
+		final Map<ModuleVersionIdentifier, Properties> probeResults = getCatalogService().get().classify(
+				jarFiles,
+				(unclassified) -> JarProbe.probeAll(
+						getWorkerExecutor().noIsolation(),
+						unclassified,
+						new File( getTemporaryDir(), "probes" )
+				)
+		);
+
+		final TreeSet<String> keys = new TreeSet<>();
+		probeResults.forEach( (moduleVersion, probeResult) -> {
+			if ( probeResult.containsKey( JarProbe.DEPLOYMENT_ARTIFACT_KEY ) ) {
+				keys.add( Helper.groupArtifact( moduleVersion.getGroup(), moduleVersion.getName() ) );
+			}
+		} );
+		return new ArrayList<>( keys );
+	}
+
+	/**
+	 * Writes the JSON for the catalog entry - 2-space indentation, `"name": value` members, one
+	 * element per line.  Members with no value (`null` or empty arrays) are omitted
+	 */
+	private static class JsonWriter {
+		private static final String INDENT = "  ";
+
+		private final Writer writer;
+
+		// whether each open object has had a member written
+		private boolean[] nonEmpty = new boolean[8];
+		private int depth;
+
+		private JsonWriter(Writer writer) {
+			this.writer = writer;
+		}
+
+		private void beginObject(String name) throws IOException {
+			if ( name != null ) {
+				member( name );
+			}
+			writer.write( '{' );
+			if ( depth == nonEmpty.length ) {
+				nonEmpty = Arrays.copyOf( nonEmpty, depth * 2 );
+			}
+			nonEmpty[depth++] = false;
+		}
+
+		private void endObject() throws IOException {
+			depth--;
+			if ( nonEmpty[depth] ) {
+				newLine( depth );
+			}
+			writer.write( '}' );
+		}
+
+		private void string(String name, String value) throws IOException {
+			if ( value == null ) {
+				return;
+			}
+			member( name );
+			quoted( value );
+		}
+
+		private void array(String name, List<String> values) throws IOException {
+			if ( values.isEmpty() ) {
+				return;
+			}
+			member( name );
+			writer.write( '[' );
+			for ( int i = 0; i < values.size(); i++ ) {
+				if ( i > 0 ) {
+					writer.write( ',' );
+				}
+				newLine( depth + 1 );
+				quoted( values.get( i ) );
+			}
+			newLine( depth );
+			writer.write( ']' );
+		}
+
+		private void finish() throws IOException {
+			writer.write( '\n' );
+		}
+
+		private void member(String name) throws IOException {
+			if ( nonEmpty[depth - 1] ) {
+				writer.write( ',' );
+			}
+			nonEmpty[depth - 1] = true;
+			newLine( depth );
+			quoted( name );
+			writer.write( ": " );
+		}
+
+		private void newLine(int level) throws IOException {
+			writer.write( '\n' );
+			for ( int i = 0; i < level; i++ ) {
+				writer.write( INDENT );
+			}
+		}
+
+		private void quoted(String value) throws IOException {
+			Helper.writeQuoted( writer, value );
+		}
+	}
+}
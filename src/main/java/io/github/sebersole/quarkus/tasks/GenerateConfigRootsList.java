@@ -1,10 +1,6 @@
 package io.github.sebersole.quarkus.tasks;
 
 import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.util.List;
 import javax.inject.Inject;
 
 import org.gradle.api.DefaultTask;
@@ -18,10 +14,8 @@ import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SkipWhenEmpty;
 import org.gradle.api.tasks.TaskAction;
-
-import org.jboss.jandex.AnnotationInstance;
-import org.jboss.jandex.DotName;
-import org.jboss.jandex.Index;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 
 import io.github.sebersole.quarkus.Names;
 
@@ -29,8 +23,8 @@ import io.github.sebersole.quarkus.Names;
  * @author Steve Ebersole
  */
 @CacheableTask
-public abstract class GenerateConfigRootsList extends DefaultTask {
-	private static final DotName CONFIG_ROOT_ANN = DotName.createSimple( "io.quarkus.runtime.annotations.ConfigRoot" );
+public abstract class GenerateConfigRootsList extends DefaultTask implements ToolingAware {
+	private static final String CONFIG_ROOT_ANN = "io.quarkus.runtime.annotations.ConfigRoot";
 
 	public static final String TASK_NAME = "generateConfigRootsList";
 
@@ -52,7 +46,7 @@ public abstract class GenerateConfigRootsList extends DefaultTask {
 	@PathSensitive( PathSensitivity.RELATIVE )
 	@SkipWhenEmpty
 	public Provider<Directory> getClassesToProcess() {
-		return indexManager.getSourceSetToIndex().getJava().getDestinationDirectory();
+		return indexManager.getClassesDirectory();
 	}
 
 	@OutputFile
@@ -60,35 +54,26 @@ public abstract class GenerateConfigRootsList extends DefaultTask {
 		return listFile;
 	}
 
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
 	@TaskAction
 	public void generateList() {
 		final File listFileAsFile = listFile.get().getAsFile();
 		prepareListFile( listFileAsFile );
 
-		try ( FileWriter writer = new FileWriter( listFileAsFile, StandardCharsets.UTF_8, false ) ) {
-			writeEntries( writer, indexManager.getIndex() );
-			writer.flush();
-		}
-		catch (IOException e) {
-			throw new RuntimeException( "Unable to open write for `quarkus-config-roots.list` file", e );
-		}
+		final WorkQueue workQueue = getWorkerExecutor().classLoaderIsolation(
+				(spec) -> spec.getClasspath().from( getToolingClasspath() )
+		);
+		workQueue.submit( JandexSupport.ListAnnotatedClasses.class, (parameters) -> {
+			parameters.getIndexFile().set( indexManager.getIndexFileReferenceAccess() );
+			parameters.getAnnotationName().set( CONFIG_ROOT_ANN );
+			parameters.getListFile().set( listFileAsFile );
+		} );
 	}
 
 	@SuppressWarnings("ResultOfMethodCallIgnored")
 	private static void prepareListFile(File listFile) {
 		listFile.getParentFile().mkdirs();
 	}
-
-	private void writeEntries(FileWriter writer, Index index) {
-		final List<AnnotationInstance> configRootAnnUsages = index.getAnnotations( CONFIG_ROOT_ANN );
-		configRootAnnUsages.forEach( (usage) -> {
-			try {
-				writer.write( usage.target().asClass().name().toString() );
-				writer.write( Character.LINE_SEPARATOR );
-			}
-			catch (IOException e) {
-				throw new RuntimeException( "Error writing to `quarkus-config-roots.list` file", e );
-			}
-		} );
-	}
 }
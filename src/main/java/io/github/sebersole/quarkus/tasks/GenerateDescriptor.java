@@ -1,54 +1,48 @@
 package io.github.sebersole.quarkus.tasks;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import javax.inject.Inject;
 
-import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.tasks.CacheableTask;
-import org.gradle.api.tasks.Nested;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
 import io.github.sebersole.quarkus.ExtensionDescriptor;
-import io.github.sebersole.quarkus.Names;
+import io.github.sebersole.quarkus.Helper;
 
 /**
+ * Generates the extension descriptor from the {@link ExtensionDescriptor} DSL values, which
+ * are mirrored onto the task's own inputs - see {@link DescriptorTask}.
+ *
+ * The YAML is written directly from those inputs ({@link YamlWriter}) in a fixed order, so the
+ * same inputs always produce the same file
+ *
  * @author Steve Ebersole
  */
 @CacheableTask
-public abstract class GenerateDescriptor extends DefaultTask {
+public abstract class GenerateDescriptor extends DescriptorTask {
 	public static final String TASK_NAME = "generateExtensionDescriptor";
 	public static final String YAML_NAME = "quarkus-extension.yaml";
 	public static final String STANDARD_YAML_PATH = "quarkus/" + YAML_NAME;
 
-	private final ExtensionDescriptor extensionDescriptor;
 	private final RegularFileProperty descriptorFileReference;
 
 	@Inject
 	public GenerateDescriptor(ExtensionDescriptor config) {
-		setGroup( Names.TASK_GROUP );
+		super( config );
 		setDescription( "Generates the extension descriptor file" );
 
-		extensionDescriptor = config;
-
 		descriptorFileReference = getProject().getObjects().fileProperty();
 		descriptorFileReference.convention(
 				getProject().getLayout().getBuildDirectory().file( STANDARD_YAML_PATH )
 		);
-
-		getInputs().property( "projectGroup", getProject().getGroup() );
-		getInputs().property( "projectId", getProject().getName() );
-		getInputs().property( "projectVersion", getProject().getVersion() );
-	}
-
-	@Nested
-	public ExtensionDescriptor getDescriptor() {
-		return extensionDescriptor;
 	}
 
 	@OutputFile
@@ -60,119 +54,117 @@ public abstract class GenerateDescriptor extends DefaultTask {
 	public void generateDescriptor() {
 		final File descriptorFile = descriptorFileReference.getAsFile().get();
 
-		final ObjectMapper mapper = new ObjectMapper( new YAMLFactory() )
-				.findAndRegisterModules()
-				.disable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS );
-
-		try {
-			mapper.writeValue( descriptorFile, new ExternalizableDescriptor( getDescriptor() ) );
+		try ( BufferedWriter writer = Files.newBufferedWriter( descriptorFile.toPath(), StandardCharsets.UTF_8 ) ) {
+			writeDescriptor( new YamlWriter( writer ) );
 		}
-		catch (Exception e) {
+		catch (IOException e) {
 			throw new RuntimeException( "Unable to write extension descriptor file - " + descriptorFile.getAbsolutePath(), e );
 		}
 	}
 
-	/**
-	 * Externalizable form of the descriptor used for reading/writing YAML
-	 */
-	public static class ExternalizableDescriptor {
-		private String name;
-		private String description;
-		private ExternalizableMetadata metadata;
-
-		@SuppressWarnings("unused")
-		public ExternalizableDescriptor() {
-		}
-
-		public ExternalizableDescriptor(ExtensionDescriptor descriptor) {
-			name = descriptor.getName().get();
-			description = descriptor.getDescription().get();
-			metadata = new ExternalizableMetadata( descriptor );
-		}
-
-
-		public String getName() {
-			return name;
-		}
-
-		@SuppressWarnings("unused")
-		public void setName(String name) {
-			this.name = name;
-		}
-
-		public String getDescription() {
-			return description;
-		}
-
-		@SuppressWarnings("unused")
-		public void setDescription(String description) {
-			this.description = description;
-		}
-
-		public ExternalizableMetadata getMetadata() {
-			return metadata;
-		}
-
-		@SuppressWarnings("unused")
-		public void setMetadata(ExternalizableMetadata metadata) {
-			this.metadata = metadata;
+	private void writeDescriptor(YamlWriter yaml) throws IOException {
+		yaml.documentStart();
+		yaml.scalar( 0, "artifact", getArtifact().get() );
+		yaml.scalar( 0, "name", getExtensionName().get() );
+		yaml.scalar( 0, "description", getExtensionDescription().getOrNull() );
+
+		yaml.mapping( 0, "metadata" );
+		yaml.scalar( 1, "status", getStatus().get() );
+		yaml.scalar( 1, "guide", getGuide().getOrNull() );
+		yaml.sequence( 1, "categories", getCategories().get() );
+		yaml.sequence( 1, "keywords", getKeywords().get() );
+
+		final List<String> provides = getProvidedCapabilities().get();
+		final List<String> requires = getRequiredCapabilities().get();
+		if ( !provides.isEmpty() || !requires.isEmpty() ) {
+			yaml.mapping( 1, "capabilities" );
+			if ( !provides.isEmpty() ) {
+				yaml.sequence( 2, "provides", provides );
+			}
+			if ( !requires.isEmpty() ) {
+				yaml.sequence( 2, "requires", requires );
+			}
+		}
+
+		final List<String> configPrefixes = getConfigPrefixes().get();
+		if ( !configPrefixes.isEmpty() ) {
+			yaml.sequence( 1, "config", configPrefixes );
+		}
+
+		if ( getCodestartName().isPresent() ) {
+			yaml.mapping( 1, "codestart" );
+			yaml.scalar( 2, "name", getCodestartName().get() );
+			yaml.sequence( 2, "languages", getCodestartLanguages().get() );
+			if ( getCodestartArtifact().isPresent() ) {
+				yaml.scalar( 2, "artifact", getCodestartArtifact().get() );
+			}
 		}
 	}
 
 	/**
-	 * Externalizable form of the metadata used for reading/writing YAML
+	 * Writes the block-style YAML used for the descriptor - 2-space indentation, double-quoted
+	 * strings and sequence entries at the indentation of their key
 	 */
-	public static class ExternalizableMetadata {
-		private String status;
-		private String guide;
-		private List<String> categories;
-		private List<String> keywords;
-
-		@SuppressWarnings("unused")
-		public ExternalizableMetadata() {
-		}
+	private static class YamlWriter {
+		private static final String INDENT = "  ";
 
-		public ExternalizableMetadata(ExtensionDescriptor descriptor) {
-			status = descriptor.getStatus().get();
-			guide = descriptor.getGuide().getOrNull();
-			categories = descriptor.getCategories().get();
-			keywords = descriptor.getKeywords().get();
-		}
+		private final Writer writer;
 
-		public String getStatus() {
-			return status;
+		private YamlWriter(Writer writer) {
+			this.writer = writer;
 		}
 
-		@SuppressWarnings("unused")
-		public void setStatus(String status) {
-			this.status = status;
+		private void documentStart() throws IOException {
+			writer.write( "---\n" );
 		}
 
-		public String getGuide() {
-			return guide;
+		private void mapping(int level, String key) throws IOException {
+			key( level, key );
+			writer.write( '\n' );
 		}
 
-		@SuppressWarnings("unused")
-		public void setGuide(String guide) {
-			this.guide = guide;
+		private void scalar(int level, String key, String value) throws IOException {
+			key( level, key );
+			writer.write( ' ' );
+			quoted( value );
+			writer.write( '\n' );
 		}
 
-		public List<String> getCategories() {
-			return categories;
+		private void sequence(int level, String key, List<String> values) throws IOException {
+			key( level, key );
+			if ( values.isEmpty() ) {
+				writer.write( " []\n" );
+				return;
+			}
+
+			writer.write( '\n' );
+			for ( String value : values ) {
+				indent( level );
+				writer.write( "- " );
+				quoted( value );
+				writer.write( '\n' );
+			}
 		}
 
-		@SuppressWarnings("unused")
-		public void setCategories(List<String> categories) {
-			this.categories = categories;
+		private void key(int level, String key) throws IOException {
+			indent( level );
+			writer.write( key );
+			writer.write( ':' );
 		}
 
-		public List<String> getKeywords() {
-			return keywords;
+		private void indent(int level) throws IOException {
+			for ( int i = 0; i < level; i++ ) {
+				writer.write( INDENT );
+			}
 		}
 
-		@SuppressWarnings("unused")
-		public void setKeywords(List<String> keywords) {
-			this.keywords = keywords;
+		private void quoted(String value) throws IOException {
+			if ( value == null ) {
+				writer.write( "null" );
+				return;
+			}
+
+			Helper.writeQuoted( writer, value );
 		}
 	}
 }
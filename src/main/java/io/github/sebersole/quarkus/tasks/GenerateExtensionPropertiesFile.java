@@ -7,7 +7,9 @@ import java.util.Locale;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
 import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Input;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.TaskAction;
 
@@ -29,11 +31,20 @@ public abstract class GenerateExtensionPropertiesFile extends DefaultTask {
 		propertiesFile = getProject().getObjects().fileProperty();
 		propertiesFile.convention( getProject().getLayout().getBuildDirectory().file( "quarkus/quarkus-extension.properties" ) );
 
-		getInputs().property( "projectGroup", getProject().getGroup() );
-		getInputs().property( "projectId", getProject().getName() );
-		getInputs().property( "projectVersion", getProject().getVersion() );
+		getProjectGroup().convention( getProject().provider( () -> getProject().getGroup().toString() ) );
+		getProjectId().convention( getProject().getName() );
+		getProjectVersion().convention( getProject().provider( () -> getProject().getVersion().toString() ) );
 	}
 
+	@Input
+	public abstract Property<String> getProjectGroup();
+
+	@Input
+	public abstract Property<String> getProjectId();
+
+	@Input
+	public abstract Property<String> getProjectVersion();
+
 	@OutputFile
 	public RegularFileProperty getPropertiesFile() {
 		return propertiesFile;
@@ -48,9 +59,9 @@ public abstract class GenerateExtensionPropertiesFile extends DefaultTask {
 					String.format(
 							Locale.ROOT,
 							"deployment-artifact=%s\\:%s-deployment\\:%s",
-							getProject().getGroup(),
-							getProject().getName(),
-							getProject().getVersion()
+							getProjectGroup().get(),
+							getProjectId().get(),
+							getProjectVersion().get()
 					)
 			);
 			fileWriter.flush();
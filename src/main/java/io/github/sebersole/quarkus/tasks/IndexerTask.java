@@ -19,32 +19,34 @@ import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SkipWhenEmpty;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkQueue;
+import org.gradle.workers.WorkerExecutor;
 
 import io.github.sebersole.quarkus.Names;
 
 
 /**
- * Task for creating Jandex Index within Gradle UP-TO-DATE handling
+ * Task for creating Jandex Index within Gradle UP-TO-DATE handling.  The index is built by
+ * {@link JandexSupport.CreateIndex} in an isolated class loader
  *
  * @author Steve Ebersole
  */
 @CacheableTask
-public abstract class IndexerTask extends DefaultTask {
+public abstract class IndexerTask extends DefaultTask implements ToolingAware {
 	private final IndexManager indexManager;
 
 	@Inject
 	public IndexerTask(IndexManager indexManager) {
 		this.indexManager = indexManager;
 		setGroup( Names.TASK_GROUP );
-		setDescription( "Builds a Jandex Index from the `" + indexManager.getSourceSetToIndex().getName() + "` SourceSet" );
-		dependsOn( indexManager.getSourceSetToIndex().getCompileJavaTaskName() );
+		setDescription( "Builds a Jandex Index from the `" + indexManager.getSourceSetName() + "` SourceSet" );
 	}
 
 	@InputDirectory
 	@PathSensitive( PathSensitivity.RELATIVE )
 	@SkipWhenEmpty
 	public Provider<Directory> getClassesToProcess() {
-		return indexManager.getSourceSetToIndex().getJava().getDestinationDirectory();
+		return indexManager.getClassesDirectory();
 	}
 
 	@OutputFile
@@ -52,8 +54,18 @@ public abstract class IndexerTask extends DefaultTask {
 		return indexManager.getIndexFileReferenceAccess();
 	}
 
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
 	@TaskAction
 	public void createIndex() {
-		indexManager.index();
+		final WorkQueue workQueue = getWorkerExecutor().classLoaderIsolation(
+				(spec) -> spec.getClasspath().from( getToolingClasspath() )
+		);
+		workQueue.submit( JandexSupport.CreateIndex.class, (parameters) -> {
+			parameters.getSourceSetName().set( indexManager.getSourceSetName() );
+			parameters.getClassesDirectory().set( indexManager.getClassesDirectory() );
+			parameters.getIndexFile().set( indexManager.getIndexFileReferenceAccess() );
+		} );
 	}
 }
@@ -0,0 +1,319 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Stream;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.api.provider.MapProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+
+import org.jboss.jandex.AnnotationInstance;
+import org.jboss.jandex.AnnotationTarget;
+import org.jboss.jandex.ClassInfo;
+import org.jboss.jandex.DotName;
+import org.jboss.jandex.FieldInfo;
+import org.jboss.jandex.Index;
+import org.jboss.jandex.IndexReader;
+import org.jboss.jandex.IndexWriter;
+import org.jboss.jandex.Indexer;
+import org.jboss.jandex.MethodInfo;
+import org.jboss.jandex.Type;
+
+/**
+ * All of the plugin's use of Jandex.
+ *
+ * Jandex is not on the plugin's classpath; it is part of the
+ * {@value io.github.sebersole.quarkus.Names#TOOLING_CONFIG_NAME} Configuration.  The
+ * work actions here are run with {@link org.gradle.workers.WorkerExecutor#classLoaderIsolation}
+ * using that Configuration as the classpath - see {@link ToolingAware}.  Only the nested work
+ * action classes are referenced from the tasks, and none of their signatures mention Jandex types,
+ * so that Jandex is only ever loaded within the isolated class loader.
+ *
+ * @author Steve Ebersole
+ */
+public class JandexSupport {
+	private static final Logger LOGGER = Logging.getLogger( JandexSupport.class );
+
+	private JandexSupport() {
+	}
+
+	/**
+	 * Builds the Jandex index for a directory of classes, storing it to a file
+	 */
+	public abstract static class CreateIndex implements WorkAction<CreateIndex.Parameters> {
+		public interface Parameters extends WorkParameters {
+			Property<String> getSourceSetName();
+			DirectoryProperty getClassesDirectory();
+			RegularFileProperty getIndexFile();
+		}
+
+		@Override
+		public void execute() {
+			final Index index = index(
+					getParameters().getClassesDirectory().get().getAsFile(),
+					getParameters().getSourceSetName().get()
+			);
+			storeIndex( index, getParameters().getIndexFile().get().getAsFile() );
+		}
+	}
+
+	/**
+	 * Writes the names of the classes using an annotation, one per line, to a file.  For methods
+	 * and fields the name of the declaring class is written.  Each class is listed once
+	 */
+	public abstract static class ListAnnotatedClasses implements WorkAction<ListAnnotatedClasses.Parameters> {
+		public interface Parameters extends WorkParameters {
+			RegularFileProperty getIndexFile();
+			Property<String> getAnnotationName();
+			RegularFileProperty getListFile();
+		}
+
+		@Override
+		public void execute() {
+			final Index index = loadIndex( getParameters().getIndexFile().get().getAsFile() );
+			final Set<String> classNames = annotatedClassNames( index, getParameters().getAnnotationName().get() );
+
+			final File listFile = getParameters().getListFile().get().getAsFile();
+			try ( Writer writer = Files.newBufferedWriter( listFile.toPath(), StandardCharsets.UTF_8 ) ) {
+				for ( String className : classNames ) {
+					writer.write( className );
+					writer.write( Character.LINE_SEPARATOR );
+				}
+			}
+			catch (IOException e) {
+				throw new RuntimeException( "Unable to write `" + listFile.getName() + "` file - " + listFile.getAbsolutePath(), e );
+			}
+		}
+	}
+
+	/**
+	 * Counts, for each of a number of jars, the classes of the jar referenced by the indexed classes.
+	 * The counts are written as properties, keyed by the name given for each jar
+	 */
+	public abstract static class CountReferencedClasses implements WorkAction<CountReferencedClasses.Parameters> {
+		public interface Parameters extends WorkParameters {
+			RegularFileProperty getIndexFile();
+			MapProperty<String, File> getJars();
+			RegularFileProperty getResultFile();
+		}
+
+		@Override
+		public void execute() {
+			final Index index = loadIndex( getParameters().getIndexFile().get().getAsFile() );
+			final Set<DotName> referencedNames = referencedNames( index );
+
+			final Properties result = new Properties();
+			getParameters().getJars().get().forEach( (name, jar) -> {
+				int count = 0;
+				for ( String className : classNames( jar ) ) {
+					final DotName dotName = DotName.createSimple( className );
+					if ( referencedNames.contains( dotName ) || !index.getKnownUsers( dotName ).isEmpty() ) {
+						count++;
+					}
+				}
+				result.setProperty( name, Integer.toString( count ) );
+			} );
+
+			final File resultFile = getParameters().getResultFile().get().getAsFile();
+			try ( OutputStream stream = new FileOutputStream( resultFile ) ) {
+				result.store( stream, null );
+			}
+			catch (IOException e) {
+				throw new RuntimeException( "Unable to write referenced classes file - " + resultFile.getAbsolutePath(), e );
+			}
+		}
+	}
+
+	/**
+	 * The names of the types referenced by the signatures and annotations of the indexed classes.
+	 * Types only referenced from method bodies are not included; those are found through
+	 * {@link Index#getKnownUsers}, which Jandex builds from the classes' constant pools
+	 */
+	private static Set<DotName> referencedNames(Index index) {
+		final Set<DotName> names = new HashSet<>();
+		for ( ClassInfo classInfo : index.getKnownClasses() ) {
+			addTypeName( classInfo.superClassType(), names );
+			for ( Type interfaceType : classInfo.interfaceTypes() ) {
+				addTypeName( interfaceType, names );
+			}
+			names.addAll( classInfo.annotations().keySet() );
+
+			for ( FieldInfo field : classInfo.fields() ) {
+				addTypeName( field.type(), names );
+			}
+			for ( MethodInfo method : classInfo.methods() ) {
+				addTypeName( method.returnType(), names );
+				for ( Type parameterType : method.parameters() ) {
+					addTypeName( parameterType, names );
+				}
+				for ( Type exceptionType : method.exceptions() ) {
+					addTypeName( exceptionType, names );
+				}
+			}
+		}
+		return names;
+	}
+
+	private static void addTypeName(Type type, Set<DotName> names) {
+		if ( type == null ) {
+			return;
+		}
+		switch ( type.kind() ) {
+			case CLASS: {
+				names.add( type.name() );
+				break;
+			}
+			case ARRAY: {
+				addTypeName( type.asArrayType().component(), names );
+				break;
+			}
+			case PARAMETERIZED_TYPE: {
+				names.add( type.name() );
+				for ( Type argument : type.asParameterizedType().arguments() ) {
+					addTypeName( argument, names );
+				}
+				break;
+			}
+			default: {
+				// primitives, void, type variables, wildcards
+			}
+		}
+	}
+
+	/**
+	 * The names of the classes in a jar
+	 */
+	private static List<String> classNames(File jar) {
+		final List<String> classNames = new ArrayList<>();
+		try ( JarFile jarFile = new JarFile( jar ) ) {
+			final Enumeration<JarEntry> entries = jarFile.entries();
+			while ( entries.hasMoreElements() ) {
+				final String entryName = entries.nextElement().getName();
+				if ( entryName.endsWith( ".class" )
+						&& !entryName.endsWith( "module-info.class" )
+						&& !entryName.startsWith( "META-INF/" ) ) {
+					classNames.add( entryName.substring( 0, entryName.length() - ".class".length() ).replace( '/', '.' ) );
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read jar - " + jar.getAbsolutePath(), e );
+		}
+		return classNames;
+	}
+
+	private static Set<String> annotatedClassNames(Index index, String annotationName) {
+		final Set<String> classNames = new LinkedHashSet<>();
+		for ( AnnotationInstance usage : index.getAnnotations( DotName.createSimple( annotationName ) ) ) {
+			final AnnotationTarget target = usage.target();
+			switch ( target.kind() ) {
+				case CLASS: {
+					classNames.add( target.asClass().name().toString() );
+					break;
+				}
+				case METHOD: {
+					classNames.add( target.asMethod().declaringClass().name().toString() );
+					break;
+				}
+				case FIELD: {
+					classNames.add( target.asField().declaringClass().name().toString() );
+					break;
+				}
+				default: {
+					// parameters, type annotations - not used by the Quarkus list files
+				}
+			}
+		}
+		return classNames;
+	}
+
+	private static Index index(File classesDir, String sourceSetName) {
+		final Indexer indexer = new Indexer();
+
+		try ( Stream<Path> items = Files.walk( classesDir.toPath() ) ) {
+			items.forEach( (item) -> {
+				if ( item.toString().endsWith( ".class" ) ) {
+					indexItem( indexer, item );
+				}
+			} );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to index source-set : " + sourceSetName, e );
+		}
+
+		return indexer.complete();
+	}
+
+	private static void indexItem(Indexer indexer, Path classItem) {
+		final File classFile = classItem.toFile();
+
+		try ( final FileInputStream stream = new FileInputStream( classFile ) ) {
+			final ClassInfo indexedClassInfo = indexer.index( stream );
+			if ( indexedClassInfo == null ) {
+				LOGGER.warn( "Problem indexing class file - {}", classFile.getAbsolutePath() );
+			}
+		}
+		catch (FileNotFoundException e) {
+			throw new RuntimeException( "Problem locating project class file - " + classFile.getAbsolutePath(), e );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Error accessing project class file - " + classFile.getAbsolutePath(), e );
+		}
+	}
+
+	@SuppressWarnings("ResultOfMethodCallIgnored")
+	private static void storeIndex(Index index, File indexFile) {
+		if ( indexFile.exists() ) {
+			indexFile.delete();
+		}
+		indexFile.getParentFile().mkdirs();
+
+		try ( final FileOutputStream stream = new FileOutputStream( indexFile ) ) {
+			final IndexWriter indexWriter = new IndexWriter( stream );
+			indexWriter.write( index );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Error accessing index file - " + indexFile.getAbsolutePath(), e );
+		}
+	}
+
+	static Index loadIndex(File indexFile) {
+		if ( !indexFile.exists() ) {
+			throw new IllegalStateException( "Cannot load index; the stored file does not exist - " + indexFile.getAbsolutePath() );
+		}
+
+		try ( final FileInputStream stream = new FileInputStream( indexFile ) ) {
+			final IndexReader indexReader = new IndexReader( stream );
+			return indexReader.read();
+		}
+		catch (FileNotFoundException e) {
+			throw new IllegalStateException( "Cannot load index; the stored file does not exist - " + indexFile.getAbsolutePath(), e );
+		}
+		catch (IOException e) {
+			throw new IllegalStateException( "Cannot load index; unable to read stored file - " + indexFile.getAbsolutePath(), e );
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.jar.JarEntry;
+
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+
+import io.github.sebersole.quarkus.Helper;
+
+import static io.github.sebersole.quarkus.Helper.EXTENSION_PROPERTIES_RELATIVE_PATH;
+import static io.github.sebersole.quarkus.Helper.withJarFile;
+
+/**
+ * Worker API action probing a single dependency jar for the Quarkus extension
+ * markers - `META-INF/quarkus-build-steps.list` and `META-INF/quarkus-extension.properties`.
+ *
+ * The outcome is written to a small properties file which the submitting task
+ * reads back once the {@link WorkQueue} has completed.
+ *
+ * @author Steve Ebersole
+ */
+public abstract class JarProbe implements WorkAction<JarProbe.Parameters> {
+	private static final Logger LOGGER = Logging.getLogger( JarProbe.class );
+
+	/**
+	 * Result key indicating the jar contains `META-INF/quarkus-build-steps.list`
+	 */
+	public static final String BUILD_STEPS_KEY = "build-steps";
+
+	/**
+	 * Result key holding the deployment artifact named by `META-INF/quarkus-extension.properties`, if one
+	 */
+	public static final String DEPLOYMENT_ARTIFACT_KEY = "deployment-artifact";
+
+	public interface Parameters extends WorkParameters {
+		RegularFileProperty getJarFile();
+		RegularFileProperty getResultFile();
+	}
+
+	/**
+	 * Probes each of the given jars in parallel, returning the outcomes keyed the same
+	 * way as `jarFiles`.  Waits for all submitted probes to complete.
+	 *
+	 * @param workDir Directory used to exchange results with the workers; cleared first
+	 */
+	public static <K> Map<K, Properties> probeAll(WorkQueue workQueue, Map<K, File> jarFiles, File workDir) {
+		prepareWorkDir( workDir );
+
+		final Map<K, File> resultFiles = new LinkedHashMap<>();
+		int position = 0;
+		for ( Map.Entry<K, File> entry : jarFiles.entrySet() ) {
+			final File jarFile = entry.getValue();
+			final File resultFile = new File( workDir, ( position++ ) + ".properties" );
+			LOGGER.info( "Probing dependency jar - {}", jarFile.getAbsolutePath() );
+			workQueue.submit( JarProbe.class, (parameters) -> {
+				parameters.getJarFile().set( jarFile );
+				parameters.getResultFile().set( resultFile );
+			} );
+			resultFiles.put( entry.getKey(), resultFile );
+		}
+
+		workQueue.await();
+
+		final Map<K, Properties> results = new LinkedHashMap<>();
+		resultFiles.forEach( (key, resultFile) -> results.put( key, loadResult( resultFile ) ) );
+		return results;
+	}
+
+	@SuppressWarnings("ResultOfMethodCallIgnored")
+	private static void prepareWorkDir(File workDir) {
+		final File[] existing = workDir.listFiles();
+		if ( existing != null ) {
+			for ( File file : existing ) {
+				file.delete();
+			}
+		}
+		workDir.mkdirs();
+	}
+
+	private static Properties loadResult(File resultFile) {
+		final Properties result = new Properties();
+		try ( final InputStream stream = new FileInputStream( resultFile ) ) {
+			result.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read jar probe result - " + resultFile.getAbsolutePath(), e );
+		}
+		return result;
+	}
+
+	@Override
+	public void execute() {
+		final File jarFile = getParameters().getJarFile().get().getAsFile();
+		final Properties result = new Properties();
+
+		withJarFile( jarFile, (jar) -> {
+			if ( Helper.hasBuildStepsList( jar ) ) {
+				result.setProperty( BUILD_STEPS_KEY, "true" );
+			}
+
+			final JarEntry jarEntry = jar.getJarEntry( EXTENSION_PROPERTIES_RELATIVE_PATH );
+			if ( jarEntry != null ) {
+				try ( final InputStream stream = jar.getInputStream( jarEntry ) ) {
+					final Properties extensionProperties = new Properties();
+					extensionProperties.load( stream );
+					result.setProperty( DEPLOYMENT_ARTIFACT_KEY, extensionProperties.getProperty( "deployment-artifact", "" ) );
+				}
+				catch (IOException e) {
+					throw new RuntimeException( "Error accessing quarkus-extension.properties - " + jarFile.getAbsolutePath(), e );
+				}
+			}
+		} );
+
+		final File resultFile = getParameters().getResultFile().get().getAsFile();
+		try ( final OutputStream stream = new FileOutputStream( resultFile ) ) {
+			result.store( stream, null );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to write jar probe result - " + resultFile.getAbsolutePath(), e );
+		}
+	}
+}
@@ -0,0 +1,498 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.gradle.api.logging.Logger;
+import org.gradle.api.logging.Logging;
+
+/**
+ * Incrementally compresses a jar.
+ *
+ * The jar tasks write their archive uncompressed (`STORED`), with a reproducible entry order and
+ * timestamps.  The archive is then compressed here, entry by entry, in the same order.  Entries
+ * whose content matches an entry of the previously compressed archive are copied from it byte-for-byte
+ * as raw compressed data; only new or changed entries are compressed.  The previous entry is only
+ * inflated (much cheaper than deflating) to confirm the match when its name, CRC and size match.
+ *
+ * Only plain (non-Zip64) archives are repacked this way - which is all the jar tasks produce unless
+ * `zip64` is enabled.  Zip64 archives have all of their entries deflated, without any reuse.
+ *
+ * @author Steve Ebersole
+ */
+public class JarRepacker {
+	private static final Logger LOGGER = Logging.getLogger( JarRepacker.class );
+
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+
+	private static final int LOCAL_HEADER_LENGTH = 30;
+	private static final int CENTRAL_HEADER_LENGTH = 46;
+	private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+
+	// the only general purpose flag carried over - names are UTF-8
+	private static final int UTF8_FLAG = 0x0800;
+
+	private JarRepacker() {
+	}
+
+	/**
+	 * Compresses the uncompressed `archive` in place, reusing the compressed entries of the previous
+	 * outcome kept in `workDir`
+	 */
+	public static void repack(File archive, File workDir) {
+		final File previous = new File( workDir, "previous.jar" );
+		final File next = new File( workDir, "next.jar" );
+
+		final int[] counts;
+		try {
+			Files.createDirectories( workDir.toPath() );
+			try ( ZipArchive stored = ZipArchive.open( archive );
+					ZipArchive reusable = previous.exists() && stored != null ? ZipArchive.open( previous ) : null ) {
+				counts = stored == null ? null : write( stored, reusable, next );
+			}
+
+			if ( counts == null ) {
+				deflateAll( archive, next );
+				Files.move( next.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING );
+				LOGGER.info( "Compressed Zip64 archive `{}` - all entries compressed", archive.getName() );
+				return;
+			}
+
+			Files.copy( next.toPath(), archive.toPath(), StandardCopyOption.REPLACE_EXISTING );
+			Files.move( next.toPath(), previous.toPath(), StandardCopyOption.REPLACE_EXISTING );
+		}
+		catch (IOException | DataFormatException e) {
+			throw new RuntimeException( "Unable to compress jar - " + archive.getAbsolutePath(), e );
+		}
+
+		LOGGER.info( "Compressed `{}` - {} entries reused, {} entries compressed", archive.getName(), counts[0], counts[1] );
+	}
+
+	private static int[] write(ZipArchive stored, ZipArchive reusable, File output) throws IOException, DataFormatException {
+		int reused = 0;
+		int compressed = 0;
+
+		final Deflater deflater = new Deflater( Deflater.DEFAULT_COMPRESSION, true );
+		try ( CountingOutputStream stream = new CountingOutputStream( new BufferedOutputStream( new FileOutputStream( output ) ) ) ) {
+			final List<CentralRecord> records = new ArrayList<>( stored.entries.size() );
+
+			for ( ZipArchive.Entry entry : stored.entries ) {
+				final boolean directory = entry.name.endsWith( "/" );
+
+				final int method;
+				final byte[] data;
+				if ( directory ) {
+					method = ZipEntry.STORED;
+					data = new byte[0];
+				}
+				else {
+					method = ZipEntry.DEFLATED;
+					final byte[] content = stored.content( entry );
+					final byte[] previousData = reusableData( reusable, entry, content );
+					if ( previousData != null ) {
+						data = previousData;
+						reused++;
+					}
+					else {
+						data = deflate( deflater, content );
+						compressed++;
+					}
+				}
+
+				final CentralRecord record = new CentralRecord( entry, method, data.length, stream.count );
+				if ( record.localHeaderOffset > 0xFFFFFFFFL ) {
+					throw new IOException( "Archive requires Zip64" );
+				}
+				record.writeLocalHeader( stream, stored.localExtra( entry ) );
+				stream.write( data );
+				records.add( record );
+			}
+
+			final long centralDirectoryOffset = stream.count;
+			for ( CentralRecord record : records ) {
+				record.writeCentralHeader( stream );
+			}
+			final long centralDirectorySize = stream.count - centralDirectoryOffset;
+
+			final ByteBuffer end = buffer( END_OF_CENTRAL_DIRECTORY_LENGTH );
+			end.putInt( END_OF_CENTRAL_DIRECTORY_SIGNATURE );
+			end.putShort( (short) 0 );
+			end.putShort( (short) 0 );
+			end.putShort( (short) records.size() );
+			end.putShort( (short) records.size() );
+			end.putInt( (int) centralDirectorySize );
+			end.putInt( (int) centralDirectoryOffset );
+			end.putShort( (short) 0 );
+			stream.write( end.array() );
+		}
+		finally {
+			deflater.end();
+		}
+
+		return new int[] { reused, compressed };
+	}
+
+	/**
+	 * The raw compressed data of the previous archive's entry of the same name, if its content
+	 * is the same as `content`
+	 */
+	private static byte[] reusableData(ZipArchive reusable, ZipArchive.Entry entry, byte[] content) throws IOException, DataFormatException {
+		final ZipArchive.Entry previous = reusable == null ? null : reusable.entriesByName.get( entry.name );
+		if ( previous == null
+				|| previous.method != ZipEntry.DEFLATED
+				|| previous.crc != entry.crc
+				|| previous.size != entry.size ) {
+			return null;
+		}
+
+		final byte[] raw = reusable.rawData( previous );
+		return Arrays.equals( reusable.content( previous, raw ), content ) ? raw : null;
+	}
+
+	/**
+	 * Deflates every entry of the (Zip64) `archive` into `output`
+	 */
+	private static void deflateAll(File archive, File output) throws IOException {
+		try ( ZipFile zipFile = new ZipFile( archive );
+				ZipOutputStream stream = new ZipOutputStream( new BufferedOutputStream( new FileOutputStream( output ) ) ) ) {
+			final Enumeration<? extends ZipEntry> entries = zipFile.entries();
+			while ( entries.hasMoreElements() ) {
+				final ZipEntry entry = entries.nextElement();
+				final ZipEntry compressedEntry = new ZipEntry( entry );
+				if ( !entry.isDirectory() ) {
+					compressedEntry.setMethod( ZipEntry.DEFLATED );
+					compressedEntry.setCompressedSize( -1 );
+				}
+				stream.putNextEntry( compressedEntry );
+				try ( InputStream content = zipFile.getInputStream( entry ) ) {
+					content.transferTo( stream );
+				}
+				stream.closeEntry();
+			}
+		}
+	}
+
+	private static byte[] deflate(Deflater deflater, byte[] content) {
+		deflater.reset();
+		deflater.setInput( content );
+		deflater.finish();
+
+		final ByteArrayOutputStream compressed = new ByteArrayOutputStream( Math.max( 64, content.length / 2 ) );
+		final byte[] buffer = new byte[8192];
+		while ( !deflater.finished() ) {
+			final int length = deflater.deflate( buffer );
+			compressed.write( buffer, 0, length );
+		}
+		return compressed.toByteArray();
+	}
+
+	private static ByteBuffer buffer(int length) {
+		return ByteBuffer.allocate( length ).order( ByteOrder.LITTLE_ENDIAN );
+	}
+
+	/**
+	 * An entry of the archive being written
+	 */
+	private static class CentralRecord {
+		private final ZipArchive.Entry entry;
+		private final int method;
+		private final long compressedSize;
+		private final long localHeaderOffset;
+
+		private CentralRecord(ZipArchive.Entry entry, int method, long compressedSize, long localHeaderOffset) {
+			this.entry = entry;
+			this.method = method;
+			this.compressedSize = compressedSize;
+			this.localHeaderOffset = localHeaderOffset;
+		}
+
+		private int versionNeeded() {
+			return method == ZipEntry.DEFLATED ? 20 : 10;
+		}
+
+		private void writeLocalHeader(OutputStream stream, byte[] extra) throws IOException {
+			final ByteBuffer header = buffer( LOCAL_HEADER_LENGTH );
+			header.putInt( LOCAL_HEADER_SIGNATURE );
+			header.putShort( (short) versionNeeded() );
+			header.putShort( (short) ( entry.flags & UTF8_FLAG ) );
+			header.putShort( (short) method );
+			header.putShort( (short) entry.time );
+			header.putShort( (short) entry.date );
+			header.putInt( (int) entry.crc );
+			header.putInt( (int) compressedSize );
+			header.putInt( (int) entry.size );
+			header.putShort( (short) entry.nameBytes.length );
+			header.putShort( (short) extra.length );
+			stream.write( header.array() );
+			stream.write( entry.nameBytes );
+			stream.write( extra );
+		}
+
+		private void writeCentralHeader(OutputStream stream) throws IOException {
+			final ByteBuffer header = buffer( CENTRAL_HEADER_LENGTH );
+			header.putInt( CENTRAL_HEADER_SIGNATURE );
+			header.putShort( (short) entry.versionMadeBy );
+			header.putShort( (short) versionNeeded() );
+			header.putShort( (short) ( entry.flags & UTF8_FLAG ) );
+			header.putShort( (short) method );
+			header.putShort( (short) entry.time );
+			header.putShort( (short) entry.date );
+			header.putInt( (int) entry.crc );
+			header.putInt( (int) compressedSize );
+			header.putInt( (int) entry.size );
+			header.putShort( (short) entry.nameBytes.length );
+			header.putShort( (short) entry.centralExtra.length );
+			header.putShort( (short) entry.comment.length );
+			header.putShort( (short) 0 );
+			header.putShort( (short) entry.internalAttributes );
+			header.putInt( (int) entry.externalAttributes );
+			header.putInt( (int) localHeaderOffset );
+			stream.write( header.array() );
+			stream.write( entry.nameBytes );
+			stream.write( entry.centralExtra );
+			stream.write( entry.comment );
+		}
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+		private long count;
+
+		private CountingOutputStream(OutputStream out) {
+			super( out );
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write( b );
+			count++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write( b, off, len );
+			count += len;
+		}
+	}
+
+	/**
+	 * Read access to the entries of an existing archive, by its central directory
+	 */
+	private static class ZipArchive implements Closeable {
+		private static class Entry {
+			private String name;
+			private byte[] nameBytes;
+			private int versionMadeBy;
+			private int flags;
+			private int method;
+			private int time;
+			private int date;
+			private long crc;
+			private long compressedSize;
+			private long size;
+			private byte[] centralExtra;
+			private byte[] comment;
+			private int internalAttributes;
+			private long externalAttributes;
+			private long localHeaderOffset;
+		}
+
+		private final FileChannel channel;
+		private final List<Entry> entries = new ArrayList<>();
+		private final Map<String, Entry> entriesByName = new HashMap<>();
+
+		private ZipArchive(FileChannel channel) {
+			this.channel = channel;
+		}
+
+		/**
+		 * @return The archive, or `null` for a Zip64 archive
+		 */
+		private static ZipArchive open(File file) throws IOException {
+			final ZipArchive archive = new ZipArchive( FileChannel.open( file.toPath(), StandardOpenOption.READ ) );
+			try {
+				if ( archive.readCentralDirectory() ) {
+					return archive;
+				}
+				archive.close();
+				return null;
+			}
+			catch (IOException | RuntimeException e) {
+				archive.close();
+				throw new IOException( "Unable to read archive - " + file.getAbsolutePath(), e );
+			}
+		}
+
+		private boolean readCentralDirectory() throws IOException {
+			final long fileSize = channel.size();
+			final int tailLength = (int) Math.min( fileSize, END_OF_CENTRAL_DIRECTORY_LENGTH + 0xFFFF );
+			final ByteBuffer tail = read( fileSize - tailLength, tailLength );
+
+			int endPosition = -1;
+			for ( int position = tailLength - END_OF_CENTRAL_DIRECTORY_LENGTH; position >= 0; position-- ) {
+				if ( tail.getInt( position ) == END_OF_CENTRAL_DIRECTORY_SIGNATURE ) {
+					endPosition = position;
+					break;
+				}
+			}
+			if ( endPosition < 0 ) {
+				throw new IOException( "No end of central directory record" );
+			}
+
+			final int entryCount = Short.toUnsignedInt( tail.getShort( endPosition + 10 ) );
+			final long directorySize = Integer.toUnsignedLong( tail.getInt( endPosition + 12 ) );
+			final long directoryOffset = Integer.toUnsignedLong( tail.getInt( endPosition + 16 ) );
+			if ( entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL ) {
+				return false;
+			}
+
+			final ByteBuffer directory = read( directoryOffset, (int) directorySize );
+			for ( int i = 0; i < entryCount; i++ ) {
+				if ( directory.getInt() != CENTRAL_HEADER_SIGNATURE ) {
+					throw new IOException( "Bad central directory header" );
+				}
+
+				final Entry entry = new Entry();
+				entry.versionMadeBy = Short.toUnsignedInt( directory.getShort() );
+				directory.getShort();
+				entry.flags = Short.toUnsignedInt( directory.getShort() );
+				entry.method = Short.toUnsignedInt( directory.getShort() );
+				entry.time = Short.toUnsignedInt( directory.getShort() );
+				entry.date = Short.toUnsignedInt( directory.getShort() );
+				entry.crc = Integer.toUnsignedLong( directory.getInt() );
+				entry.compressedSize = Integer.toUnsignedLong( directory.getInt() );
+				entry.size = Integer.toUnsignedLong( directory.getInt() );
+				final int nameLength = Short.toUnsignedInt( directory.getShort() );
+				final int extraLength = Short.toUnsignedInt( directory.getShort() );
+				final int commentLength = Short.toUnsignedInt( directory.getShort() );
+				directory.getShort();
+				entry.internalAttributes = Short.toUnsignedInt( directory.getShort() );
+				entry.externalAttributes = Integer.toUnsignedLong( directory.getInt() );
+				entry.localHeaderOffset = Integer.toUnsignedLong( directory.getInt() );
+
+				entry.nameBytes = bytes( directory, nameLength );
+				entry.centralExtra = bytes( directory, extraLength );
+				entry.comment = bytes( directory, commentLength );
+				entry.name = new String( entry.nameBytes, StandardCharsets.UTF_8 );
+
+				if ( entry.compressedSize == 0xFFFFFFFFL || entry.size == 0xFFFFFFFFL || entry.localHeaderOffset == 0xFFFFFFFFL ) {
+					return false;
+				}
+
+				entries.add( entry );
+				entriesByName.put( entry.name, entry );
+			}
+			return true;
+		}
+
+		private byte[] localExtra(Entry entry) throws IOException {
+			final ByteBuffer header = read( entry.localHeaderOffset, LOCAL_HEADER_LENGTH );
+			if ( header.getInt( 0 ) != LOCAL_HEADER_SIGNATURE ) {
+				throw new IOException( "Bad local header - " + entry.name );
+			}
+			final int nameLength = Short.toUnsignedInt( header.getShort( 26 ) );
+			final int extraLength = Short.toUnsignedInt( header.getShort( 28 ) );
+			return read( entry.localHeaderOffset + LOCAL_HEADER_LENGTH + nameLength, extraLength ).array();
+		}
+
+		/**
+		 * The entry's data as stored in the archive (compressed or not)
+		 */
+		private byte[] rawData(Entry entry) throws IOException {
+			final ByteBuffer header = read( entry.localHeaderOffset, LOCAL_HEADER_LENGTH );
+			if ( header.getInt( 0 ) != LOCAL_HEADER_SIGNATURE ) {
+				throw new IOException( "Bad local header - " + entry.name );
+			}
+			final int nameLength = Short.toUnsignedInt( header.getShort( 26 ) );
+			final int extraLength = Short.toUnsignedInt( header.getShort( 28 ) );
+			final long dataOffset = entry.localHeaderOffset + LOCAL_HEADER_LENGTH + nameLength + extraLength;
+			return read( dataOffset, Math.toIntExact( entry.compressedSize ) ).array();
+		}
+
+		/**
+		 * The entry's uncompressed content
+		 */
+		private byte[] content(Entry entry) throws IOException, DataFormatException {
+			return content( entry, rawData( entry ) );
+		}
+
+		/**
+		 * The entry's uncompressed content, given its {@linkplain #rawData raw data}
+		 */
+		private byte[] content(Entry entry, byte[] raw) throws DataFormatException, IOException {
+			if ( entry.method == ZipEntry.STORED ) {
+				return raw;
+			}
+			if ( entry.method != ZipEntry.DEFLATED ) {
+				throw new IOException( "Unsupported compression method (" + entry.method + ") - " + entry.name );
+			}
+
+			final Inflater inflater = new Inflater( true );
+			try {
+				inflater.setInput( raw );
+				final byte[] content = new byte[Math.toIntExact( entry.size )];
+				int length = 0;
+				while ( length < content.length && !inflater.finished() ) {
+					final int inflated = inflater.inflate( content, length, content.length - length );
+					if ( inflated == 0 && ( inflater.needsInput() || inflater.needsDictionary() ) ) {
+						throw new DataFormatException( "Truncated entry - " + entry.name );
+					}
+					length += inflated;
+				}
+				return content;
+			}
+			finally {
+				inflater.end();
+			}
+		}
+
+		private ByteBuffer read(long position, int length) throws IOException {
+			final ByteBuffer buffer = buffer( length );
+			while ( buffer.hasRemaining() ) {
+				if ( channel.read( buffer, position + buffer.position() ) < 0 ) {
+					throw new IOException( "Unexpected end of archive" );
+				}
+			}
+			buffer.flip();
+			return buffer;
+		}
+
+		private static byte[] bytes(ByteBuffer buffer, int length) {
+			final byte[] bytes = new byte[length];
+			buffer.get( bytes );
+			return bytes;
+		}
+
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open-addressing hash map of primitive `long` keys to `int` values, used to track
+ * hashed jar entry names without materializing them as Strings or boxing them.
+ *
+ * @author Steve Ebersole
+ */
+class LongIntHashMap {
+	public static final int NO_VALUE = -1;
+
+	private static final long EMPTY = 0L;
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private long[] keys;
+	private int[] values;
+	private int size;
+	private int resizeThreshold;
+
+	private boolean hasZeroKey;
+	private int zeroKeyValue = NO_VALUE;
+
+	LongIntHashMap(int expectedSize) {
+		allocate( capacityFor( expectedSize ) );
+	}
+
+	public int size() {
+		return size + ( hasZeroKey ? 1 : 0 );
+	}
+
+	/**
+	 * Returns the value associated with `key`, or {@link #NO_VALUE}
+	 */
+	public int get(long key) {
+		if ( key == EMPTY ) {
+			return hasZeroKey ? zeroKeyValue : NO_VALUE;
+		}
+
+		final int mask = keys.length - 1;
+		int slot = slot( key, mask );
+		while ( keys[slot] != EMPTY ) {
+			if ( keys[slot] == key ) {
+				return values[slot];
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return NO_VALUE;
+	}
+
+	/**
+	 * Associates `value` with `key` unless the key is already present.
+	 *
+	 * @return The existing value, or {@link #NO_VALUE} if the key was added
+	 */
+	public int putIfAbsent(long key, int value) {
+		if ( key == EMPTY ) {
+			if ( hasZeroKey ) {
+				return zeroKeyValue;
+			}
+			hasZeroKey = true;
+			zeroKeyValue = value;
+			return NO_VALUE;
+		}
+
+		final int mask = keys.length - 1;
+		int slot = slot( key, mask );
+		while ( keys[slot] != EMPTY ) {
+			if ( keys[slot] == key ) {
+				return values[slot];
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+
+		keys[slot] = key;
+		values[slot] = value;
+		if ( ++size > resizeThreshold ) {
+			rehash();
+		}
+		return NO_VALUE;
+	}
+
+	private void rehash() {
+		final long[] oldKeys = keys;
+		final int[] oldValues = values;
+
+		allocate( oldKeys.length << 1 );
+
+		final int mask = keys.length - 1;
+		for ( int i = 0; i < oldKeys.length; i++ ) {
+			final long key = oldKeys[i];
+			if ( key != EMPTY ) {
+				int slot = slot( key, mask );
+				while ( keys[slot] != EMPTY ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				keys[slot] = key;
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new int[capacity];
+		Arrays.fill( values, NO_VALUE );
+		resizeThreshold = (int) ( capacity * LOAD_FACTOR );
+	}
+
+	private static int capacityFor(int expectedSize) {
+		final int minimum = (int) Math.ceil( Math.max( expectedSize, 16 ) / LOAD_FACTOR );
+		return Integer.highestOneBit( minimum - 1 ) << 1;
+	}
+
+	private static int slot(long key, int mask) {
+		// the keys are already well-mixed hashes; fold the high bits in anyway
+		return (int) ( key ^ ( key >>> 32 ) ) & mask;
+	}
+}
@@ -0,0 +1,516 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.workers.WorkAction;
+import org.gradle.workers.WorkParameters;
+import org.gradle.workers.WorkQueue;
+
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Worker API action publishing a single {@link PublishExtension.Module} to a file-based Maven
+ * repository, including the checksum files and the artifact's `maven-metadata.xml`.
+ *
+ * Each artifact is read once to compute all of its checksums.  Artifacts whose SHA-1 checksum
+ * matches the one already published are left alone.  The number of published and unchanged
+ * artifacts is written to a small properties file which the submitting task reads back once the
+ * {@link WorkQueue} has completed.
+ *
+ * @author Steve Ebersole
+ */
+public abstract class ModulePublisher implements WorkAction<ModulePublisher.Parameters> {
+	/**
+	 * Result key holding the number of artifacts published
+	 */
+	public static final String PUBLISHED_KEY = "published";
+
+	/**
+	 * Result key holding the number of artifacts which were already published, unchanged
+	 */
+	public static final String UNCHANGED_KEY = "unchanged";
+
+	/**
+	 * The checksum files written for each published file, by extension
+	 */
+	private static final Map<String, String> CHECKSUM_ALGORITHMS = new LinkedHashMap<>();
+	static {
+		CHECKSUM_ALGORITHMS.put( "md5", "MD5" );
+		CHECKSUM_ALGORITHMS.put( "sha1", "SHA-1" );
+		CHECKSUM_ALGORITHMS.put( "sha256", "SHA-256" );
+		CHECKSUM_ALGORITHMS.put( "sha512", "SHA-512" );
+	}
+
+	private static final Pattern VERSION_ITEM = Pattern.compile( "[0-9]+|[^0-9.\\-_+]+" );
+	private static final List<String> QUALIFIERS = Arrays.asList( "alpha", "beta", "milestone", "rc", "snapshot", "", "sp" );
+	private static final Map<String, String> QUALIFIER_ALIASES = new HashMap<>();
+	static {
+		QUALIFIER_ALIASES.put( "a", "alpha" );
+		QUALIFIER_ALIASES.put( "b", "beta" );
+		QUALIFIER_ALIASES.put( "m", "milestone" );
+		QUALIFIER_ALIASES.put( "cr", "rc" );
+		QUALIFIER_ALIASES.put( "final", "" );
+		QUALIFIER_ALIASES.put( "ga", "" );
+		QUALIFIER_ALIASES.put( "release", "" );
+	}
+
+	private static final DateTimeFormatter LAST_UPDATED_FORMAT = DateTimeFormatter.ofPattern( "yyyyMMddHHmmss", Locale.ROOT );
+
+	public interface Parameters extends WorkParameters {
+		Property<PublishExtension.Module> getModule();
+		DirectoryProperty getRepositoryDir();
+		RegularFileProperty getResultFile();
+	}
+
+	/**
+	 * Publishes each of the modules in parallel, returning the outcomes keyed by artifactId.
+	 * Waits for all submitted work to complete.
+	 *
+	 * @param workDir Directory used to exchange results with the workers; cleared first
+	 */
+	public static Map<String, Properties> publishAll(WorkQueue workQueue, List<PublishExtension.Module> modules, File repositoryDir, File workDir) {
+		prepareWorkDir( workDir );
+
+		final Map<String, File> resultFiles = new LinkedHashMap<>();
+		for ( PublishExtension.Module module : modules ) {
+			final File resultFile = new File( workDir, module.getArtifactId() + ".properties" );
+			workQueue.submit( ModulePublisher.class, (parameters) -> {
+				parameters.getModule().set( module );
+				parameters.getRepositoryDir().set( repositoryDir );
+				parameters.getResultFile().set( resultFile );
+			} );
+			resultFiles.put( module.getArtifactId(), resultFile );
+		}
+
+		workQueue.await();
+
+		final Map<String, Properties> results = new LinkedHashMap<>();
+		resultFiles.forEach( (artifactId, resultFile) -> results.put( artifactId, loadResult( resultFile ) ) );
+		return results;
+	}
+
+	@SuppressWarnings("ResultOfMethodCallIgnored")
+	private static void prepareWorkDir(File workDir) {
+		final File[] existing = workDir.listFiles();
+		if ( existing != null ) {
+			for ( File file : existing ) {
+				file.delete();
+			}
+		}
+		workDir.mkdirs();
+	}
+
+	private static Properties loadResult(File resultFile) {
+		final Properties result = new Properties();
+		try ( final InputStream stream = new FileInputStream( resultFile ) ) {
+			result.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read publishing result - " + resultFile.getAbsolutePath(), e );
+		}
+		return result;
+	}
+
+	@Override
+	public void execute() {
+		final PublishExtension.Module module = getParameters().getModule().get();
+		final File repositoryDir = getParameters().getRepositoryDir().get().getAsFile();
+
+		final File moduleDir = new File(
+				repositoryDir,
+				module.getGroupId().replace( '.', '/' ) + "/" + module.getArtifactId()
+		);
+		final File versionDir = new File( moduleDir, module.getVersion() );
+		createDirectory( versionDir );
+
+		int published = 0;
+		int unchanged = 0;
+		for ( PublishExtension.Artifact artifact : module.getArtifacts() ) {
+			final String classifier = artifact.getClassifier() == null || artifact.getClassifier().isEmpty()
+					? ""
+					: "-" + artifact.getClassifier();
+			final String fileName = module.getArtifactId() + "-" + module.getVersion() + classifier + "." + artifact.getExtension();
+
+			if ( publish( artifact.getFile(), new File( versionDir, fileName ) ) ) {
+				published++;
+			}
+			else {
+				unchanged++;
+			}
+		}
+
+		updateMetadata( moduleDir, module );
+
+		final Properties result = new Properties();
+		result.setProperty( PUBLISHED_KEY, Integer.toString( published ) );
+		result.setProperty( UNCHANGED_KEY, Integer.toString( unchanged ) );
+
+		final File resultFile = getParameters().getResultFile().get().getAsFile();
+		try ( final OutputStream stream = new FileOutputStream( resultFile ) ) {
+			result.store( stream, null );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to write publishing result - " + resultFile.getAbsolutePath(), e );
+		}
+	}
+
+	/**
+	 * Publishes the file, unless it is already published unchanged
+	 *
+	 * @return Whether the file was published
+	 */
+	private static boolean publish(File source, File target) {
+		final Map<String, String> checksums = checksums( source );
+
+		final File sha1File = new File( target.getPath() + ".sha1" );
+		if ( target.isFile() && target.length() == source.length() && sha1File.isFile() ) {
+			if ( checksums.get( "sha1" ).equals( readString( sha1File ).trim() ) ) {
+				return false;
+			}
+		}
+
+		final Path tempPath = tempFile( target );
+		try {
+			Files.copy( source.toPath(), tempPath, StandardCopyOption.REPLACE_EXISTING );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to publish file - " + source.getAbsolutePath(), e );
+		}
+		replace( tempPath, target );
+		writeChecksums( target, checksums );
+		return true;
+	}
+
+	/**
+	 * Adds the version to the artifact's `maven-metadata.xml`, merged with the versions already listed.
+	 * `latest` and `release` are the highest (release) versions by {@linkplain #compareVersions version order},
+	 * and `lastUpdated` is refreshed on every publication.  SNAPSHOT versions also get version-level
+	 * metadata, listing their (non-unique) artifacts - see {@link #writeSnapshotMetadata}
+	 */
+	private static void updateMetadata(File moduleDir, PublishExtension.Module module) {
+		final File metadataFile = new File( moduleDir, "maven-metadata.xml" );
+		final String lastUpdated = LAST_UPDATED_FORMAT.format( ZonedDateTime.now( ZoneOffset.UTC ) );
+
+		final List<String> versions = new ArrayList<>( readVersions( metadataFile ) );
+		if ( !versions.contains( module.getVersion() ) ) {
+			versions.add( module.getVersion() );
+		}
+		versions.sort( ModulePublisher::compareVersions );
+
+		String release = null;
+		for ( String version : versions ) {
+			if ( !isSnapshot( version ) ) {
+				release = version;
+			}
+		}
+
+		final StringBuilder buffer = new StringBuilder();
+		buffer.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+		buffer.append( "<metadata>\n" );
+		buffer.append( "  <groupId>" ).append( module.getGroupId() ).append( "</groupId>\n" );
+		buffer.append( "  <artifactId>" ).append( module.getArtifactId() ).append( "</artifactId>\n" );
+		buffer.append( "  <versioning>\n" );
+		buffer.append( "    <latest>" ).append( versions.get( versions.size() - 1 ) ).append( "</latest>\n" );
+		if ( release != null ) {
+			buffer.append( "    <release>" ).append( release ).append( "</release>\n" );
+		}
+		buffer.append( "    <versions>\n" );
+		for ( String version : versions ) {
+			buffer.append( "      <version>" ).append( version ).append( "</version>\n" );
+		}
+		buffer.append( "    </versions>\n" );
+		buffer.append( "    <lastUpdated>" ).append( lastUpdated ).append( "</lastUpdated>\n" );
+		buffer.append( "  </versioning>\n" );
+		buffer.append( "</metadata>\n" );
+		writeMetadata( metadataFile, buffer );
+
+		if ( isSnapshot( module.getVersion() ) ) {
+			writeSnapshotMetadata( new File( moduleDir, module.getVersion() ), module, lastUpdated );
+		}
+	}
+
+	/**
+	 * Writes the version-level `maven-metadata.xml` of a SNAPSHOT version.  The artifacts are published
+	 * without timestamps, so the metadata marks the snapshot as a `localCopy` (as Maven does when
+	 * installing) and each `snapshotVersion` refers to the plain version
+	 */
+	private static void writeSnapshotMetadata(File versionDir, PublishExtension.Module module, String lastUpdated) {
+		final StringBuilder buffer = new StringBuilder();
+		buffer.append( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" );
+		buffer.append( "<metadata modelVersion=\"1.1.0\">\n" );
+		buffer.append( "  <groupId>" ).append( module.getGroupId() ).append( "</groupId>\n" );
+		buffer.append( "  <artifactId>" ).append( module.getArtifactId() ).append( "</artifactId>\n" );
+		buffer.append( "  <version>" ).append( module.getVersion() ).append( "</version>\n" );
+		buffer.append( "  <versioning>\n" );
+		buffer.append( "    <snapshot>\n" );
+		buffer.append( "      <localCopy>true</localCopy>\n" );
+		buffer.append( "    </snapshot>\n" );
+		buffer.append( "    <lastUpdated>" ).append( lastUpdated ).append( "</lastUpdated>\n" );
+		buffer.append( "    <snapshotVersions>\n" );
+		for ( PublishExtension.Artifact artifact : module.getArtifacts() ) {
+			buffer.append( "      <snapshotVersion>\n" );
+			if ( artifact.getClassifier() != null && !artifact.getClassifier().isEmpty() ) {
+				buffer.append( "        <classifier>" ).append( artifact.getClassifier() ).append( "</classifier>\n" );
+			}
+			buffer.append( "        <extension>" ).append( artifact.getExtension() ).append( "</extension>\n" );
+			buffer.append( "        <value>" ).append( module.getVersion() ).append( "</value>\n" );
+			buffer.append( "        <updated>" ).append( lastUpdated ).append( "</updated>\n" );
+			buffer.append( "      </snapshotVersion>\n" );
+		}
+		buffer.append( "    </snapshotVersions>\n" );
+		buffer.append( "  </versioning>\n" );
+		buffer.append( "</metadata>\n" );
+		writeMetadata( new File( versionDir, "maven-metadata.xml" ), buffer );
+	}
+
+	private static void writeMetadata(File metadataFile, CharSequence content) {
+		final byte[] bytes = content.toString().getBytes( StandardCharsets.UTF_8 );
+		final Path tempPath = tempFile( metadataFile );
+		try {
+			Files.write( tempPath, bytes );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to write Maven metadata - " + metadataFile.getAbsolutePath(), e );
+		}
+		replace( tempPath, metadataFile );
+		writeChecksums( metadataFile, checksums( metadataFile ) );
+	}
+
+	private static boolean isSnapshot(String version) {
+		return version.endsWith( "-SNAPSHOT" );
+	}
+
+	private static Set<String> readVersions(File metadataFile) {
+		final Set<String> versions = new LinkedHashSet<>();
+		if ( !metadataFile.isFile() ) {
+			return versions;
+		}
+
+		try {
+			final NodeList versionNodes = DocumentBuilderFactory.newInstance()
+					.newDocumentBuilder()
+					.parse( metadataFile )
+					.getElementsByTagName( "version" );
+			for ( int i = 0; i < versionNodes.getLength(); i++ ) {
+				versions.add( versionNodes.item( i ).getTextContent().trim() );
+			}
+		}
+		catch (ParserConfigurationException | SAXException | IOException e) {
+			throw new RuntimeException( "Unable to read Maven metadata - " + metadataFile.getAbsolutePath(), e );
+		}
+		return versions;
+	}
+
+	/**
+	 * Orders versions the way Maven does, in essence - numeric parts numerically, with qualifiers
+	 * ordered `alpha` < `beta` < `milestone` < `rc` < `snapshot` < (release, `final`, `ga`) < `sp`,
+	 * unknown qualifiers last (lexically)
+	 */
+	static int compareVersions(String first, String second) {
+		final List<Object> firstItems = versionItems( first );
+		final List<Object> secondItems = versionItems( second );
+		for ( int i = 0; i < Math.max( firstItems.size(), secondItems.size() ); i++ ) {
+			final int comparison = compareVersionItems(
+					i < firstItems.size() ? firstItems.get( i ) : null,
+					i < secondItems.size() ? secondItems.get( i ) : null
+			);
+			if ( comparison != 0 ) {
+				return comparison;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * The numeric (`BigInteger`) and qualifier (`String`) parts of the version
+	 */
+	private static List<Object> versionItems(String version) {
+		final List<Object> items = new ArrayList<>();
+		final Matcher matcher = VERSION_ITEM.matcher( version.toLowerCase( Locale.ROOT ) );
+		while ( matcher.find() ) {
+			final String item = matcher.group();
+			if ( Character.isDigit( item.charAt( 0 ) ) ) {
+				items.add( new BigInteger( item ) );
+			}
+			else {
+				trimZeros( items );
+				items.add( QUALIFIER_ALIASES.getOrDefault( item, item ) );
+			}
+		}
+		trimZeros( items );
+		return items;
+	}
+
+	/**
+	 * Drops the trailing zeros of the numeric parts so that `1.0`, `1.0.0` and `1` are equal - as
+	 * are `1.0-SP1` and `1-SP1`
+	 */
+	private static void trimZeros(List<Object> items) {
+		while ( !items.isEmpty() && BigInteger.ZERO.equals( items.get( items.size() - 1 ) ) ) {
+			items.remove( items.size() - 1 );
+		}
+	}
+
+	/**
+	 * Compares two version parts, either possibly missing (`null`) - a missing part is
+	 * equivalent to `0` or to the release qualifier.  Numbers are higher than qualifiers
+	 */
+	private static int compareVersionItems(Object first, Object second) {
+		if ( first == null && second == null ) {
+			return 0;
+		}
+		if ( first == null ) {
+			return -compareVersionItems( second, null );
+		}
+		if ( first instanceof BigInteger ) {
+			if ( second == null ) {
+				return ( (BigInteger) first ).signum();
+			}
+			return second instanceof BigInteger ? ( (BigInteger) first ).compareTo( (BigInteger) second ) : 1;
+		}
+		if ( second instanceof BigInteger ) {
+			return -1;
+		}
+
+		final String firstQualifier = (String) first;
+		final String secondQualifier = second == null ? "" : (String) second;
+		final int rankComparison = Integer.compare( qualifierRank( firstQualifier ), qualifierRank( secondQualifier ) );
+		return rankComparison != 0 ? rankComparison : firstQualifier.compareTo( secondQualifier );
+	}
+
+	private static int qualifierRank(String qualifier) {
+		final int rank = QUALIFIERS.indexOf( qualifier );
+		return rank < 0 ? QUALIFIERS.size() : rank;
+	}
+
+	/**
+	 * Computes all of the checksums in a single pass over the file
+	 */
+	private static Map<String, String> checksums(File file) {
+		final Map<String, MessageDigest> digests = new LinkedHashMap<>();
+		try {
+			for ( Map.Entry<String, String> entry : CHECKSUM_ALGORITHMS.entrySet() ) {
+				digests.put( entry.getKey(), MessageDigest.getInstance( entry.getValue() ) );
+			}
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new RuntimeException( "Unable to create checksum digest", e );
+		}
+
+		final byte[] buffer = new byte[64 * 1024];
+		try ( final InputStream stream = new FileInputStream( file ) ) {
+			int read;
+			while ( ( read = stream.read( buffer ) ) != -1 ) {
+				for ( MessageDigest digest : digests.values() ) {
+					digest.update( buffer, 0, read );
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to compute checksums - " + file.getAbsolutePath(), e );
+		}
+
+		final Map<String, String> checksums = new LinkedHashMap<>();
+		digests.forEach( (extension, digest) -> {
+			final byte[] hash = digest.digest();
+			checksums.put(
+					extension,
+					String.format( Locale.ROOT, "%0" + ( hash.length * 2 ) + "x", new BigInteger( 1, hash ) )
+			);
+		} );
+		return checksums;
+	}
+
+	private static void writeChecksums(File target, Map<String, String> checksums) {
+		checksums.forEach( (extension, checksum) -> {
+			final File checksumFile = new File( target.getPath() + "." + extension );
+			final Path tempPath = tempFile( checksumFile );
+			try {
+				Files.write( tempPath, checksum.getBytes( StandardCharsets.US_ASCII ) );
+			}
+			catch (IOException e) {
+				throw new RuntimeException( "Unable to write checksum file - " + checksumFile.getAbsolutePath(), e );
+			}
+			replace( tempPath, checksumFile );
+		} );
+	}
+
+	private static String readString(File file) {
+		try {
+			return new String( Files.readAllBytes( file.toPath() ), StandardCharsets.UTF_8 );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read file - " + file.getAbsolutePath(), e );
+		}
+	}
+
+	private static void createDirectory(File directory) {
+		try {
+			Files.createDirectories( directory.toPath() );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to create directory - " + directory.getAbsolutePath(), e );
+		}
+	}
+
+	private static Path tempFile(File target) {
+		try {
+			return Files.createTempFile( target.getParentFile().toPath(), target.getName(), ".tmp" );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to create temporary file for - " + target.getAbsolutePath(), e );
+		}
+	}
+
+	/**
+	 * Moves the temporary file into place - atomically where the file system allows, so that
+	 * readers of the repository never see a partially written file
+	 */
+	private static void replace(Path tempPath, File target) {
+		try {
+			try {
+				Files.move( tempPath, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+			}
+			catch (AtomicMoveNotSupportedException e) {
+				Files.move( tempPath, target.toPath(), StandardCopyOption.REPLACE_EXISTING );
+			}
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to replace file - " + target.getAbsolutePath(), e );
+		}
+	}
+}
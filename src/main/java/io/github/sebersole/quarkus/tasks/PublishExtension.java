@@ -0,0 +1,156 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.Serializable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.provider.ListProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
+
+import io.github.sebersole.quarkus.Names;
+import io.github.sebersole.quarkus.ValidationException;
+
+/**
+ * Publishes the extension's publications (`extension`, `deployment` and `spi`) to a file-based
+ * Maven repository in one step.
+ *
+ * The publications are published concurrently using the Worker API - see {@link ModulePublisher}.
+ * Each artifact is read once to compute all of its checksums; artifacts whose checksum matches the
+ * one already in the repository are skipped, along with their checksum files.  SNAPSHOT versions
+ * are published as non-unique versions so that unchanged artifacts can be recognized, with
+ * version-level metadata marking them as a local copy.
+ *
+ * @author Steve Ebersole
+ */
+public abstract class PublishExtension extends DefaultTask {
+	public static final String TASK_NAME_PREFIX = "publishQuarkusExtensionTo";
+
+	/**
+	 * A publication to be published
+	 */
+	public static class Module implements Serializable {
+		private final String groupId;
+		private final String artifactId;
+		private final String version;
+		private final List<Artifact> artifacts = new ArrayList<>();
+
+		public Module(String groupId, String artifactId, String version) {
+			this.groupId = groupId;
+			this.artifactId = artifactId;
+			this.version = version;
+		}
+
+		public void artifact(File file, String classifier, String extension) {
+			artifacts.add( new Artifact( file, classifier, extension ) );
+		}
+
+		public String getGroupId() {
+			return groupId;
+		}
+
+		public String getArtifactId() {
+			return artifactId;
+		}
+
+		public String getVersion() {
+			return version;
+		}
+
+		public List<Artifact> getArtifacts() {
+			return artifacts;
+		}
+	}
+
+	/**
+	 * A file published as part of a {@link Module}
+	 */
+	public static class Artifact implements Serializable {
+		private final File file;
+		private final String classifier;
+		private final String extension;
+
+		public Artifact(File file, String classifier, String extension) {
+			this.file = file;
+			this.classifier = classifier;
+			this.extension = extension;
+		}
+
+		public File getFile() {
+			return file;
+		}
+
+		public String getClassifier() {
+			return classifier;
+		}
+
+		public String getExtension() {
+			return extension;
+		}
+	}
+
+	private final WorkerExecutor workerExecutor;
+
+	@Inject
+	public PublishExtension(WorkerExecutor workerExecutor) {
+		this.workerExecutor = workerExecutor;
+		setGroup( Names.TASK_GROUP );
+	}
+
+	/**
+	 * The name of the target repository, for reporting
+	 */
+	@Internal
+	public abstract Property<String> getRepositoryName();
+
+	/**
+	 * The URL of the target repository - must be a `file:` URL; the task is only registered for
+	 * file-based repositories
+	 */
+	@Internal
+	public abstract Property<URI> getRepositoryUrl();
+
+	@Internal
+	public abstract ListProperty<Module> getModules();
+
+	@TaskAction
+	public void publish() {
+		final URI repositoryUrl = getRepositoryUrl().get();
+		if ( !"file".equals( repositoryUrl.getScheme() ) ) {
+			throw new ValidationException(
+					"Only file-based repositories are supported by `" + getName() + "` - " + repositoryUrl
+							+ "; use the standard publishing tasks for this repository"
+			);
+		}
+		final File repositoryDir = new File( repositoryUrl );
+
+		final Map<String, Properties> results = ModulePublisher.publishAll(
+				workerExecutor.noIsolation(),
+				getModules().get(),
+				repositoryDir,
+				new File( getTemporaryDir(), "results" )
+		);
+
+		int published = 0;
+		int unchanged = 0;
+		for ( Properties result : results.values() ) {
+			published += Integer.parseInt( result.getProperty( ModulePublisher.PUBLISHED_KEY, "0" ) );
+			unchanged += Integer.parseInt( result.getProperty( ModulePublisher.UNCHANGED_KEY, "0" ) );
+		}
+
+		getLogger().lifecycle(
+				"Published {} artifacts ({} unchanged) to the `{}` repository",
+				published,
+				unchanged,
+				getRepositoryName().get()
+		);
+	}
+}
@@ -0,0 +1,21 @@
+package io.github.sebersole.quarkus.tasks;
+
+import org.gradle.api.Task;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.tasks.Classpath;
+
+/**
+ * A task which runs its work with the libraries of the
+ * {@value io.github.sebersole.quarkus.Names#TOOLING_CONFIG_NAME} Configuration (Jandex, JSON),
+ * in an isolated class loader.  Those libraries are not part of the plugin's own classpath, so
+ * they are only loaded when such a task executes and cannot clash with other plugins.
+ *
+ * @author Steve Ebersole
+ */
+public interface ToolingAware extends Task {
+	/**
+	 * The classpath for the isolated work
+	 */
+	@Classpath
+	ConfigurableFileCollection getToolingClasspath();
+}
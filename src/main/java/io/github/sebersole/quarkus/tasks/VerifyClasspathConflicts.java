@@ -0,0 +1,180 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.inject.Inject;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.SourceSetContainer;
+import org.gradle.api.tasks.TaskAction;
+
+import io.github.sebersole.quarkus.ExtensionDescriptor;
+import io.github.sebersole.quarkus.Helper;
+import io.github.sebersole.quarkus.Names;
+import io.github.sebersole.quarkus.ValidationException;
+
+/**
+ * Detects duplicate classes and split packages on the extension's runtime and
+ * deployment classpaths - the same classpaths verified by {@link VerifyExtensionDependencies}
+ * and {@link VerifyDeploymentDependencies}.
+ *
+ * Produces a report (`build/quarkus/classpath-conflicts-report.properties`) with one entry per
+ * conflict, keyed as `<classpath>:duplicate-class:<entry>` or `<classpath>:split-package:<package>`
+ * and naming the jars involved.  A previous report may be used as {@linkplain #getBaseline() baseline};
+ * with {@linkplain #getFailOnNewConflicts() failOnNewConflicts} enabled, conflicts not found in the
+ * baseline fail the build.
+ *
+ * @see ClasspathScanner
+ *
+ * @author Steve Ebersole
+ */
+@CacheableTask
+public abstract class VerifyClasspathConflicts extends DefaultTask {
+	public static final String TASK_NAME = "verifyClasspathConflicts";
+
+	public static final String DUPLICATE_CLASS = "duplicate-class";
+	public static final String SPLIT_PACKAGE = "split-package";
+
+	@Inject
+	public VerifyClasspathConflicts(@SuppressWarnings("unused") ExtensionDescriptor config) {
+		setGroup( Names.TASK_GROUP );
+		setDescription( "Detects duplicate classes and split packages on the extension's runtime and deployment classpaths" );
+
+		final SourceSetContainer sourceSets = getProject().getExtensions().getByType( JavaPluginExtension.class ).getSourceSets();
+		final Configuration runtimeClasspath = getProject().getConfigurations().getByName(
+				sourceSets.getByName( SourceSet.MAIN_SOURCE_SET_NAME ).getRuntimeClasspathConfigurationName()
+		);
+		final Configuration deploymentClasspath = getProject().getConfigurations().getByName(
+				sourceSets.getByName( "deployment" ).getRuntimeClasspathConfigurationName()
+		);
+
+		getRuntimeDependencies().from( runtimeClasspath );
+		getRuntimeArtifacts().set( runtimeClasspath.getIncoming().getArtifacts().getResolvedArtifacts() );
+		getDeploymentDependencies().from( deploymentClasspath );
+		getDeploymentArtifacts().set( deploymentClasspath.getIncoming().getArtifacts().getResolvedArtifacts() );
+
+		getFailOnNewConflicts().convention( false );
+		getReport().convention( getProject().getLayout().getBuildDirectory().file( "quarkus/classpath-conflicts-report.properties" ) );
+	}
+
+	@Classpath
+	public abstract ConfigurableFileCollection getRuntimeDependencies();
+
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getRuntimeArtifacts();
+
+	@Classpath
+	public abstract ConfigurableFileCollection getDeploymentDependencies();
+
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getDeploymentArtifacts();
+
+	/**
+	 * Previously accepted conflicts, in the format of {@link #getReport()}
+	 */
+	@InputFile
+	@Optional
+	@PathSensitive( PathSensitivity.NONE )
+	public abstract RegularFileProperty getBaseline();
+
+	/**
+	 * Whether conflicts not present in the {@linkplain #getBaseline() baseline} should fail the build.
+	 * Defaults to `false`, in which case conflicts are only reported.
+	 */
+	@Input
+	public abstract Property<Boolean> getFailOnNewConflicts();
+
+	@OutputFile
+	public abstract RegularFileProperty getReport();
+
+	@TaskAction
+	public void verifyClasspaths() {
+		final Properties report = new Properties();
+		scan( "runtime", getRuntimeArtifacts().get(), report );
+		scan( "deployment", getDeploymentArtifacts().get(), report );
+
+		final File reportFile = getReport().get().getAsFile();
+		//noinspection ResultOfMethodCallIgnored
+		reportFile.getParentFile().mkdirs();
+		Helper.storeSorted( report, reportFile );
+
+		final Set<String> newConflicts = new TreeSet<>( report.stringPropertyNames() );
+		newConflicts.removeAll( loadBaseline().stringPropertyNames() );
+		if ( newConflicts.isEmpty() ) {
+			return;
+		}
+
+		getLogger().warn( "Found {} new classpath conflict(s); see {}", newConflicts.size(), reportFile.getAbsolutePath() );
+
+		if ( getFailOnNewConflicts().get() ) {
+			final StringBuilder buffer = new StringBuilder( "The extension classpaths contain new conflicts : [" );
+			newConflicts.forEach( (conflict) -> buffer.append( conflict ).append( " (" ).append( report.getProperty( conflict ) ).append( "), " ) );
+			buffer.append( "]" );
+
+			throw new ValidationException( buffer.toString() );
+		}
+	}
+
+	private void scan(String classpathName, Set<ResolvedArtifactResult> artifacts, Properties report) {
+		getLogger().info( "Scanning `{}` {} classpath entries for conflicts", artifacts.size(), classpathName );
+
+		final ClasspathScanner scanner = new ClasspathScanner( artifacts.size() );
+		for ( ResolvedArtifactResult artifact : artifacts ) {
+			final File file = artifact.getFile();
+			if ( file.isFile() && file.getName().endsWith( ".jar" ) ) {
+				scanner.scan( artifact.getId().getComponentIdentifier().getDisplayName(), file );
+			}
+		}
+
+		getLogger().info( "Scanned {} classes on the {} classpath", scanner.getClassCount(), classpathName );
+
+		record( classpathName, DUPLICATE_CLASS, scanner.getDuplicateClasses(), report );
+		record( classpathName, SPLIT_PACKAGE, scanner.getSplitPackages(), report );
+	}
+
+	private static void record(String classpathName, String kind, Map<String, Set<String>> conflicts, Properties report) {
+		conflicts.forEach( (name, jars) -> report.setProperty(
+				classpathName + ":" + kind + ":" + name,
+				String.join( ", ", jars )
+		) );
+	}
+
+	private Properties loadBaseline() {
+		final Properties baseline = new Properties();
+		if ( !getBaseline().isPresent() ) {
+			return baseline;
+		}
+
+		final File baselineFile = getBaseline().get().getAsFile();
+		try ( final InputStream stream = new FileInputStream( baselineFile ) ) {
+			baseline.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to load classpath conflicts baseline - " + baselineFile.getAbsolutePath(), e );
+		}
+		return baseline;
+	}
+}
@@ -4,91 +4,129 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
 import javax.inject.Inject;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.artifacts.Configuration;
-import org.gradle.api.artifacts.ConfigurationContainer;
 import org.gradle.api.artifacts.ModuleVersionIdentifier;
-import org.gradle.api.artifacts.ResolvedConfiguration;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFile;
+import org.gradle.api.file.RegularFileProperty;
 import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
 import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.PathSensitive;
 import org.gradle.api.tasks.PathSensitivity;
 import org.gradle.api.tasks.SourceSet;
-import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.api.tasks.TaskProvider;
+import org.gradle.workers.WorkerExecutor;
 
+import io.github.sebersole.quarkus.ExtensionCatalogService;
 import io.github.sebersole.quarkus.ExtensionDescriptor;
+import io.github.sebersole.quarkus.Helper;
 import io.github.sebersole.quarkus.Names;
 import io.github.sebersole.quarkus.ValidationException;
 
 import static io.github.sebersole.quarkus.Helper.groupArtifactVersion;
-import static io.github.sebersole.quarkus.Helper.hasExtensionProperties;
-import static io.github.sebersole.quarkus.Helper.withJarFile;
 
 /**
+ * Verifies that the deployment classpath does not pull in extension runtime artifacts
+ * other than those already cataloged from the runtime classpath.
+ *
+ * The jars are probed in parallel using the Worker API - see {@link JarProbe} - coordinated
+ * through the build-wide {@link ExtensionCatalogService}
+ *
  * @author Steve Ebersole
  */
 @CacheableTask
 public abstract class VerifyDeploymentDependencies extends DefaultTask {
 	public static final String TASK_NAME = "verifyDeploymentDependencies";
 
-	private final Property<Configuration> deploymentDependencies;
 	private final Provider<RegularFile> dependencyCatalog;
+	private final RegularFileProperty report;
 
 	@Inject
 	public VerifyDeploymentDependencies(@SuppressWarnings("unused") ExtensionDescriptor config) {
 		setGroup( Names.TASK_GROUP );
 		setDescription( "Verifies the runtime and deployment classpaths for the Quarkus extension" );
-		getOutputs().upToDateWhen( (task) -> true );
 
 		final JavaPluginExtension javaPluginExtension = getProject().getExtensions().getByType( JavaPluginExtension.class );
-		final SourceSetContainer sourceSets = javaPluginExtension.getSourceSets();
-
-		final ConfigurationContainer configurations = getProject().getConfigurations();
-
-		deploymentDependencies = getProject().getObjects().property( Configuration.class );
-//		deploymentDependencies.set(
-//				sourceSets.named( "deployment" ).map( sourceSet -> configurations.getByName( sourceSet.getRuntimeClasspathConfigurationName() ) )
-//		);
-		deploymentDependencies.set(
-				getProject().provider( () -> {
-					final SourceSet deploymentSourceSet = sourceSets.getByName( "deployment" );
-					return configurations.getByName( deploymentSourceSet.getRuntimeClasspathConfigurationName() );
-				} )
+		final SourceSet deploymentSourceSet = javaPluginExtension.getSourceSets().getByName( "deployment" );
+		final Configuration deploymentClasspath = getProject().getConfigurations().getByName( deploymentSourceSet.getRuntimeClasspathConfigurationName() );
+
+		getDeploymentDependencies().from( deploymentClasspath );
+		getDeploymentArtifacts().set( deploymentClasspath.getIncoming().getArtifacts().getResolvedArtifacts() );
+		getDeploymentGraph().set( deploymentClasspath.getIncoming().getResolutionResult().getRootComponent() );
+
+		final TaskProvider<VerifyExtensionDependencies> verifyExtensionDependencies = getProject().getTasks().named(
+				VerifyExtensionDependencies.TASK_NAME,
+				VerifyExtensionDependencies.class
 		);
+		dependencyCatalog = verifyExtensionDependencies.flatMap( VerifyExtensionDependencies::getOutput );
 
-		final VerifyExtensionDependencies verifyExtensionDependencies = (VerifyExtensionDependencies) getProject().getTasks().getByName( VerifyExtensionDependencies.TASK_NAME );
-		dependencyCatalog = verifyExtensionDependencies.getOutput();
+		report = getProject().getObjects().fileProperty();
+		report.convention( getProject().getLayout().getBuildDirectory().file( "quarkus/deployment-dependencies-report.properties" ) );
 
 		dependsOn( verifyExtensionDependencies );
 	}
 
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
+	@Internal
+	public abstract Property<ExtensionCatalogService> getCatalogService();
+
 	@Classpath
-	public Provider<Configuration> getDeploymentDependencies() {
-		return deploymentDependencies;
-	}
+	public abstract ConfigurableFileCollection getDeploymentDependencies();
+
+	/**
+	 * The resolved artifacts of {@link #getDeploymentDependencies()}
+	 */
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getDeploymentArtifacts();
+
+	/**
+	 * The resolved dependency graph of {@link #getDeploymentDependencies()}, used to identify the artifacts
+	 */
+	@Internal
+	public abstract Property<ResolvedComponentResult> getDeploymentGraph();
 
 	@InputFile
-	@PathSensitive( PathSensitivity.RELATIVE )
+	@PathSensitive( PathSensitivity.NONE )
 	public Provider<RegularFile> getDependencyCatalog() {
 		return dependencyCatalog;
 	}
 
+	/**
+	 * Machine-readable report of the verification, mapping each extension runtime artifact
+	 * found on the deployment classpath to its deployment artifact.  Serves as the task's
+	 * output for up-to-date checking and build caching.
+	 */
+	@OutputFile
+	public RegularFileProperty getReport() {
+		return report;
+	}
+
 	@TaskAction
 	public void verifyDependencies() {
 		final Properties catalog = loadCatalog();
-		verifyDeploymentDependencies( catalog );
+		final Set<String> extensionsOnDeploymentClasspath = verifyDeploymentDependencies( catalog );
+		storeReport( extensionsOnDeploymentClasspath, catalog );
 	}
 
 	private Properties loadCatalog() {
@@ -106,24 +144,55 @@ public abstract class VerifyDeploymentDependencies extends DefaultTask {
 		return catalog;
 	}
 
-	private void verifyDeploymentDependencies(Properties catalog) {
-		final ResolvedConfiguration resolvedDeploymentDependencies = deploymentDependencies.get().getResolvedConfiguration();
-		final Set<String> extensionsOnDeploymentClasspath = new HashSet<>();
-		resolvedDeploymentDependencies.getResolvedArtifacts().forEach( (artifact) -> withJarFile( artifact.getFile(), (jarFile) -> {
-			if ( hasExtensionProperties( jarFile ) ) {
-				final ModuleVersionIdentifier moduleId = artifact.getModuleVersion().getId();
+	private Set<String> verifyDeploymentDependencies(Properties catalog) {
+		final Map<ComponentIdentifier, ModuleVersionIdentifier> moduleVersions = Helper.moduleVersions( getDeploymentGraph().get() );
+
+		final Map<ResolvedArtifactResult, File> jarFiles = new LinkedHashMap<>();
+		getDeploymentArtifacts().get().forEach( (artifact) -> {
+			final ComponentIdentifier componentId = artifact.getId().getComponentIdentifier();
+			if ( moduleVersions.containsKey( componentId ) && artifact.getFile().getName().endsWith( ".jar" ) ) {
+				jarFiles.put( artifact, artifact.getFile() );
+			}
+		} );
+
+		final Map<ResolvedArtifactResult, Properties> probeResults = getCatalogService().get().classify(
+				jarFiles,
+				(unclassified) -> JarProbe.probeAll(
+						getWorkerExecutor().noIsolation(),
+						unclassified,
+						new File( getTemporaryDir(), "probes" )
+				)
+		);
+
+		final Set<String> extensionsOnDeploymentClasspath = new LinkedHashSet<>();
+		probeResults.forEach( (artifact, probeResult) -> {
+			if ( probeResult.containsKey( JarProbe.DEPLOYMENT_ARTIFACT_KEY ) ) {
+				final ModuleVersionIdentifier moduleId = moduleVersions.get( artifact.getId().getComponentIdentifier() );
 				extensionsOnDeploymentClasspath.add( groupArtifactVersion( moduleId ) );
 			}
-		} ) );
+		} );
 
-		extensionsOnDeploymentClasspath.removeAll( catalog.stringPropertyNames() );
+		final Set<String> uncataloged = new LinkedHashSet<>( extensionsOnDeploymentClasspath );
+		uncataloged.removeAll( catalog.stringPropertyNames() );
 
-		if ( ! extensionsOnDeploymentClasspath.isEmpty() ) {
+		if ( ! uncataloged.isEmpty() ) {
 			final StringBuilder buffer = new StringBuilder( "The dependency classpath defined dependencies on the following extension runtime artifacts : [" );
-			extensionsOnDeploymentClasspath.forEach( (gav) -> buffer.append( gav ).append( ", " ) );
+			uncataloged.forEach( (gav) -> buffer.append( gav ).append( ", " ) );
 			buffer.append( "]" );
 
 			throw new ValidationException( buffer.toString() );
 		}
+
+		return extensionsOnDeploymentClasspath;
+	}
+
+	private void storeReport(Set<String> extensionsOnDeploymentClasspath, Properties catalog) {
+		final Properties report = new Properties();
+		extensionsOnDeploymentClasspath.forEach( (gav) -> report.setProperty( gav, catalog.getProperty( gav ) ) );
+
+		final File reportFile = this.report.get().getAsFile();
+		//noinspection ResultOfMethodCallIgnored
+		reportFile.getParentFile().mkdirs();
+		Helper.storeSorted( report, reportFile );
 	}
 }
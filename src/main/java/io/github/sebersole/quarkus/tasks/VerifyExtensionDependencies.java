@@ -1,54 +1,57 @@
 package io.github.sebersole.quarkus.tasks;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
-import java.util.jar.JarEntry;
 import javax.inject.Inject;
 
 import org.gradle.api.DefaultTask;
 import org.gradle.api.artifacts.Configuration;
-import org.gradle.api.artifacts.ConfigurationContainer;
-import org.gradle.api.artifacts.ResolvedArtifact;
-import org.gradle.api.artifacts.ResolvedConfiguration;
-import org.gradle.api.artifacts.ResolvedModuleVersion;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.ConfigurableFileCollection;
 import org.gradle.api.file.RegularFile;
 import org.gradle.api.plugins.JavaPluginExtension;
 import org.gradle.api.provider.Property;
 import org.gradle.api.provider.Provider;
+import org.gradle.api.provider.SetProperty;
 import org.gradle.api.tasks.CacheableTask;
 import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Internal;
 import org.gradle.api.tasks.OutputFile;
 import org.gradle.api.tasks.SourceSet;
-import org.gradle.api.tasks.SourceSetContainer;
 import org.gradle.api.tasks.TaskAction;
+import org.gradle.workers.WorkerExecutor;
 
+import io.github.sebersole.quarkus.ExtensionCatalogService;
 import io.github.sebersole.quarkus.ExtensionDescriptor;
 import io.github.sebersole.quarkus.Helper;
 import io.github.sebersole.quarkus.Names;
 import io.github.sebersole.quarkus.ValidationException;
 
-import static io.github.sebersole.quarkus.Helper.EXTENSION_PROPERTIES_RELATIVE_PATH;
 import static io.github.sebersole.quarkus.Helper.groupArtifactVersion;
-import static io.github.sebersole.quarkus.Helper.withJarFile;
 
 /**
  * Resolves the extension projects' `runtimeClasspath` dependencies, and iterates
  * them looking for extensions (by presence of `META-INF/quarkus-extension.properties`)
- * and saving the mapping of an extension to its deployment artifact
+ * and saving the mapping of an extension to its deployment artifact.
+ *
+ * The jars are probed in parallel using the Worker API - see {@link JarProbe}.  Probing
+ * is coordinated through the build-wide {@link ExtensionCatalogService} so that jars shared
+ * between projects are only probed once per build.  The produced catalogs are aggregated
+ * for the build by {@link AggregateExtensionCatalog}.
  *
  * @author Steve Ebersole
  */
 @CacheableTask
-public class VerifyExtensionDependencies extends DefaultTask {
+public abstract class VerifyExtensionDependencies extends DefaultTask {
 	public static final String TASK_NAME = "verifyRuntimeDependencies";
 
-	private final Property<Configuration> runtimeDependencies;
 	private final Provider<RegularFile> output;
 
 	@Inject
@@ -57,23 +60,36 @@ public class VerifyExtensionDependencies extends DefaultTask {
 		setDescription( "Verifies `runtimeClasspath`, making sure there are no deployment artifacts" );
 
 		final JavaPluginExtension javaPluginExtension = getProject().getExtensions().getByType( JavaPluginExtension.class );
-		final SourceSetContainer sourceSets = javaPluginExtension.getSourceSets();
-		final SourceSet mainSourceSet = sourceSets.getByName( SourceSet.MAIN_SOURCE_SET_NAME );
-
-		final ConfigurationContainer configurations = getProject().getConfigurations();
+		final SourceSet mainSourceSet = javaPluginExtension.getSourceSets().getByName( SourceSet.MAIN_SOURCE_SET_NAME );
+		final Configuration runtimeClasspath = getProject().getConfigurations().getByName( mainSourceSet.getRuntimeClasspathConfigurationName() );
 
-		runtimeDependencies = getProject().getObjects().property( Configuration.class );
-		runtimeDependencies.set(
-				getProject().provider( () -> configurations.getByName( mainSourceSet.getRuntimeClasspathConfigurationName() ) )
-		);
+		getRuntimeDependencies().from( runtimeClasspath );
+		getRuntimeArtifacts().set( runtimeClasspath.getIncoming().getArtifacts().getResolvedArtifacts() );
+		getRuntimeGraph().set( runtimeClasspath.getIncoming().getResolutionResult().getRootComponent() );
 
 		output = getProject().getLayout().getBuildDirectory().file( "quarkus/runtime-dependencies-catalog.properties" );
 	}
 
+	@Inject
+	protected abstract WorkerExecutor getWorkerExecutor();
+
+	@Internal
+	public abstract Property<ExtensionCatalogService> getCatalogService();
+
 	@Classpath
-	public Property<Configuration> getRuntimeDependencies() {
-		return runtimeDependencies;
-	}
+	public abstract ConfigurableFileCollection getRuntimeDependencies();
+
+	/**
+	 * The resolved artifacts of {@link #getRuntimeDependencies()}
+	 */
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getRuntimeArtifacts();
+
+	/**
+	 * The resolved dependency graph of {@link #getRuntimeDependencies()}, used to identify the artifacts
+	 */
+	@Internal
+	public abstract Property<ResolvedComponentResult> getRuntimeGraph();
 
 	@OutputFile
 	public Provider<RegularFile> getOutput() {
@@ -87,62 +103,58 @@ public class VerifyExtensionDependencies extends DefaultTask {
 	}
 
 	private Properties generateCatalog() {
-		final ResolvedConfiguration resolvedRuntimeDependencies = runtimeDependencies.get().getResolvedConfiguration();
-		final Set<ResolvedArtifact> runtimeDependenciesArtifacts = resolvedRuntimeDependencies.getResolvedArtifacts();
+		final Set<ResolvedArtifactResult> runtimeDependenciesArtifacts = getRuntimeArtifacts().get();
 		getLogger().info( "Checking `{}` runtime dependencies", runtimeDependenciesArtifacts.size() );
 
-		final Properties catalog = new Properties();
+		final Map<ComponentIdentifier, ModuleVersionIdentifier> moduleVersions = Helper.moduleVersions( getRuntimeGraph().get() );
 
+		final Map<ResolvedArtifactResult, File> jarFiles = new LinkedHashMap<>();
+		for ( ResolvedArtifactResult resolvedRuntimeDependency : runtimeDependenciesArtifacts ) {
+			final ComponentIdentifier componentId = resolvedRuntimeDependency.getId().getComponentIdentifier();
+			if ( moduleVersions.containsKey( componentId ) && resolvedRuntimeDependency.getFile().getName().endsWith( ".jar" ) ) {
+				jarFiles.put( resolvedRuntimeDependency, resolvedRuntimeDependency.getFile() );
+			}
+		}
+
+		final Map<ResolvedArtifactResult, Properties> probeResults = getCatalogService().get().classify(
+				jarFiles,
+				(unclassified) -> JarProbe.probeAll(
+						getWorkerExecutor().noIsolation(),
+						unclassified,
+						new File( getTemporaryDir(), "probes" )
+				)
+		);
+
+		final Properties catalog = new Properties();
 
-		for ( ResolvedArtifact resolvedRuntimeDependency : runtimeDependenciesArtifacts ) {
-			if ( !"jar".equals( resolvedRuntimeDependency.getExtension() ) ) {
-				continue;
+		probeResults.forEach( (resolvedRuntimeDependency, probeResult) -> {
+			final ModuleVersionIdentifier dependencyId = moduleVersions.get( resolvedRuntimeDependency.getId().getComponentIdentifier() );
+			getLogger().debug( "Checking runtime dependency - {}", dependencyId );
+
+			if ( probeResult.containsKey( JarProbe.BUILD_STEPS_KEY ) ) {
+				throw new ValidationException(
+						String.format(
+								Locale.ROOT,
+								"The extension's runtime classpath depends on a deployment artifact : `%s:%s:%s`",
+								dependencyId.getGroup(),
+								dependencyId.getName(),
+								dependencyId.getVersion()
+						)
+				);
 			}
 
-			final ResolvedModuleVersion dependencyModuleVersion = resolvedRuntimeDependency.getModuleVersion();
-			getLogger().debug( "Checking runtime dependency - {}", dependencyModuleVersion.getId() );
-
-			withJarFile( resolvedRuntimeDependency.getFile(), (jarFile) -> {
-				if ( Helper.hasBuildStepsList( jarFile ) ) {
-					throw new ValidationException(
-							String.format(
-									Locale.ROOT,
-									"The extension's runtime classpath depends on a deployment artifact : `%s:%s:%s`",
-									dependencyModuleVersion.getId().getGroup(),
-									dependencyModuleVersion.getId().getName(),
-									dependencyModuleVersion.getId().getVersion()
-							)
-					);
-				}
-
-				final JarEntry jarEntry = jarFile.getJarEntry( EXTENSION_PROPERTIES_RELATIVE_PATH );
-				if ( jarEntry != null ) {
-					final String extensionCoordinate = groupArtifactVersion( resolvedRuntimeDependency.getModuleVersion().getId() );
-
-					try ( final InputStream stream = jarFile.getInputStream( jarEntry ) ) {
-						final Properties deploymentMapping = new Properties();
-						deploymentMapping.load( stream );
-						catalog.put( extensionCoordinate, deploymentMapping.getProperty( "deployment-artifact" ) );
-					}
-					catch (IOException e) {
-						throw new RuntimeException( "Error accessing quarkus-extension.properties for `" + extensionCoordinate + "`", e );
-					}
-				}
-			} );
-		}
+			final String deploymentArtifact = probeResult.getProperty( JarProbe.DEPLOYMENT_ARTIFACT_KEY );
+			if ( deploymentArtifact != null ) {
+				catalog.put( groupArtifactVersion( dependencyId ), deploymentArtifact );
+			}
+		} );
 
 		return catalog;
 	}
 
 	private void storeCatalog(Properties catalog) {
 		final RegularFile output = this.getOutput().get();
-		final File outputAsFile = output.getAsFile();
-		try ( final OutputStream stream = new FileOutputStream( outputAsFile) ) {
-			catalog.store( stream, null );
-		}
-		catch (IOException e) {
-			throw new RuntimeException( "Error storing extension catalog - " + outputAsFile.getAbsolutePath(), e );
-		}
+		Helper.storeSorted( catalog, output.getAsFile() );
 	}
 
 }
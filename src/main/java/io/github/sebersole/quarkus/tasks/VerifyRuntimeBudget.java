@@ -0,0 +1,280 @@
+package io.github.sebersole.quarkus.tasks;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.gradle.api.DefaultTask;
+import org.gradle.api.artifacts.Configuration;
+import org.gradle.api.artifacts.ModuleVersionIdentifier;
+import org.gradle.api.artifacts.component.ComponentIdentifier;
+import org.gradle.api.artifacts.result.ResolvedArtifactResult;
+import org.gradle.api.artifacts.result.ResolvedComponentResult;
+import org.gradle.api.file.ConfigurableFileCollection;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.plugins.JavaPluginExtension;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.SetProperty;
+import org.gradle.api.tasks.CacheableTask;
+import org.gradle.api.tasks.Classpath;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.InputFile;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.Optional;
+import org.gradle.api.tasks.OutputFile;
+import org.gradle.api.tasks.PathSensitive;
+import org.gradle.api.tasks.PathSensitivity;
+import org.gradle.api.tasks.SourceSet;
+import org.gradle.api.tasks.TaskAction;
+
+import io.github.sebersole.quarkus.Helper;
+import io.github.sebersole.quarkus.Names;
+import io.github.sebersole.quarkus.ValidationException;
+
+/**
+ * Measures what the extension adds to an application's runtime - the runtime jar plus its
+ * transitive runtime dependencies (the same `runtimeClasspath` verified by
+ * {@link VerifyExtensionDependencies}), excluding the modules managed by the
+ * {@value Names#PLATFORMS_CONFIG_NAME} platforms, which applications get regardless.
+ *
+ * Produces a report (`build/quarkus/runtime-budget-report.properties`) with the totals -
+ * `total.bytes`, `total.classes` and `total.jars` - and the measurements of each jar.  A previous
+ * report may be used as {@linkplain #getBaseline() baseline}, in which case the differences are
+ * reported as well.  The build fails if a configured limit is exceeded.  The task is part of `check`
+ * once a limit or a baseline is configured.
+ *
+ * @author Steve Ebersole
+ */
+@CacheableTask
+public abstract class VerifyRuntimeBudget extends DefaultTask {
+	public static final String TASK_NAME = "verifyRuntimeBudget";
+
+	public static final String TOTAL_BYTES = "total.bytes";
+	public static final String TOTAL_CLASSES = "total.classes";
+	public static final String TOTAL_JARS = "total.jars";
+
+	public VerifyRuntimeBudget() {
+		setGroup( Names.TASK_GROUP );
+		setDescription( "Measures the extension's runtime footprint (bytes, classes, jars), verifying it against the configured budget" );
+
+		final JavaPluginExtension javaPluginExtension = getProject().getExtensions().getByType( JavaPluginExtension.class );
+		final SourceSet mainSourceSet = javaPluginExtension.getSourceSets().getByName( SourceSet.MAIN_SOURCE_SET_NAME );
+		final Configuration runtimeClasspath = getProject().getConfigurations().getByName( mainSourceSet.getRuntimeClasspathConfigurationName() );
+
+		getRuntimeDependencies().from( runtimeClasspath );
+		getRuntimeArtifacts().set( runtimeClasspath.getIncoming().getArtifacts().getResolvedArtifacts() );
+		getRuntimeGraph().set( runtimeClasspath.getIncoming().getResolutionResult().getRootComponent() );
+
+		getReport().convention( getProject().getLayout().getBuildDirectory().file( "quarkus/runtime-budget-report.properties" ) );
+	}
+
+	/**
+	 * The extension runtime artifact
+	 */
+	@InputFile
+	@PathSensitive( PathSensitivity.NONE )
+	public abstract RegularFileProperty getRuntimeJar();
+
+	@Classpath
+	public abstract ConfigurableFileCollection getRuntimeDependencies();
+
+	/**
+	 * The resolved artifacts of {@link #getRuntimeDependencies()}
+	 */
+	@Internal
+	public abstract SetProperty<ResolvedArtifactResult> getRuntimeArtifacts();
+
+	/**
+	 * The resolved dependency graph of {@link #getRuntimeDependencies()}, used to identify the artifacts
+	 */
+	@Internal
+	public abstract Property<ResolvedComponentResult> getRuntimeGraph();
+
+	/**
+	 * The modules (`group:name`) managed by the platforms.  Runtime dependencies on these modules
+	 * are not counted
+	 */
+	@Input
+	public abstract SetProperty<String> getPlatformModules();
+
+	/**
+	 * A previous report, in the format of {@link #getReport()}, against which differences are reported
+	 */
+	@InputFile
+	@Optional
+	@PathSensitive( PathSensitivity.NONE )
+	public abstract RegularFileProperty getBaseline();
+
+	/**
+	 * The maximum number of bytes (of the jars)
+	 */
+	@Input
+	@Optional
+	public abstract Property<Long> getMaxBytes();
+
+	/**
+	 * The maximum number of classes
+	 */
+	@Input
+	@Optional
+	public abstract Property<Long> getMaxClasses();
+
+	/**
+	 * The maximum number of jars, including the runtime artifact
+	 */
+	@Input
+	@Optional
+	public abstract Property<Integer> getMaxJars();
+
+	/**
+	 * The maximum growth, in percent, of each total compared to the {@linkplain #getBaseline() baseline}
+	 */
+	@Input
+	@Optional
+	public abstract Property<Integer> getMaxGrowthPercent();
+
+	@OutputFile
+	public abstract RegularFileProperty getReport();
+
+	@TaskAction
+	public void verifyBudget() {
+		final Properties report = new Properties();
+
+		long bytes = 0;
+		long classes = 0;
+		int jars = 0;
+
+		final File runtimeJar = getRuntimeJar().get().getAsFile();
+		bytes += runtimeJar.length();
+		classes += measure( runtimeJar.getName(), runtimeJar, report );
+		jars++;
+
+		final Set<String> platformModules = getPlatformModules().get();
+		final Map<ComponentIdentifier, ModuleVersionIdentifier> moduleVersions = Helper.moduleVersions( getRuntimeGraph().get() );
+
+		int provided = 0;
+		for ( ResolvedArtifactResult artifact : getRuntimeArtifacts().get() ) {
+			final File file = artifact.getFile();
+			if ( !file.isFile() || !file.getName().endsWith( ".jar" ) ) {
+				continue;
+			}
+
+			final ModuleVersionIdentifier moduleVersion = moduleVersions.get( artifact.getId().getComponentIdentifier() );
+			if ( moduleVersion != null && platformModules.contains( Helper.groupArtifact( moduleVersion.getGroup(), moduleVersion.getName() ) ) ) {
+				provided++;
+				continue;
+			}
+
+			final String name = moduleVersion == null
+					? artifact.getId().getComponentIdentifier().getDisplayName()
+					: Helper.groupArtifactVersion( moduleVersion );
+			bytes += file.length();
+			classes += measure( name, file, report );
+			jars++;
+		}
+
+		getLogger().info( "Skipped {} runtime dependencies provided by the platforms", provided );
+
+		report.setProperty( TOTAL_BYTES, Long.toString( bytes ) );
+		report.setProperty( TOTAL_CLASSES, Long.toString( classes ) );
+		report.setProperty( TOTAL_JARS, Integer.toString( jars ) );
+
+		final File reportFile = getReport().get().getAsFile();
+		//noinspection ResultOfMethodCallIgnored
+		reportFile.getParentFile().mkdirs();
+		Helper.storeSorted( report, reportFile );
+
+		final Properties baseline = loadBaseline();
+		final List<String> violations = new ArrayList<>();
+		check( "bytes", bytes, baseline.getProperty( TOTAL_BYTES ), getMaxBytes().getOrNull(), violations );
+		check( "classes", classes, baseline.getProperty( TOTAL_CLASSES ), getMaxClasses().getOrNull(), violations );
+		check( "jars", jars, baseline.getProperty( TOTAL_JARS ), getMaxJars().map( Integer::longValue ).getOrNull(), violations );
+
+		if ( !violations.isEmpty() ) {
+			throw new ValidationException(
+					"The extension's runtime footprint exceeds its budget : " + violations + "; see " + reportFile.getAbsolutePath()
+			);
+		}
+	}
+
+	/**
+	 * Records the jar's measurements in the report
+	 *
+	 * @return The number of classes in the jar
+	 */
+	private static long measure(String name, File jar, Properties report) {
+		long classes = 0;
+		try ( JarFile jarFile = new JarFile( jar ) ) {
+			final Enumeration<JarEntry> entries = jarFile.entries();
+			while ( entries.hasMoreElements() ) {
+				final String entryName = entries.nextElement().getName();
+				// versioned classes (multi-release jars) replace, rather than add to, the base ones
+				if ( entryName.endsWith( ".class" )
+						&& !entryName.endsWith( "module-info.class" )
+						&& !entryName.startsWith( "META-INF/" ) ) {
+					classes++;
+				}
+			}
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read jar - " + jar.getAbsolutePath(), e );
+		}
+
+		report.setProperty( "jar." + name, jar.length() + " bytes, " + classes + " classes" );
+		return classes;
+	}
+
+	private void check(String measure, long value, String baselineValue, Long max, List<String> violations) {
+		if ( baselineValue == null ) {
+			getLogger().lifecycle( "Runtime footprint - {} : {}", measure, value );
+		}
+		else {
+			final long previous = Long.parseLong( baselineValue.trim() );
+			final long delta = value - previous;
+			getLogger().lifecycle( "Runtime footprint - {} : {} ({}{} compared to baseline)", measure, value, delta >= 0 ? "+" : "", delta );
+
+			final Integer maxGrowthPercent = getMaxGrowthPercent().getOrNull();
+			if ( maxGrowthPercent != null && delta > previous * maxGrowthPercent / 100.0 ) {
+				violations.add( String.format(
+						Locale.ROOT,
+						"%s grew by %d (from %d to %d), more than the allowed %d%%",
+						measure,
+						delta,
+						previous,
+						value,
+						maxGrowthPercent
+				) );
+			}
+		}
+
+		if ( max != null && value > max ) {
+			violations.add( String.format( Locale.ROOT, "%s is %d, more than the allowed %d", measure, value, max ) );
+		}
+	}
+
+	private Properties loadBaseline() {
+		final Properties baseline = new Properties();
+		if ( !getBaseline().isPresent() ) {
+			return baseline;
+		}
+
+		final File baselineFile = getBaseline().get().getAsFile();
+		try ( final InputStream stream = new FileInputStream( baselineFile ) ) {
+			baseline.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to load runtime budget baseline - " + baselineFile.getAbsolutePath(), e );
+		}
+		return baseline;
+	}
+}
@@ -0,0 +1,68 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.jar.JarFile;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the single Javadoc run for the `main`, `spi` and `deployment` source-sets
+ * (`quarkus.aggregatedJavadoc`) and the splitting of its output into the javadoc jars
+ *
+ * @author Steve Ebersole
+ */
+public class AggregatedJavadocTest {
+	private static final String PACKAGE_PATH = "io/github/sebersole/quarkus/extension/";
+
+	@Test
+	public void testAggregatedJavadoc(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withArguments(
+						"javadocJar",
+						"spiJavadocJar",
+						"deploymentJavadocJar",
+						"-P" + Names.AGGREGATED_JAVADOC_PROPERTY + "=true",
+						"--stacktrace"
+				)
+				.forwardOutput()
+				.build();
+
+		assertThat( result.task( ":javadoc" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+		assertThat( result.task( ":spiJavadoc" ) ).isNull();
+		assertThat( result.task( ":deploymentJavadoc" ) ).isNull();
+
+		final File libsDir = new File( projectDir.toFile(), "build/libs" );
+
+		try ( JarFile jarFile = new JarFile( new File( libsDir, "basic-extension-1.0-SNAPSHOT-javadoc.jar" ) ) ) {
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionConfig.html" ) ).isNotNull();
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionSpi.html" ) ).isNull();
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionProcessor.html" ) ).isNull();
+			assertThat( jarFile.getEntry( "index.html" ) ).isNotNull();
+		}
+
+		try ( JarFile jarFile = new JarFile( new File( libsDir, "basic-extension-spi-1.0-SNAPSHOT-javadoc.jar" ) ) ) {
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionSpi.html" ) ).isNotNull();
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionConfig.html" ) ).isNull();
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionProcessor.html" ) ).isNull();
+		}
+
+		try ( JarFile jarFile = new JarFile( new File( libsDir, "basic-extension-deployment-1.0-SNAPSHOT-javadoc.jar" ) ) ) {
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionProcessor.html" ) ).isNotNull();
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionConfig.html" ) ).isNull();
+			assertThat( jarFile.getEntry( PACKAGE_PATH + "MyExtensionSpi.html" ) ).isNull();
+		}
+	}
+}
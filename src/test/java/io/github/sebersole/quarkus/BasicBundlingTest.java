@@ -21,10 +21,11 @@ import org.junit.jupiter.api.io.TempDir;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import io.github.sebersole.quarkus.tasks.GenerateDescriptor;
+import io.github.sebersole.quarkus.tasks.GenerateCatalogEntry;
 import jakarta.json.Json;
 import jakarta.json.JsonArray;
 import jakarta.json.JsonObject;
+import jakarta.json.JsonString;
 
 import static io.github.sebersole.quarkus.tasks.GenerateDescriptor.STANDARD_YAML_PATH;
 import static io.github.sebersole.quarkus.tasks.GenerateDescriptor.YAML_NAME;
@@ -82,6 +83,7 @@ public class BasicBundlingTest {
 		assertThat( jar ).exists();
 
 		checkExtensionDescriptor( buildDir, jar );
+		checkCatalogEntry( jar );
 		checkConfigRoots( buildDir, jar );
 		checkExtensionProperties( buildDir, jar );
 
@@ -138,6 +140,12 @@ public class BasicBundlingTest {
 
 				final String variantName = variant.getString( "name" );
 				assertThat( variantName ).doesNotContain( "deployment", "spi" );
+				final String lowerCaseName = variantName.toLowerCase( Locale.ROOT );
+				if ( !lowerCaseName.endsWith( "apielements" ) && !lowerCaseName.endsWith( "runtimeelements" ) ) {
+					// documentation variants have no dependencies.  The extension's api/runtime
+					// variants keep their Configuration names (`mainPublishedApiElements`, etc.)
+					continue;
+				}
 
 				final JsonArray dependencies = variant.getJsonArray( "dependencies" );
 				for ( int d = 0; d < dependencies.size(); d++ ) {
@@ -178,9 +186,10 @@ public class BasicBundlingTest {
 					.disable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS );
 
 			try {
-				final GenerateDescriptor.ExternalizableDescriptor value = mapper
-						.readValue( jarFile.getInputStream( yamlEntry ), GenerateDescriptor.ExternalizableDescriptor.class );
+				final ExternalizableDescriptor value = mapper
+						.readValue( jarFile.getInputStream( yamlEntry ), ExternalizableDescriptor.class );
 
+				assertThat( value.getArtifact() ).isEqualTo( "io.github.sebersole.quarkus:basic-extension::jar:1.0-SNAPSHOT" );
 				assertThat( value.getName() ).isEqualTo( "Basic Quarkus extension" );
 				assertThat( value.getDescription() ).isEqualTo( "Quarkus extension for testing this Gradle extension plugin" );
 
@@ -188,6 +197,10 @@ public class BasicBundlingTest {
 				assertThat( value.getMetadata().getGuide() ).isEqualTo( "https://hibernate.org" );
 				assertThat( value.getMetadata().getCategories() ).contains( "sample" );
 				assertThat( value.getMetadata().getKeywords() ).contains( "sample", "gradle" );
+				assertThat( value.getMetadata().getCapabilities().get( "provides" ) ).containsExactly( "io.github.sebersole.basic" );
+				assertThat( value.getMetadata().getCapabilities() ).doesNotContainKey( "requires" );
+				assertThat( value.getMetadata().getConfig() ).containsExactly( "quarkus.basic." );
+				assertThat( value.getMetadata().getCodestart() ).containsEntry( "name", "basic" );
 			}
 			catch (Exception e) {
 				throw new RuntimeException( "Unable to read extension YAML descriptor file", e );
@@ -198,6 +211,27 @@ public class BasicBundlingTest {
 		}
 	}
 
+	private void checkCatalogEntry(File jar) {
+		try ( final JarFile jarFile = new JarFile( jar ) ) {
+			final ZipEntry jsonEntry = jarFile.getEntry( "META-INF/" + GenerateCatalogEntry.JSON_NAME );
+			assertThat( jsonEntry ).isNotNull();
+
+			final JsonObject json = Json.createReader( jarFile.getInputStream( jsonEntry ) ).readObject();
+			assertThat( json.getString( "artifact" ) ).isEqualTo( "io.github.sebersole.quarkus:basic-extension::jar:1.0-SNAPSHOT" );
+			assertThat( json.getString( "name" ) ).isEqualTo( "Basic Quarkus extension" );
+
+			final JsonObject metadata = json.getJsonObject( "metadata" );
+			assertThat( metadata.getString( "status" ) ).isEqualTo( "stable" );
+			assertThat( metadata.getJsonObject( "capabilities" ).getJsonArray( "provides" ).getString( 0 ) ).isEqualTo( "io.github.sebersole.basic" );
+			assertThat( metadata.getJsonArray( "extension-dependencies" ).getValuesAs( JsonString::getString ) ).contains( "io.quarkus:quarkus-core" );
+
+			assertThat( json.getJsonArray( "origins" ).getValuesAs( JsonString::getString ) ).containsExactly( "io.quarkus:quarkus-bom:2.8.0.Final" );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Error accessing runtime jar " + jar.getAbsolutePath() );
+		}
+	}
+
 	private void checkConfigRoots(File buildDir, File jar) {
 		final File configRootsList = new File( buildDir, "quarkus/quarkus-config-roots.list" );
 		assertThat( configRootsList ).exists();
@@ -0,0 +1,59 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gradle.testkit.runner.TaskOutcome.FAILED;
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS;
+
+/**
+ * Tests for duplicate class and split package detection
+ *
+ * @author Steve Ebersole
+ */
+public class ClasspathConflictsTest {
+	@Test
+	public void testConflictsAgainstBaseline(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "classpath-conflicts-extension/build.gradle", projectDir );
+
+		final SyntheticRepository repository = new SyntheticRepository( projectDir );
+		repository.library( "first-library", "synthetic.shared.Duplicated", "synthetic.split.First" );
+		repository.library( "second-library", "synthetic.shared.Duplicated", "synthetic.split.Second", "synthetic.second.Unique" );
+
+		System.out.println( ">>> `verifyClasspathConflicts` run without baseline" );
+		final BuildResult failedResult = buildRunner( projectDir ).buildAndFail();
+		assertThat( failedResult.task( ":verifyClasspathConflicts" ).getOutcome() ).isEqualTo( FAILED );
+		assertThat( failedResult.getOutput() ).contains( "runtime:duplicate-class:synthetic/shared/Duplicated.class" );
+
+		final File report = new File( projectDir.toFile(), "build/quarkus/classpath-conflicts-report.properties" );
+		assertThat( report ).exists();
+		final String reportContent = Files.readString( report.toPath() );
+		assertThat( reportContent ).contains( "runtime\\:duplicate-class\\:synthetic/shared/Duplicated.class=synthetic\\:first-library\\:1.0, synthetic\\:second-library\\:1.0" );
+		assertThat( reportContent ).contains( "runtime\\:split-package\\:synthetic/split=" );
+		assertThat( reportContent ).contains( "deployment\\:duplicate-class\\:synthetic/shared/Duplicated.class=" );
+		assertThat( reportContent ).doesNotContain( "synthetic/second" );
+
+		System.out.println( ">>> `verifyClasspathConflicts` run with report as baseline" );
+		Files.copy( report.toPath(), projectDir.resolve( "conflicts-baseline.properties" ) );
+		final BuildResult result = buildRunner( projectDir ).build();
+		assertThat( result.task( ":verifyClasspathConflicts" ).getOutcome() ).isEqualTo( SUCCESS );
+	}
+
+	private GradleRunner buildRunner(Path projectDir) {
+		return GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "verifyClasspathConflicts", "--stacktrace", "--no-build-cache" )
+				.forwardOutput();
+	}
+}
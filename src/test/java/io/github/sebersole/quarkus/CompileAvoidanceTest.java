@@ -0,0 +1,41 @@
+package io.github.sebersole.quarkus;
+
+import java.nio.file.Path;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that compiling the downstream source-sets (`main` <- `spi`, `deployment` <- `main`,
+ * `test` <- `deployment`) uses the upstream classes rather than waiting for the upstream jars
+ *
+ * @author Steve Ebersole
+ */
+public class CompileAvoidanceTest {
+	@Test
+	public void testCompilationDoesNotRequireJars(@TempDir Path projectDir) {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withArguments( "compileTestJava", "--dry-run", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		final String output = result.getOutput();
+		assertThat( output ).contains( ":compileSpiJava SKIPPED" );
+		assertThat( output ).contains( ":compileJava SKIPPED" );
+		assertThat( output ).contains( ":compileDeploymentJava SKIPPED" );
+		assertThat( output ).contains( ":compileTestJava SKIPPED" );
+
+		assertThat( output ).doesNotContain( ":spiJar SKIPPED" );
+		assertThat( output ).doesNotContain( ":jar SKIPPED" );
+		assertThat( output ).doesNotContain( ":deploymentJar SKIPPED" );
+	}
+}
@@ -0,0 +1,53 @@
+package io.github.sebersole.quarkus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the plugin's tasks are registered lazily and not realized unless needed
+ *
+ * @author Steve Ebersole
+ */
+public class ConfigurationAvoidanceTest {
+	@Test
+	public void testHelpRealizesNoPluginTasks(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+		Files.writeString(
+				projectDir.resolve( "build.gradle" ),
+				"\ntasks.configureEach { task ->\n    logger.lifecycle \"Realized task : ${task.path}\"\n}\n",
+				StandardOpenOption.APPEND
+		);
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "help", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		final String output = result.getOutput();
+		assertThat( output ).contains( "Realized task : :help" );
+
+		assertThat( output ).doesNotContain( "Realized task : :indexClasses" );
+		assertThat( output ).doesNotContain( "Realized task : :indexDeploymentClasses" );
+		assertThat( output ).doesNotContain( "Realized task : :generateExtensionDescriptor" );
+		assertThat( output ).doesNotContain( "Realized task : :verifyRuntimeDependencies" );
+		assertThat( output ).doesNotContain( "Realized task : :verifyDeploymentDependencies" );
+		assertThat( output ).doesNotContain( "Realized task : :verifyClasspathConflicts" );
+		assertThat( output ).doesNotContain( "Realized task : :deploymentJar" );
+		assertThat( output ).doesNotContain( "Realized task : :spiJavadocJar" );
+		assertThat( output ).doesNotContain( "Realized task : :preparePublications" );
+		assertThat( output ).doesNotContain( "Realized task : :generatePomFileForExtensionPublication" );
+	}
+}
@@ -0,0 +1,44 @@
+package io.github.sebersole.quarkus;
+
+import java.nio.file.Path;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the plugin's tasks can be stored in and reused from the configuration cache
+ *
+ * @author Steve Ebersole
+ */
+public class ConfigurationCacheTest {
+	@Test
+	public void testConfigurationCacheReuse(@TempDir Path projectDir) {
+		Copier.copyProject( "published-extension/build.gradle", projectDir );
+
+		final BuildResult firstResult = createRunner( projectDir ).build();
+		assertThat( firstResult.getOutput() ).contains( "Configuration cache entry stored." );
+
+		final BuildResult secondResult = createRunner( projectDir ).build();
+		assertThat( secondResult.getOutput() ).contains( "Reusing configuration cache." );
+	}
+
+	private static GradleRunner createRunner(Path projectDir) {
+		return GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withArguments(
+						"assemble",
+						"verifyDeploymentDependencies",
+						"verifyClasspathConflicts",
+						"preparePublications",
+						"--configuration-cache",
+						"--stacktrace"
+				)
+				.forwardOutput();
+	}
+}
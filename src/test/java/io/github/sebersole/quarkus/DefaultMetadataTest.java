@@ -15,7 +15,6 @@ import org.junit.jupiter.api.io.TempDir;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
-import io.github.sebersole.quarkus.tasks.GenerateDescriptor;
 
 import static io.github.sebersole.quarkus.tasks.GenerateDescriptor.STANDARD_YAML_PATH;
 import static io.github.sebersole.quarkus.tasks.GenerateDescriptor.YAML_NAME;
@@ -72,8 +71,8 @@ public class DefaultMetadataTest {
 					.disable( SerializationFeature.WRITE_DATES_AS_TIMESTAMPS );
 
 			try {
-				final GenerateDescriptor.ExternalizableDescriptor value = mapper
-						.readValue( jarFile.getInputStream( yamlEntry ), GenerateDescriptor.ExternalizableDescriptor.class );
+				final ExternalizableDescriptor value = mapper
+						.readValue( jarFile.getInputStream( yamlEntry ), ExternalizableDescriptor.class );
 
 				assertThat( value.getName() ).isEqualTo( "default-metadata-extension" );
 				assertThat( value.getDescription() ).isEqualTo( "Quarkus extension for testing this Gradle extension plugin (default values)" );
@@ -0,0 +1,91 @@
+package io.github.sebersole.quarkus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the "dev" profile defers the publication-only work from `build` to publishing
+ *
+ * @author Steve Ebersole
+ */
+public class DevProfileTest {
+	@Test
+	public void testDefaultProfile(@TempDir Path projectDir) {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		final String output = dryRun( projectDir, "build" ).getOutput();
+		assertThat( output ).contains( ":javadocJar SKIPPED" );
+		assertThat( output ).contains( ":deploymentJavadocJar SKIPPED" );
+		assertThat( output ).contains( ":spiSourcesJar SKIPPED" );
+		assertThat( output ).contains( ":verifyDeploymentDependencies SKIPPED" );
+		assertThat( output ).contains( ":verifyClasspathConflicts SKIPPED" );
+	}
+
+	@Test
+	public void testDevProfileByProperty(@TempDir Path projectDir) {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		checkDevBuild( dryRun( projectDir, "build", "-P" + Names.DEV_PROFILE_PROPERTY + "=true" ).getOutput() );
+		checkDevPublish( dryRun( projectDir, "publishToMavenLocal", "-P" + Names.DEV_PROFILE_PROPERTY + "=true" ).getOutput() );
+	}
+
+	@Test
+	public void testDevProfileByDsl(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+		Files.writeString(
+				projectDir.resolve( "build.gradle" ),
+				"\nquarkusExtension {\n    devProfile()\n}\n",
+				StandardOpenOption.APPEND
+		);
+
+		checkDevBuild( dryRun( projectDir, "build" ).getOutput() );
+		checkDevPublish( dryRun( projectDir, "publishToMavenLocal" ).getOutput() );
+	}
+
+	private static void checkDevBuild(String output) {
+		assertThat( output ).contains( ":jar SKIPPED" );
+		assertThat( output ).contains( ":spiJar SKIPPED" );
+		assertThat( output ).contains( ":deploymentJar SKIPPED" );
+		assertThat( output ).contains( ":verifyRuntimeDependencies SKIPPED" );
+
+		assertThat( output ).doesNotContain( ":javadoc SKIPPED" );
+		assertThat( output ).doesNotContain( ":javadocJar SKIPPED" );
+		assertThat( output ).doesNotContain( ":sourcesJar SKIPPED" );
+		assertThat( output ).doesNotContain( ":spiJavadocJar SKIPPED" );
+		assertThat( output ).doesNotContain( ":deploymentSourcesJar SKIPPED" );
+		assertThat( output ).doesNotContain( ":verifyDeploymentDependencies SKIPPED" );
+		assertThat( output ).doesNotContain( ":verifyClasspathConflicts SKIPPED" );
+	}
+
+	private static void checkDevPublish(String output) {
+		assertThat( output ).contains( ":javadocJar SKIPPED" );
+		assertThat( output ).contains( ":deploymentJavadocJar SKIPPED" );
+		assertThat( output ).contains( ":spiSourcesJar SKIPPED" );
+		assertThat( output ).contains( ":verifyDeploymentDependencies SKIPPED" );
+		assertThat( output ).contains( ":verifyClasspathConflicts SKIPPED" );
+	}
+
+	private static BuildResult dryRun(Path projectDir, String... arguments) {
+		final String[] allArguments = new String[arguments.length + 2];
+		System.arraycopy( arguments, 0, allArguments, 0, arguments.length );
+		allArguments[arguments.length] = "--dry-run";
+		allArguments[arguments.length + 1] = "--stacktrace";
+
+		return GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withArguments( allArguments )
+				.forwardOutput()
+				.build();
+	}
+}
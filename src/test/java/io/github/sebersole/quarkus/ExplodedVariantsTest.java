@@ -0,0 +1,41 @@
+package io.github.sebersole.quarkus;
+
+import java.nio.file.Path;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the exploded (directory) secondary variants exposed to consumers within the build
+ *
+ * @author Steve Ebersole
+ */
+public class ExplodedVariantsTest {
+	@Test
+	public void testExplodedVariants(@TempDir Path projectDir) {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withArguments( "outgoingVariants", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		final String output = result.getOutput();
+
+		// `deployment` and `spi` get classes and resources variants like `main`
+		assertThat( output ).contains( "build/classes/java/deployment (artifactType = java-classes-directory)" );
+		assertThat( output ).contains( "build/resources/deployment (artifactType = java-resources-directory)" );
+		assertThat( output ).contains( "build/classes/java/spi (artifactType = java-classes-directory)" );
+
+		// the generated META-INF content is part of the resources variants
+		assertThat( output ).contains( "build/quarkus/metadata/main (artifactType = java-resources-directory)" );
+		assertThat( output ).contains( "build/quarkus/metadata/deployment (artifactType = java-resources-directory)" );
+	}
+}
@@ -0,0 +1,96 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Properties;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.sebersole.quarkus.tasks.AggregateExtensionCatalog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS;
+
+/**
+ * Verification across multiple extension projects sharing dependencies, checking that
+ * {@link ExtensionCatalogService} probes each shared jar once and the aggregated catalog
+ * produced by {@link AggregateExtensionCatalog}
+ *
+ * @author Steve Ebersole
+ */
+public class ExtensionCatalogServiceTest {
+	@Test
+	public void testAggregatedCatalog(@TempDir Path projectDir) {
+		Copier.copyProject( "multi-project-extensions/build.gradle", projectDir );
+
+		final SyntheticRepository repository = new SyntheticRepository( projectDir );
+		repository.extension( "shared-extension" );
+		repository.extension( "first-extension" );
+		repository.extension( "second-extension" );
+		repository.library( "shared-library", "synthetic.shared.Thing" );
+
+		final BuildResult buildResult = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments(
+						"verifyRuntimeDependencies",
+						"verifyDeploymentDependencies",
+						AggregateExtensionCatalog.TASK_NAME,
+						"--info",
+						"--stacktrace",
+						"--no-build-cache"
+				)
+				.forwardOutput()
+				.build();
+
+		assertThat( buildResult.task( ":first:verifyRuntimeDependencies" ).getOutcome() ).isEqualTo( SUCCESS );
+		assertThat( buildResult.task( ":second:verifyRuntimeDependencies" ).getOutcome() ).isEqualTo( SUCCESS );
+		assertThat( buildResult.task( ":" + AggregateExtensionCatalog.TASK_NAME ).getOutcome() ).isEqualTo( SUCCESS );
+
+		// on the runtime and deployment classpaths of both projects, but probed once
+		assertThat( probeCount( buildResult, "shared-extension-1.0.jar" ) ).isEqualTo( 1 );
+		assertThat( probeCount( buildResult, "shared-library-1.0.jar" ) ).isEqualTo( 1 );
+		assertThat( probeCount( buildResult, "first-extension-1.0.jar" ) ).isEqualTo( 1 );
+
+		final Properties firstSlice = load( new File( projectDir.toFile(), "first/build/quarkus/runtime-dependencies-catalog.properties" ) );
+		assertThat( firstSlice.getProperty( "synthetic:first-extension:1.0" ) ).isEqualTo( "synthetic:first-extension-deployment:1.0" );
+		assertThat( firstSlice ).doesNotContainKey( "synthetic:second-extension:1.0" );
+
+		final File reportDir = new File( projectDir.toFile(), "build/quarkus" );
+		assertThat( new File( reportDir, "extension-catalog/first.properties" ) ).exists();
+		assertThat( new File( reportDir, "extension-catalog/second.properties" ) ).exists();
+
+		final Properties aggregated = load( new File( reportDir, AggregateExtensionCatalog.REPORT_FILE_NAME ) );
+		assertThat( aggregated.getProperty( "synthetic:shared-extension:1.0" ) ).isEqualTo( "synthetic:shared-extension-deployment:1.0" );
+		assertThat( aggregated.getProperty( "synthetic:first-extension:1.0" ) ).isEqualTo( "synthetic:first-extension-deployment:1.0" );
+		assertThat( aggregated.getProperty( "synthetic:second-extension:1.0" ) ).isEqualTo( "synthetic:second-extension-deployment:1.0" );
+		assertThat( aggregated ).doesNotContainKey( "synthetic:shared-library:1.0" );
+	}
+
+	private static long probeCount(BuildResult buildResult, String jarName) {
+		return buildResult.getOutput().lines()
+				.filter( (line) -> line.startsWith( "Probing dependency jar - " ) && line.endsWith( jarName ) )
+				.count();
+	}
+
+	private Properties load(File file) {
+		assertThat( file ).exists();
+
+		final Properties properties = new Properties();
+		try ( final InputStream stream = new FileInputStream( file ) ) {
+			properties.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read properties - " + file.getAbsolutePath(), e );
+		}
+		return properties;
+	}
+}
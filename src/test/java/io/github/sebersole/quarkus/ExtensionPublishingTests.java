@@ -38,7 +38,9 @@ public class ExtensionPublishingTests {
 		final File runtimePom = new File( runtimeArtifactDir, "pom-default.xml" );
 		assertThat( runtimePom ).exists();
 		checkRuntimePom( runtimePom );
-		assertThat( new File( runtimeArtifactDir, "module.json") ).exists();
+		final File runtimeModuleDescriptor = new File( runtimeArtifactDir, "module.json" );
+		assertThat( runtimeModuleDescriptor ).exists();
+		checkRuntimeModuleDescriptor( runtimeModuleDescriptor );
 
 		final File deploymentArtifactDir = new File( publishingPrepOutput, "deployment" );
 		assertThat( deploymentArtifactDir ).exists();
@@ -59,6 +61,72 @@ public class ExtensionPublishingTests {
 		checkForJar( groupDir, "published-extension-spi" );
 	}
 
+	@Test
+	public void testIncrementalPublishing(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "published-extension/build.gradle", projectDir );
+
+		final GradleRunner gradleRunner = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "publishQuarkusExtensionToTestingRepository", "--stacktrace", "--no-build-cache" )
+				.forwardOutput();
+
+		final BuildResult firstResult = gradleRunner.build();
+		assertThat( firstResult.getOutput() ).contains( "Published 15 artifacts (0 unchanged) to the `testing` repository" );
+
+		final File groupDir = new File( projectDir.toFile(), "build/test-publishing/io/github/sebersole/quarkus" );
+		for ( String artifactId : new String[] { "published-extension", "published-extension-deployment", "published-extension-spi" } ) {
+			final File artifactDir = new File( groupDir, artifactId );
+			final File versionDir = new File( artifactDir, "1.0-SNAPSHOT" );
+			final String baseName = artifactId + "-1.0-SNAPSHOT";
+			for ( String fileName : new String[] { baseName + ".jar", baseName + "-javadoc.jar", baseName + "-sources.jar", baseName + ".pom", baseName + ".module" } ) {
+				assertThat( new File( versionDir, fileName ) ).isFile();
+				assertThat( new File( versionDir, fileName + ".md5" ) ).isFile();
+				assertThat( new File( versionDir, fileName + ".sha1" ) ).isFile();
+				assertThat( new File( versionDir, fileName + ".sha256" ) ).isFile();
+				assertThat( new File( versionDir, fileName + ".sha512" ) ).isFile();
+			}
+			assertThat( Files.readString( new File( artifactDir, "maven-metadata.xml" ).toPath() ) )
+					.contains( "<artifactId>" + artifactId + "</artifactId>" )
+					.contains( "<version>1.0-SNAPSHOT</version>" )
+					.contains( "<latest>1.0-SNAPSHOT</latest>" )
+					.doesNotContain( "<release>" );
+			assertThat( Files.readString( new File( versionDir, "maven-metadata.xml" ).toPath() ) )
+					.contains( "<localCopy>true</localCopy>" )
+					.contains( "<classifier>javadoc</classifier>" )
+					.contains( "<value>1.0-SNAPSHOT</value>" );
+		}
+
+		// a release published to the same repository earlier
+		final File metadataFile = new File( groupDir, "published-extension/maven-metadata.xml" );
+		Files.writeString(
+				metadataFile.toPath(),
+				Files.readString( metadataFile.toPath() )
+						.replace( "<version>1.0-SNAPSHOT</version>", "<version>0.9</version>\n      <version>1.0-SNAPSHOT</version>" )
+						.replaceAll( "<lastUpdated>[0-9]+</lastUpdated>", "<lastUpdated>20000101000000</lastUpdated>" )
+		);
+
+		final BuildResult secondResult = gradleRunner.build();
+		assertThat( secondResult.getOutput() ).contains( "Published 0 artifacts (15 unchanged) to the `testing` repository" );
+		assertThat( Files.readString( metadataFile.toPath() ) )
+				.contains( "<version>0.9</version>" )
+				.contains( "<latest>1.0-SNAPSHOT</latest>" )
+				.contains( "<release>0.9</release>" )
+				.doesNotContain( "<lastUpdated>20000101000000</lastUpdated>" );
+	}
+
+	private void checkRuntimeModuleDescriptor(File moduleDescriptor) {
+		try {
+			final String content = Files.readString( moduleDescriptor.toPath() );
+			assertThat( content ).containsPattern( "\"io\\.github\\.sebersole\\.quarkus\\.extension-artifact\"\\s*:\\s*\"runtime\"" );
+			assertThat( content ).containsPattern( "\"io\\.github\\.sebersole\\.quarkus\\.deployment-artifact\"\\s*:\\s*\"io\\.github\\.sebersole\\.quarkus:published-extension-deployment:1\\.0-SNAPSHOT\"" );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read module descriptor - " + moduleDescriptor.getAbsolutePath(), e );
+		}
+	}
+
 	private void checkDeploymentModuleDescriptor(File moduleDescriptor) {
 		try {
 			final String content = Files.readString( moduleDescriptor.toPath() );
@@ -71,6 +139,12 @@ public class ExtensionPublishingTests {
 			assertThat( content ).contains( "runtimeElements" );
 			assertThat( content ).contains( "javadocElements" );
 			assertThat( content ).contains( "sourcesElements" );
+			// formatted as Gradle formats it
+			assertThat( content ).contains( "\n  \"variants\": [\n    {\n      \"name\": \"apiElements\",\n" );
+			assertThat( content ).endsWith( "\n}\n" );
+
+			assertThat( content ).containsPattern( "\"io\\.github\\.sebersole\\.quarkus\\.extension-artifact\"\\s*:\\s*\"deployment\"" );
+			assertThat( content ).containsPattern( "\"io\\.github\\.sebersole\\.quarkus\\.runtime-artifact\"\\s*:\\s*\"io\\.github\\.sebersole\\.quarkus:published-extension:1\\.0-SNAPSHOT\"" );
 		}
 		catch (IOException e) {
 			throw new RuntimeException( "Unable to read module descriptor - " + moduleDescriptor.getAbsolutePath(), e );
@@ -91,6 +165,18 @@ public class ExtensionPublishingTests {
 			final String contents = Files.readString( deploymentArtifactPom.toPath() );
 			assertThat( contents ).contains( "<artifactId>published-extension</artifactId>" );
 			assertThat( contents ).contains( "<artifactId>published-extension</artifactId>" );
+			// the dependency added to the generated POM
+			assertThat( contents ).containsPattern(
+					"<dependency>\\s*<groupId>io.github.sebersole.quarkus</groupId>\\s*<artifactId>published-extension</artifactId>\\s*<version>1.0-SNAPSHOT</version>\\s*</dependency>"
+			);
+			assertThat( contents ).startsWith( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" );
+
+			// details linked from the `extension` publication's POM
+			assertThat( contents ).contains( "<inceptionYear>2022</inceptionYear>" );
+			assertThat( contents ).contains( "<url>https://github.com/sebersole/quarkus-extension-plugin</url>" );
+			assertThat( contents ).contains( "<name>Apache License, Version 2.0</name>" );
+			assertThat( contents ).contains( "<id>sebersole</id>" );
+			assertThat( contents ).doesNotContain( "xmlns=\"\"" );
 		}
 		catch (IOException e) {
 			throw new RuntimeException( "Unable to read POM file - " + deploymentArtifactPom.getAbsolutePath(), e );
@@ -0,0 +1,129 @@
+package io.github.sebersole.quarkus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Externalizable form of the extension descriptor (`quarkus-extension.yaml`), used for reading
+ * the generated YAML in the tests
+ *
+ * @author Steve Ebersole
+ */
+public class ExternalizableDescriptor {
+	private String artifact;
+	private String name;
+	private String description;
+	private Metadata metadata;
+
+	public String getArtifact() {
+		return artifact;
+	}
+
+	@SuppressWarnings("unused")
+	public void setArtifact(String artifact) {
+		this.artifact = artifact;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	@SuppressWarnings("unused")
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public String getDescription() {
+		return description;
+	}
+
+	@SuppressWarnings("unused")
+	public void setDescription(String description) {
+		this.description = description;
+	}
+
+	public Metadata getMetadata() {
+		return metadata;
+	}
+
+	@SuppressWarnings("unused")
+	public void setMetadata(Metadata metadata) {
+		this.metadata = metadata;
+	}
+
+	/**
+	 * Externalizable form of the metadata
+	 */
+	public static class Metadata {
+		private String status;
+		private String guide;
+		private List<String> categories;
+		private List<String> keywords;
+		private Map<String, List<String>> capabilities;
+		private List<String> config;
+		private Map<String, Object> codestart;
+
+		public String getStatus() {
+			return status;
+		}
+
+		@SuppressWarnings("unused")
+		public void setStatus(String status) {
+			this.status = status;
+		}
+
+		public String getGuide() {
+			return guide;
+		}
+
+		@SuppressWarnings("unused")
+		public void setGuide(String guide) {
+			this.guide = guide;
+		}
+
+		public List<String> getCategories() {
+			return categories;
+		}
+
+		@SuppressWarnings("unused")
+		public void setCategories(List<String> categories) {
+			this.categories = categories;
+		}
+
+		public List<String> getKeywords() {
+			return keywords;
+		}
+
+		@SuppressWarnings("unused")
+		public void setKeywords(List<String> keywords) {
+			this.keywords = keywords;
+		}
+
+		public Map<String, List<String>> getCapabilities() {
+			return capabilities;
+		}
+
+		@SuppressWarnings("unused")
+		public void setCapabilities(Map<String, List<String>> capabilities) {
+			this.capabilities = capabilities;
+		}
+
+		public List<String> getConfig() {
+			return config;
+		}
+
+		@SuppressWarnings("unused")
+		public void setConfig(List<String> config) {
+			this.config = config;
+		}
+
+		public Map<String, Object> getCodestart() {
+			return codestart;
+		}
+
+		@SuppressWarnings("unused")
+		public void setCodestart(Map<String, Object> codestart) {
+			this.codestart = codestart;
+		}
+	}
+}
@@ -0,0 +1,44 @@
+package io.github.sebersole.quarkus;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that a project of the same build can consume the extension - the dependencies between
+ * the extension artifacts by coordinates are only part of the publications
+ *
+ * @author Steve Ebersole
+ */
+public class InBuildConsumerTest {
+	@Test
+	public void testRuntimeClasspath(@TempDir Path projectDir) {
+		Copier.copyProject( "in-build-consumer/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( ":app:compileJava", ":app:showRuntimeClasspath", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		assertThat( result.task( ":app:compileJava" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+
+		final List<String> runtimeClasspath = result.getOutput().lines()
+				.filter( (line) -> line.startsWith( "Runtime classpath : " ) )
+				.map( (line) -> line.substring( "Runtime classpath : ".length() ) )
+				.collect( Collectors.toList() );
+		assertThat( runtimeClasspath ).containsOnlyOnce( "extension-1.0-SNAPSHOT.jar", "extension-spi-1.0-SNAPSHOT.jar" );
+		assertThat( runtimeClasspath ).noneMatch( (name) -> name.startsWith( "extension-deployment" ) );
+	}
+}
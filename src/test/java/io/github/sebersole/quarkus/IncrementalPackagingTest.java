@@ -0,0 +1,103 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the extension artifacts are compressed incrementally, reusing unchanged entries
+ * of the previous build
+ *
+ * @author Steve Ebersole
+ */
+public class IncrementalPackagingTest {
+	@Test
+	public void testIncrementalPackaging(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		final BuildResult firstResult = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "jar", "deploymentJar", "spiJar", "--info", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		assertThat( firstResult.task( ":jar" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+		assertThat( firstResult.getOutput() ).contains( "Compressed `basic-extension-1.0-SNAPSHOT.jar` - 0 entries reused" );
+		assertThat( firstResult.getOutput() ).contains( "Compressed `basic-extension-deployment-1.0-SNAPSHOT.jar` - 0 entries reused" );
+		assertThat( firstResult.getOutput() ).contains( "Compressed `basic-extension-spi-1.0-SNAPSHOT.jar` - 0 entries reused" );
+
+		// changes the descriptor, and so only some of the `jar` entries
+		Files.writeString(
+				projectDir.resolve( "build.gradle" ),
+				"\nquarkusExtension.description = 'Changed description'\n",
+				StandardOpenOption.APPEND
+		);
+
+		final BuildResult secondResult = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "jar", "deploymentJar", "spiJar", "--info", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		assertThat( secondResult.task( ":jar" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+		assertThat( secondResult.task( ":spiJar" ).getOutcome() ).isEqualTo( TaskOutcome.UP_TO_DATE );
+		assertThat( secondResult.getOutput() ).containsPattern( "Compressed `basic-extension-1.0-SNAPSHOT.jar` - [1-9]\\d* entries reused, [1-9]\\d* entries compressed" );
+
+		final File libsDir = new File( projectDir.toFile(), "build/libs" );
+		final File jar = new File( libsDir, "basic-extension-1.0-SNAPSHOT.jar" );
+		checkEntries( jar );
+		checkEntries( new File( libsDir, "basic-extension-deployment-1.0-SNAPSHOT.jar" ) );
+		checkEntries( new File( libsDir, "basic-extension-spi-1.0-SNAPSHOT.jar" ) );
+
+		final String descriptor = readEntry( jar, "META-INF/quarkus-extension.yaml" );
+		assertThat( descriptor ).contains( "Changed description" );
+	}
+
+	/**
+	 * Reads every entry, which verifies its data against the CRC
+	 */
+	private static void checkEntries(File jar) throws IOException {
+		int count = 0;
+		try ( ZipInputStream stream = new ZipInputStream( new FileInputStream( jar ) ) ) {
+			ZipEntry entry;
+			while ( ( entry = stream.getNextEntry() ) != null ) {
+				stream.readAllBytes();
+				if ( !entry.isDirectory() ) {
+					assertThat( entry.getMethod() ).isEqualTo( ZipEntry.DEFLATED );
+				}
+				count++;
+			}
+		}
+		assertThat( count ).isGreaterThan( 0 );
+	}
+
+	private static String readEntry(File jar, String name) throws IOException {
+		try ( ZipInputStream stream = new ZipInputStream( new FileInputStream( jar ) ) ) {
+			ZipEntry entry;
+			while ( ( entry = stream.getNextEntry() ) != null ) {
+				if ( entry.getName().equals( name ) ) {
+					return new String( stream.readAllBytes() );
+				}
+			}
+		}
+		throw new AssertionError( "No `" + name + "` entry in " + jar.getName() );
+	}
+}
@@ -11,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.gradle.testkit.runner.TaskOutcome.SKIPPED;
 import static org.gradle.testkit.runner.TaskOutcome.SUCCESS;
 
 /**
@@ -39,6 +40,11 @@ public class NoSpiTests {
 		assertThat( jarDeployment ).isNotNull();
 		assertThat( jarDeployment.getOutcome() ).isEqualTo( SUCCESS );
 
+		// the tasks of the empty `spi` source-set are skipped
+		assertThat( buildResult.task( ":spiJar" ).getOutcome() ).isEqualTo( SKIPPED );
+		assertThat( buildResult.task( ":spiJavadocJar" ).getOutcome() ).isEqualTo( SKIPPED );
+		assertThat( buildResult.task( ":spiSourcesJar" ).getOutcome() ).isEqualTo( SKIPPED );
+
 
 		final File buildDir = new File( projectDir.toFile(), "build" );
 		assertThat( buildDir ).exists();
@@ -0,0 +1,88 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.gradle.testkit.runner.TaskOutcome.SUCCESS;
+
+/**
+ * Verification against a synthetic classpath of a thousand jars, probed in parallel
+ *
+ * @author Steve Ebersole
+ */
+public class ParallelVerificationTest {
+	private static final int JAR_COUNT = 1000;
+	private static final int EXTENSION_FREQUENCY = 100;
+	private static final Pattern SYNTHETIC_JAR = Pattern.compile( "lib-[0-9]{4}-1\\.0\\.jar" );
+
+	@Test
+	public void testThousandJarClasspath(@TempDir Path projectDir) {
+		Copier.copyProject( "many-dependencies-extension/build.gradle", projectDir );
+
+		final SyntheticRepository repository = new SyntheticRepository( projectDir );
+		for ( int i = 0; i < JAR_COUNT; i++ ) {
+			final String artifactId = String.format( Locale.ROOT, "lib-%04d", i );
+			if ( i % EXTENSION_FREQUENCY == 0 ) {
+				repository.extension( artifactId );
+			}
+			else {
+				repository.library( artifactId, "synthetic.lib" + i + ".Thing" );
+			}
+		}
+
+		final BuildResult buildResult = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "verifyDeploymentDependencies", "--max-workers=4", "--info", "--stacktrace", "--no-build-cache" )
+				.forwardOutput()
+				.build();
+
+		assertThat( buildResult.task( ":verifyRuntimeDependencies" ).getOutcome() ).isEqualTo( SUCCESS );
+		assertThat( buildResult.task( ":verifyDeploymentDependencies" ).getOutcome() ).isEqualTo( SUCCESS );
+
+		final Properties catalog = loadCatalog( new File( projectDir.toFile(), "build/quarkus/runtime-dependencies-catalog.properties" ) );
+		final long syntheticExtensions = catalog.stringPropertyNames()
+				.stream()
+				.filter( (gav) -> gav.startsWith( SyntheticRepository.GROUP + ":" ) )
+				.count();
+		assertThat( syntheticExtensions ).isEqualTo( JAR_COUNT / EXTENSION_FREQUENCY );
+		assertThat( catalog.getProperty( "synthetic:lib-0100:1.0" ) ).isEqualTo( "synthetic:lib-0100-deployment:1.0" );
+
+		// one probe per synthetic jar, shared by both verifications
+		final List<String> probedJars = buildResult.getOutput().lines()
+				.filter( (line) -> line.startsWith( "Probing dependency jar - " ) )
+				.map( (line) -> new File( line.substring( "Probing dependency jar - ".length() ) ).getName() )
+				.filter( (name) -> SYNTHETIC_JAR.matcher( name ).matches() )
+				.collect( Collectors.toList() );
+		assertThat( probedJars ).hasSize( JAR_COUNT ).doesNotHaveDuplicates();
+	}
+
+	private Properties loadCatalog(File catalogFile) {
+		assertThat( catalogFile ).exists();
+
+		final Properties catalog = new Properties();
+		try ( final InputStream stream = new FileInputStream( catalogFile ) ) {
+			catalog.load( stream );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to read catalog - " + catalogFile.getAbsolutePath(), e );
+		}
+		return catalog;
+	}
+}
@@ -0,0 +1,63 @@
+package io.github.sebersole.quarkus;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks how the `quarkusPlatforms` Configuration is applied, using a project
+ * with a large number of Configurations
+ *
+ * @author Steve Ebersole
+ */
+public class PlatformsTest {
+	@Test
+	public void testPlatformsApplication(@TempDir Path projectDir) {
+		Copier.copyProject( "many-configurations-extension/build.gradle", projectDir );
+
+		final BuildResult result = createRunner( projectDir ).build();
+
+		final String output = result.getOutput();
+		assertThat( output ).contains( "Platforms applied to compileClasspath : true" );
+		assertThat( output ).contains( "Platforms applied to runtimeClasspath : true" );
+		assertThat( output ).contains( "Platforms applied to annotationProcessor : true" );
+		assertThat( output ).contains( "Platforms applied to apiElements : true" );
+		assertThat( output ).contains( "Platforms applied to runtimeElements : true" );
+		assertThat( output ).contains( "Platforms applied to deploymentRuntimeClasspath : true" );
+		assertThat( output ).contains( "Platforms applied to deploymentRuntimeElements : true" );
+		assertThat( output ).contains( "Platforms applied to testRuntimeClasspath : true" );
+
+		assertThat( output ).contains( "Platforms applied to implementation : false" );
+		assertThat( output ).contains( "Platforms applied to synthetic1 : false" );
+	}
+
+	@Test
+	public void testEnforcedPlatformRejected(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "many-configurations-extension/build.gradle", projectDir );
+		Files.writeString(
+				projectDir.resolve( "build.gradle" ),
+				"\ndependencies {\n    synthetic250 enforcedPlatform( 'io.quarkus:quarkus-bom:2.8.0.Final' )\n}\n",
+				StandardOpenOption.APPEND
+		);
+
+		final BuildResult result = createRunner( projectDir ).buildAndFail();
+		assertThat( result.getOutput() ).contains( "was defined as an enforced-platform as part of the `synthetic250` Configuration" );
+	}
+
+	private static GradleRunner createRunner(Path projectDir) {
+		return GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withArguments( "reportPlatforms", "--stacktrace" )
+				.forwardOutput();
+	}
+}
@@ -0,0 +1,93 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the measurement of the extension's runtime footprint, and its verification against
+ * the configured budget
+ *
+ * @author Steve Ebersole
+ */
+public class RuntimeBudgetTest {
+	@Test
+	public void testBudget(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "verifyRuntimeBudget", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		assertThat( result.task( ":verifyRuntimeBudget" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+
+		final File reportFile = new File( projectDir.toFile(), "build/quarkus/runtime-budget-report.properties" );
+		final Properties report = new Properties();
+		try ( InputStream stream = new FileInputStream( reportFile ) ) {
+			report.load( stream );
+		}
+
+		assertThat( Long.parseLong( report.getProperty( "total.bytes" ) ) ).isGreaterThan( 0 );
+		assertThat( Long.parseLong( report.getProperty( "total.classes" ) ) ).isGreaterThan( 0 );
+		assertThat( report.getProperty( "jar.basic-extension-1.0-SNAPSHOT.jar" ) ).isNotNull();
+		// not managed by the Quarkus platform
+		assertThat( report.getProperty( "jar.org.hibernate.orm:hibernate-envers:6.0.0.Final" ) ).isNotNull();
+		// managed by the Quarkus platform
+		assertThat( report.stringPropertyNames() ).noneMatch( (name) -> name.startsWith( "jar.org.jboss.logging:jboss-logging:" ) );
+
+		// no budget configured
+		final BuildResult dryRunResult = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "check", "--dry-run", "--stacktrace" )
+				.forwardOutput()
+				.build();
+		assertThat( dryRunResult.getOutput() ).doesNotContain( ":verifyRuntimeBudget" );
+
+		// use the report as baseline, allowing no more than the runtime artifact itself
+		Files.copy( reportFile.toPath(), projectDir.resolve( "runtime-budget-baseline.properties" ) );
+		Files.writeString(
+				projectDir.resolve( "build.gradle" ),
+				"\ntasks.named( 'verifyRuntimeBudget' ) {\n"
+						+ "    baseline = file( 'runtime-budget-baseline.properties' )\n"
+						+ "    maxGrowthPercent = 10\n"
+						+ "    maxJars = 1\n"
+						+ "}\n",
+				StandardOpenOption.APPEND
+		);
+
+		final BuildResult failedResult = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "check", "--stacktrace" )
+				.forwardOutput()
+				.buildAndFail();
+
+		assertThat( failedResult.task( ":verifyRuntimeBudget" ).getOutcome() ).isEqualTo( TaskOutcome.FAILED );
+
+		assertThat( failedResult.getOutput() ).contains( "compared to baseline" );
+		assertThat( failedResult.getOutput() ).contains( "exceeds its budget" );
+		assertThat( failedResult.getOutput() ).contains( "jars is " );
+		assertThat( failedResult.getOutput() ).doesNotContain( "grew by" );
+	}
+}
@@ -0,0 +1,103 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the detection of runtime dependencies not referenced by the extension's runtime classes.
+ * The `basic-extension` runtime classes only declare (never assigned) local variables of
+ * Hibernate types, which leaves no reference in the compiled classes.  The `dependency-usage-extension`
+ * runtime classes reference Envers from a method signature and body
+ *
+ * @author Steve Ebersole
+ */
+public class RuntimeDependenciesAnalysisTest {
+	@Test
+	public void testUnusedDependencies(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "analyzeRuntimeDependencies", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		assertThat( result.task( ":analyzeRuntimeDependencies" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+		assertThat( result.getOutput() ).contains(
+				"Runtime dependency `org.hibernate.orm:hibernate-envers:6.0.0.Final` is not referenced by the extension's runtime classes"
+		);
+
+		final File reportFile = new File( projectDir.toFile(), "build/quarkus/runtime-dependencies-usage.properties" );
+		final Properties report = new Properties();
+		try ( InputStream stream = new FileInputStream( reportFile ) ) {
+			report.load( stream );
+		}
+		assertThat( report.getProperty( "org.hibernate.orm:hibernate-envers:6.0.0.Final" ) ).isEqualTo( "unused" );
+		// added by the plugin, and always needed
+		assertThat( report.stringPropertyNames() ).noneMatch( (name) -> name.startsWith( "io.quarkus:quarkus-core:" ) );
+
+		Files.writeString(
+				projectDir.resolve( "build.gradle" ),
+				"\ntasks.named( 'analyzeRuntimeDependencies' ) {\n"
+						+ "    failOnUnused = true\n"
+						+ "}\n",
+				StandardOpenOption.APPEND
+		);
+
+		final BuildResult failedResult = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "analyzeRuntimeDependencies", "--stacktrace" )
+				.forwardOutput()
+				.buildAndFail();
+
+		assertThat( failedResult.getOutput() ).contains( "declares runtime dependencies it does not reference" );
+	}
+
+	@Test
+	public void testReferencedDependencies(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "dependency-usage-extension/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "analyzeRuntimeDependencies", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		assertThat( result.task( ":analyzeRuntimeDependencies" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+
+		final File reportFile = new File( projectDir.toFile(), "build/quarkus/runtime-dependencies-usage.properties" );
+		final Properties report = new Properties();
+		try ( InputStream stream = new FileInputStream( reportFile ) ) {
+			report.load( stream );
+		}
+
+		// `AuditReader` and `RevisionDoesNotExistException`, at least
+		assertThat( Integer.parseInt( report.getProperty( "org.hibernate.orm:hibernate-envers:6.0.0.Final" ) ) ).isGreaterThan( 0 );
+		assertThat( report.getProperty( "org.hibernate.orm:hibernate-spatial:6.0.0.Final" ) ).isEqualTo( "unused" );
+		// declared for `spi`
+		assertThat( report.stringPropertyNames() ).noneMatch( (name) -> name.startsWith( "org.hibernate.orm:hibernate-core:" ) );
+		// `runtimeOnly`
+		assertThat( report.stringPropertyNames() ).noneMatch( (name) -> name.startsWith( "org.jboss.logging:jboss-logging:" ) );
+	}
+}
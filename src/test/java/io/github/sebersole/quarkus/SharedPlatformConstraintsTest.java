@@ -0,0 +1,46 @@
+package io.github.sebersole.quarkus;
+
+import java.nio.file.Path;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks applying the platforms as shared constraints (`quarkus.sharedPlatformConstraints`)
+ *
+ * @author Steve Ebersole
+ */
+public class SharedPlatformConstraintsTest {
+	@Test
+	public void testSharedConstraints(@TempDir Path projectDir) {
+		Copier.copyProject( "shared-constraints-extension/build.gradle", projectDir );
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withArguments(
+						"reportPlatforms",
+						"dependencies",
+						"--configuration", "deploymentRuntimeClasspath",
+						"--stacktrace"
+				)
+				.forwardOutput()
+				.build();
+
+		final String output = result.getOutput();
+
+		// the classpaths get constraints while the published elements still refer to the platform
+		assertThat( output ).contains( "Platforms applied to runtimeClasspath : false" );
+		assertThat( output ).contains( "Platforms applied to runtimeElements : true" );
+
+		// versions come from the BOM's constraints
+		assertThat( output ).contains( "io.quarkus:quarkus-core -> 2.8.0.Final" );
+		assertThat( output ).contains( "io.quarkus:quarkus-core-deployment -> 2.8.0.Final" );
+		assertThat( output ).doesNotContain( "FAILED" );
+	}
+}
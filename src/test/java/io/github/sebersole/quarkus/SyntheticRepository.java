@@ -0,0 +1,85 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Generates a Maven-layout repository of small synthetic jars under the group `synthetic`.
+ * Intended for use with `metadataSources { artifact() }`, so no POM files are written.
+ *
+ * @author Steve Ebersole
+ */
+public class SyntheticRepository {
+	public static final String GROUP = "synthetic";
+	public static final String VERSION = "1.0";
+
+	private final File groupDir;
+
+	public SyntheticRepository(Path projectDir) {
+		this.groupDir = projectDir.resolve( "synthetic-repo" ).resolve( GROUP ).toFile();
+	}
+
+	/**
+	 * Generates a plain library jar containing the given classes (as empty entries)
+	 */
+	public void library(String artifactId, String... classNames) {
+		writeJar( artifactId, (jar) -> {
+			for ( String className : classNames ) {
+				writeEntry( jar, className.replace( '.', '/' ) + ".class", "" );
+			}
+		} );
+	}
+
+	/**
+	 * Generates an extension runtime jar, recognized by its `quarkus-extension.properties`
+	 */
+	public void extension(String artifactId) {
+		writeJar( artifactId, (jar) -> writeEntry(
+				jar,
+				Helper.EXTENSION_PROPERTIES_RELATIVE_PATH,
+				String.format(
+						Locale.ROOT,
+						"deployment-artifact=%s\\:%s-deployment\\:%s",
+						GROUP,
+						artifactId,
+						VERSION
+				)
+		) );
+	}
+
+	@SuppressWarnings("ResultOfMethodCallIgnored")
+	private void writeJar(String artifactId, JarContent content) {
+		final File versionDir = new File( new File( groupDir, artifactId ), VERSION );
+		versionDir.mkdirs();
+
+		final File jarFile = new File( versionDir, artifactId + "-" + VERSION + ".jar" );
+		try ( final JarOutputStream jar = new JarOutputStream( new FileOutputStream( jarFile ) ) ) {
+			content.write( jar );
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to write synthetic jar - " + jarFile.getAbsolutePath(), e );
+		}
+	}
+
+	private static void writeEntry(JarOutputStream jar, String name, String content) {
+		try {
+			jar.putNextEntry( new JarEntry( name ) );
+			jar.write( content.getBytes( StandardCharsets.UTF_8 ) );
+			jar.closeEntry();
+		}
+		catch (IOException e) {
+			throw new RuntimeException( "Unable to write synthetic jar entry - " + name, e );
+		}
+	}
+
+	@FunctionalInterface
+	private interface JarContent {
+		void write(JarOutputStream jar) throws IOException;
+	}
+}
@@ -0,0 +1,62 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that Jandex is not visible to the build script, and that the tasks using it still
+ * work from the isolated tooling classpath
+ *
+ * @author Steve Ebersole
+ */
+public class ToolingIsolationTest {
+	@Test
+	public void testIsolation(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+		Files.writeString(
+				projectDir.resolve( "build.gradle" ),
+				"\ntasks.register( 'checkPluginClasspath' ) {\n"
+						+ "    def pluginClassLoader = io.github.sebersole.quarkus.QuarkusExtensionPlugin.classLoader\n"
+						+ "    doLast {\n"
+						+ "        try {\n"
+						+ "            pluginClassLoader.loadClass( 'org.jboss.jandex.Index' )\n"
+						+ "            throw new GradleException( 'Jandex is visible on the plugin classpath' )\n"
+						+ "        }\n"
+						+ "        catch (ClassNotFoundException expected) {\n"
+						+ "        }\n"
+						+ "    }\n"
+						+ "}\n",
+				StandardOpenOption.APPEND
+		);
+
+		final BuildResult result = GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.withArguments( "checkPluginClasspath", "generateConfigRootsList", "generateBuildStepsList", "--stacktrace" )
+				.forwardOutput()
+				.build();
+
+		assertThat( result.task( ":checkPluginClasspath" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+		assertThat( result.task( ":generateConfigRootsList" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+		assertThat( result.task( ":generateBuildStepsList" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+
+		final File buildDir = new File( projectDir.toFile(), "build" );
+		assertThat( Files.readString( new File( buildDir, "quarkus/quarkus-config-roots.list" ).toPath() ) )
+				.contains( "io.github.sebersole.quarkus.extension.MyExtensionConfig" );
+		assertThat( Files.readString( new File( buildDir, "quarkus/quarkus-build-steps.list" ).toPath() ) )
+				.contains( "io.github.sebersole.quarkus.extension.MyExtensionProcessor" );
+	}
+}
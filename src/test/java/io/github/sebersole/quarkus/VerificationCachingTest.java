@@ -0,0 +1,60 @@
+package io.github.sebersole.quarkus;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.gradle.testkit.runner.BuildResult;
+import org.gradle.testkit.runner.GradleRunner;
+import org.gradle.testkit.runner.TaskOutcome;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the dependency verification tasks can be restored from the build cache
+ *
+ * @author Steve Ebersole
+ */
+public class VerificationCachingTest {
+	@Test
+	public void testVerificationFromCache(@TempDir Path projectDir) throws IOException {
+		Copier.copyProject( "basic-extension/build.gradle", projectDir );
+		Files.writeString(
+				projectDir.resolve( "settings.gradle" ),
+				"\nbuildCache {\n    local {\n        directory = new File( rootDir, 'build-cache' )\n    }\n}\n",
+				StandardOpenOption.APPEND
+		);
+
+		System.out.println( ">>> First `verifyDeploymentDependencies` run" );
+		final BuildResult firstResult = buildRunner( projectDir )
+				.withArguments( "verifyDeploymentDependencies", "--build-cache", "--stacktrace" )
+				.build();
+		assertThat( firstResult.task( ":verifyRuntimeDependencies" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+		assertThat( firstResult.task( ":verifyDeploymentDependencies" ).getOutcome() ).isEqualTo( TaskOutcome.SUCCESS );
+
+		final File report = new File( projectDir.toFile(), "build/quarkus/deployment-dependencies-report.properties" );
+		assertThat( report ).exists();
+		assertThat( Files.readString( report.toPath() ) ).contains( "io.quarkus\\:quarkus-core\\:" );
+
+		System.out.println( ">>> Second `verifyDeploymentDependencies` run, after `clean`" );
+		final BuildResult secondResult = buildRunner( projectDir )
+				.withArguments( "clean", "verifyDeploymentDependencies", "--build-cache", "--stacktrace" )
+				.build();
+		assertThat( secondResult.task( ":verifyRuntimeDependencies" ).getOutcome() ).isEqualTo( TaskOutcome.FROM_CACHE );
+		assertThat( secondResult.task( ":verifyDeploymentDependencies" ).getOutcome() ).isEqualTo( TaskOutcome.FROM_CACHE );
+		assertThat( report ).exists();
+	}
+
+	private GradleRunner buildRunner(Path projectDir) {
+		return GradleRunner.create()
+				.withProjectDir( projectDir.toFile() )
+				.withPluginClasspath()
+				.withDebug( true )
+				.forwardOutput();
+	}
+}
@@ -0,0 +1,20 @@
+package io.github.sebersole.quarkus.usage;
+
+import java.util.Date;
+
+import org.hibernate.envers.AuditReader;
+import org.hibernate.envers.exception.RevisionDoesNotExistException;
+
+/**
+ * @author Steve Ebersole
+ */
+public class RevisionLookup {
+	public Number currentRevision(AuditReader reader) {
+		try {
+			return reader.getRevisionNumberForDate( new Date() );
+		}
+		catch (RevisionDoesNotExistException e) {
+			return null;
+		}
+	}
+}
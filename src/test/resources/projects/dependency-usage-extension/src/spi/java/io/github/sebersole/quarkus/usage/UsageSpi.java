@@ -0,0 +1,10 @@
+package io.github.sebersole.quarkus.usage;
+
+import org.hibernate.SessionFactory;
+
+/**
+ * @author Steve Ebersole
+ */
+public interface UsageSpi {
+	SessionFactory sessionFactory();
+}
@@ -0,0 +1,10 @@
+package io.github.sebersole.quarkus.consumer;
+
+/**
+ * @author Steve Ebersole
+ */
+public class App {
+	public static String name(ConsumedConfig config) {
+		return config.name;
+	}
+}
@@ -0,0 +1,14 @@
+package io.github.sebersole.quarkus.consumer;
+
+import io.quarkus.deployment.annotations.BuildStep;
+
+/**
+ * @author Steve Ebersole
+ */
+public class ConsumedProcessor {
+	@BuildStep
+	public void step() {
+		// make sure the runtime artifact is available for compile
+		ConsumedConfig config;
+	}
+}
@@ -0,0 +1,18 @@
+package io.github.sebersole.quarkus.consumer;
+
+import io.quarkus.runtime.annotations.ConfigItem;
+import io.quarkus.runtime.annotations.ConfigPhase;
+import io.quarkus.runtime.annotations.ConfigRoot;
+
+/**
+ * @author Steve Ebersole
+ */
+@ConfigRoot(name = "consumed", phase = ConfigPhase.BUILD_AND_RUN_TIME_FIXED)
+public class ConsumedConfig {
+	@ConfigItem
+	public String name;
+
+	public String name(ConsumedSpi spi) {
+		return spi == null ? name : spi.name();
+	}
+}
@@ -0,0 +1,8 @@
+package io.github.sebersole.quarkus.consumer;
+
+/**
+ * @author Steve Ebersole
+ */
+public interface ConsumedSpi {
+	String name();
+}